@@ -0,0 +1,88 @@
+package com.service.app.analytics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Supplier;
+
+/**
+ * Aggregates a range of snapshot rows on a fork-join pool: ranges larger than the
+ * threshold are halved and both halves are aggregated in parallel.
+ *
+ * <p>Each pool thread adds the ranges it runs into an accumulator of its own, created on
+ * its first range, and the accumulators of the threads are merged once every range is
+ * done. However many ranges there are, at most one accumulator per thread is allocated.
+ * A thread never runs two ranges at once, since adding a range forks nothing.</p>
+ *
+ * @param <A> the type of the accumulators
+ *
+ * @author Wellington
+ * @version 1.0
+ */
+final class AggregationTask<A extends AggregationTask.Accumulator<A>> extends RecursiveAction {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Aggregates of a set of rows, mergeable with those of another set.
+	 *
+	 * @param <A> the type of the accumulator itself
+	 */
+	interface Accumulator<A> {
+
+		/**
+	     * Adds the rows {@code from} (inclusive) to {@code to} (exclusive).
+	     */
+		void add(int from, int to);
+
+		/**
+	     * Adds the aggregates of other rows into this one.
+	     *
+	     * @return this accumulator
+	     */
+		A merge(A other);
+	}
+
+	private final transient Map<Thread, A> accumulators;
+	private final transient Supplier<A> factory;
+	private final int threshold;
+	private final int from;
+	private final int to;
+
+	private AggregationTask(Map<Thread, A> accumulators, Supplier<A> factory, int threshold, int from, int to) {
+		this.accumulators = accumulators;
+		this.factory = factory;
+		this.threshold = threshold;
+		this.from = from;
+		this.to = to;
+	}
+
+	/**
+	 * Aggregates the rows {@code from} (inclusive) to {@code to} (exclusive) on the pool.
+	 *
+	 * @param factory creates an empty accumulator
+	 * @param threshold the largest range aggregated without splitting it
+	 * @return the aggregates of every row
+	 */
+	static <A extends Accumulator<A>> A aggregate(ForkJoinPool pool, Supplier<A> factory, int threshold, int from, int to) {
+		Map<Thread, A> accumulators = new ConcurrentHashMap<>();
+		pool.invoke(new AggregationTask<>(accumulators, factory, threshold, from, to));
+		A total = null;
+		for (A accumulator : accumulators.values()) {
+			total = total == null ? accumulator : total.merge(accumulator);
+		}
+		return total;
+	}
+
+	@Override
+	protected void compute() {
+		if (to - from <= threshold) {
+			accumulators.computeIfAbsent(Thread.currentThread(), thread -> factory.get()).add(from, to);
+			return;
+		}
+		int middle = (from + to) >>> 1;
+		invokeAll(new AggregationTask<>(accumulators, factory, threshold, from, middle),
+				new AggregationTask<>(accumulators, factory, threshold, middle, to));
+	}
+}
@@ -0,0 +1,204 @@
+package com.service.app.analytics;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import com.service.app.entity.Car;
+import com.service.app.model.CarDimension;
+
+/**
+ * Column-oriented copy of the "cars" table.
+ *
+ * <p>Each numeric property is held in a primitive array indexed by row, so a scan reads
+ * contiguous memory and allocates nothing. Prices are stored in cents and engine
+ * capacities in tenths of a litre, the scales of their columns, and the
+ * {@link PriceBuckets} bucket of each price is precomputed. Text properties that can be
+ * grouped by are dictionary-encoded: each row holds the {@code int} code of its value, or
+ * {@link #NULL_CODE}. Values are compared ignoring case and accents, like the
+ * {@code utf8mb4_0900_ai_ci} collation of the table, so {@code "BMW"} and {@code "bmw"}
+ * share a code, decoded as the first of them seen.</p>
+ *
+ * <p>Rows are kept dense: removing a car moves the last row into its slot. Not thread-safe;
+ * see {@link InventorySnapshot}.</p>
+ *
+ * @author Wellington
+ * @version 1.0
+ */
+final class CarColumns {
+
+	static final long NULL_PRICE = Long.MIN_VALUE;
+	static final int NULL_ENGINE_CAPACITY = Integer.MIN_VALUE;
+	static final int NULL_CODE = -1;
+	static final int UNKNOWN_CODE = -2;
+
+	private static final int MIN_CAPACITY = 16;
+
+	long[] ids;
+	int[] modelYears;
+	int[] odometers;
+	int[] horsePowers;
+	int[] numberOfDoors;
+	long[] prices;
+	int[] priceBuckets;
+	int[] engineCapacities;
+	final int[][] codes = new int[CarDimension.values().length][];
+	int size;
+
+	private final Dictionary[] dictionaries = new Dictionary[CarDimension.values().length];
+	private final IdIndex rows;
+
+	CarColumns(int capacity) {
+		capacity = Math.max(capacity, MIN_CAPACITY);
+		ids = new long[capacity];
+		modelYears = new int[capacity];
+		odometers = new int[capacity];
+		horsePowers = new int[capacity];
+		numberOfDoors = new int[capacity];
+		prices = new long[capacity];
+		priceBuckets = new int[capacity];
+		engineCapacities = new int[capacity];
+		rows = new IdIndex(capacity);
+		for (int i = 0; i < codes.length; i++) {
+			codes[i] = new int[capacity];
+			dictionaries[i] = new Dictionary();
+		}
+	}
+
+	/**
+     * Adds a car, or overwrites its row when it is already present.
+     */
+	void put(Car car) {
+		int row = rows.get(car.getId());
+		if (row == IdIndex.ABSENT) {
+			if (size == ids.length) {
+				grow();
+			}
+			row = size++;
+			rows.put(car.getId(), row);
+			ids[row] = car.getId();
+		}
+		modelYears[row] = car.getModelYear();
+		odometers[row] = car.getOdometer();
+		horsePowers[row] = car.getHorsePower();
+		numberOfDoors[row] = car.getNumberOfDoors();
+		prices[row] = car.getPrice() == null ? NULL_PRICE : toCents(car.getPrice());
+		priceBuckets[row] = prices[row] == NULL_PRICE ? 0 : PriceBuckets.of(prices[row]);
+		engineCapacities[row] = car.getEngineCapacity() == null
+				? NULL_ENGINE_CAPACITY
+				: car.getEngineCapacity().movePointRight(1).setScale(0, RoundingMode.HALF_UP).intValueExact();
+		for (CarDimension dimension : CarDimension.values()) {
+			codes[dimension.ordinal()][row] = dictionaries[dimension.ordinal()].encode(dimension.valueOf(car));
+		}
+	}
+
+	/**
+     * Removes a car, if present.
+     */
+	void remove(long id) {
+		int row = rows.remove(id);
+		if (row == IdIndex.ABSENT) {
+			return;
+		}
+		int last = --size;
+		if (row != last) {
+			ids[row] = ids[last];
+			modelYears[row] = modelYears[last];
+			odometers[row] = odometers[last];
+			horsePowers[row] = horsePowers[last];
+			numberOfDoors[row] = numberOfDoors[last];
+			prices[row] = prices[last];
+			priceBuckets[row] = priceBuckets[last];
+			engineCapacities[row] = engineCapacities[last];
+			for (int[] column : codes) {
+				column[row] = column[last];
+			}
+			rows.put(ids[row], row);
+		}
+	}
+
+	/**
+     * Returns the number of distinct values ever seen for a dimension; codes range from 0
+     * to this number, exclusive. Values of removed cars keep their codes.
+     */
+	int cardinality(CarDimension dimension) {
+		return dictionaries[dimension.ordinal()].values.size();
+	}
+
+	/**
+     * Returns the code of a value, ignoring case and accents, or {@link #UNKNOWN_CODE},
+     * which no row holds, when no car ever had it.
+     */
+	int lookup(CarDimension dimension, String value) {
+		return dictionaries[dimension.ordinal()].codes.getOrDefault(Dictionary.key(value), UNKNOWN_CODE);
+	}
+
+	String decode(CarDimension dimension, int code) {
+		return code == NULL_CODE ? null : dictionaries[dimension.ordinal()].values.get(code);
+	}
+
+	static long toCents(BigDecimal price) {
+		return price.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+	}
+
+	static BigDecimal fromCents(long cents) {
+		return BigDecimal.valueOf(cents, 2);
+	}
+
+	private void grow() {
+		int capacity = ids.length + (ids.length >> 1);
+		ids = Arrays.copyOf(ids, capacity);
+		modelYears = Arrays.copyOf(modelYears, capacity);
+		odometers = Arrays.copyOf(odometers, capacity);
+		horsePowers = Arrays.copyOf(horsePowers, capacity);
+		numberOfDoors = Arrays.copyOf(numberOfDoors, capacity);
+		prices = Arrays.copyOf(prices, capacity);
+		priceBuckets = Arrays.copyOf(priceBuckets, capacity);
+		engineCapacities = Arrays.copyOf(engineCapacities, capacity);
+		for (int i = 0; i < codes.length; i++) {
+			codes[i] = Arrays.copyOf(codes[i], capacity);
+		}
+	}
+
+	/**
+	 * Maps the distinct values of a text column to consecutive codes. Values are keyed
+	 * lower-cased and without diacritics.
+	 */
+	private static final class Dictionary {
+
+		private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+		private final Map<String, Integer> codes = new HashMap<>();
+		private final List<String> values = new ArrayList<>();
+
+		int encode(String value) {
+			if (value == null) {
+				return NULL_CODE;
+			}
+			return codes.computeIfAbsent(key(value), key -> {
+				values.add(value);
+				return values.size() - 1;
+			});
+		}
+
+		/**
+	     * Folds case and accents. ASCII values, the vast majority, skip the normalization.
+	     */
+		static String key(String value) {
+			for (int i = 0; i < value.length(); i++) {
+				if (value.charAt(i) >= 0x80) {
+					return DIACRITICS.matcher(Normalizer.normalize(value, Normalizer.Form.NFD)).replaceAll("")
+							.toLowerCase(Locale.ROOT);
+				}
+			}
+			return value.toLowerCase(Locale.ROOT);
+		}
+	}
+}
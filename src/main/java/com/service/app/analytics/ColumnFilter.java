@@ -0,0 +1,68 @@
+package com.service.app.analytics;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+
+import com.service.app.model.CarDimension;
+import com.service.app.model.CarSearchCriteria;
+
+/**
+ * {@link CarSearchCriteria} translated to the representation of {@link CarColumns}:
+ * text filters become dictionary codes, matched ignoring case and accents like the
+ * MySQL collation, and price bounds become cents, so rows are tested with primitive
+ * comparisons only. Unset bounds are widened to the extremes of their type. Rows are meant to match as in {@code CarSpecifications}, where a car
+ * without a price fails every price bound.
+ *
+ * @author Wellington
+ * @version 1.0
+ */
+final class ColumnFilter {
+
+	/** Code of a dimension that is not filtered on. */
+	static final int ANY = Integer.MIN_VALUE;
+
+	private static final BigDecimal MAX_CENTS = BigDecimal.valueOf(Long.MAX_VALUE);
+	private static final BigDecimal MIN_CENTS = BigDecimal.valueOf(Long.MIN_VALUE);
+
+	final int[] codes = new int[CarDimension.values().length];
+	final int minModelYear;
+	final int maxModelYear;
+	final boolean priced;
+	final long minCents;
+	final long maxCents;
+	final int maxOdometer;
+
+	ColumnFilter(CarSearchCriteria criteria, CarColumns columns) {
+		Arrays.fill(codes, ANY);
+		code(columns, CarDimension.BRAND, criteria.getBrand());
+		code(columns, CarDimension.MODEL, criteria.getModel());
+		code(columns, CarDimension.FUEL_TYPE, criteria.getFuelType());
+		code(columns, CarDimension.TRANSMISSION, criteria.getTransmission());
+		code(columns, CarDimension.BODY_TYPE, criteria.getBodyType());
+		minModelYear = criteria.getMinModelYear() == null ? Integer.MIN_VALUE : criteria.getMinModelYear();
+		maxModelYear = criteria.getMaxModelYear() == null ? Integer.MAX_VALUE : criteria.getMaxModelYear();
+		priced = criteria.getMinPrice() != null || criteria.getMaxPrice() != null;
+		minCents = criteria.getMinPrice() == null ? Long.MIN_VALUE : cents(criteria.getMinPrice(), RoundingMode.CEILING);
+		maxCents = criteria.getMaxPrice() == null ? Long.MAX_VALUE : cents(criteria.getMaxPrice(), RoundingMode.FLOOR);
+		maxOdometer = criteria.getMaxOdometer() == null ? Integer.MAX_VALUE : criteria.getMaxOdometer();
+	}
+
+	/**
+     * Tells whether any of the model, price and odometer filters is set.
+     */
+	boolean hasOthers() {
+		return codes[CarDimension.MODEL.ordinal()] != ANY || priced || maxOdometer != Integer.MAX_VALUE;
+	}
+
+	private void code(CarColumns columns, CarDimension dimension, String value) {
+		if (value != null) {
+			codes[dimension.ordinal()] = columns.lookup(dimension, value);
+		}
+	}
+
+	private static long cents(BigDecimal price, RoundingMode rounding) {
+		BigDecimal cents = price.movePointRight(2).setScale(0, rounding);
+		return cents.max(MIN_CENTS).min(MAX_CENTS).longValueExact();
+	}
+}
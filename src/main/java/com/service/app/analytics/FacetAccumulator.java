@@ -0,0 +1,198 @@
+package com.service.app.analytics;
+
+import com.service.app.model.CarDimension;
+
+/**
+ * Facet counts of a range of snapshot rows.
+ *
+ * <p>Each facet counts the rows passing every filter except its own, so a value's count
+ * is the number of matches the search would have if that value were selected instead.
+ * All facets are counted in one pass: a row failing no faceted filter counts in every
+ * facet, a row failing exactly one counts in that facet only, and any other row is
+ * skipped.</p>
+ *
+ * <p>Facets are {@link #DIMENSIONS} and model years in buckets of
+ * {@link #MODEL_YEAR_BUCKET_WIDTH}. The counts of a dimension facet are indexed by
+ * dictionary code plus one, so the first is for the cars without a value.</p>
+ *
+ * @author Wellington
+ * @version 1.0
+ */
+final class FacetAccumulator implements AggregationTask.Accumulator<FacetAccumulator> {
+
+	static final CarDimension[] DIMENSIONS = {
+			CarDimension.BRAND, CarDimension.FUEL_TYPE, CarDimension.TRANSMISSION, CarDimension.BODY_TYPE };
+	static final int MODEL_YEAR_BUCKET_WIDTH = 5;
+	static final int MIN_MODEL_YEAR = 1885;
+	static final int MAX_MODEL_YEAR = 9999;
+	static final int MODEL_YEAR_BUCKETS = (MAX_MODEL_YEAR - MIN_MODEL_YEAR) / MODEL_YEAR_BUCKET_WIDTH + 1;
+
+	// Follows the four DIMENSIONS facets
+	private static final int MODEL_YEAR_FACET = 4;
+	private static final int NONE = -1;
+
+	long matches;
+	final long[][] dimensionCounts = new long[DIMENSIONS.length][];
+	final long[] modelYearCounts = new long[MODEL_YEAR_BUCKETS];
+
+	private final CarColumns columns;
+	private final ColumnFilter filter;
+	private final int[][] codes = new int[DIMENSIONS.length][];
+	private final int[] wanted = new int[DIMENSIONS.length];
+
+	FacetAccumulator(CarColumns columns, ColumnFilter filter) {
+		this.columns = columns;
+		this.filter = filter;
+		for (int facet = 0; facet < DIMENSIONS.length; facet++) {
+			codes[facet] = columns.codes[DIMENSIONS[facet].ordinal()];
+			wanted[facet] = filter.codes[DIMENSIONS[facet].ordinal()];
+			dimensionCounts[facet] = new long[columns.cardinality(DIMENSIONS[facet]) + 1];
+		}
+	}
+
+	/**
+     * {@inheritDoc}
+     *
+     * <p>Arrays and bounds are copied to locals and the dimension facets are unrolled:
+     * indexing {@code codes[facet][row]} in an inner loop costs more than the counting
+     * itself. Searches without faceted filter take a loop that only counts.</p>
+     */
+	@Override
+	public void add(int from, int to) {
+		int[] brands = codes[0];
+		int[] fuelTypes = codes[1];
+		int[] transmissions = codes[2];
+		int[] bodyTypes = codes[3];
+		int[] modelYears = columns.modelYears;
+		long[] brandCounts = dimensionCounts[0];
+		long[] fuelTypeCounts = dimensionCounts[1];
+		long[] transmissionCounts = dimensionCounts[2];
+		long[] bodyTypeCounts = dimensionCounts[3];
+		long[] modelYearCounts = this.modelYearCounts;
+
+		int brand = wanted[0];
+		int fuelType = wanted[1];
+		int transmission = wanted[2];
+		int bodyType = wanted[3];
+		int minModelYear = filter.minModelYear;
+		int maxModelYear = filter.maxModelYear;
+		boolean faceted = brand != ColumnFilter.ANY || fuelType != ColumnFilter.ANY || transmission != ColumnFilter.ANY
+				|| bodyType != ColumnFilter.ANY || minModelYear != Integer.MIN_VALUE || maxModelYear != Integer.MAX_VALUE;
+
+		int[] models = columns.codes[CarDimension.MODEL.ordinal()];
+		int[] odometers = columns.odometers;
+		long[] prices = columns.prices;
+		int model = filter.codes[CarDimension.MODEL.ordinal()];
+		boolean priced = filter.priced;
+		long minCents = filter.minCents;
+		long maxCents = filter.maxCents;
+		int maxOdometer = filter.maxOdometer;
+		boolean others = filter.hasOthers();
+
+		if (!faceted && !others) {
+			for (int row = from; row < to; row++) {
+				brandCounts[brands[row] + 1]++;
+				fuelTypeCounts[fuelTypes[row] + 1]++;
+				transmissionCounts[transmissions[row] + 1]++;
+				bodyTypeCounts[bodyTypes[row] + 1]++;
+				modelYearCounts[modelYearBucket(modelYears[row])]++;
+			}
+			matches += to - from;
+			return;
+		}
+
+		long matched = 0;
+		for (int row = from; row < to; row++) {
+			if (others) {
+				if (model != ColumnFilter.ANY && models[row] != model) {
+					continue;
+				}
+				if (priced) {
+					long price = prices[row];
+					if (price == CarColumns.NULL_PRICE || price < minCents || price > maxCents) {
+						continue;
+					}
+				}
+				if (odometers[row] > maxOdometer) {
+					continue;
+				}
+			}
+
+			// A row failing two faceted filters counts nowhere, so it is dropped as soon as
+			// a second one fails.
+			int failed = NONE;
+			if (brand != ColumnFilter.ANY && brands[row] != brand) {
+				failed = 0;
+			}
+			if (fuelType != ColumnFilter.ANY && fuelTypes[row] != fuelType) {
+				if (failed != NONE) {
+					continue;
+				}
+				failed = 1;
+			}
+			if (transmission != ColumnFilter.ANY && transmissions[row] != transmission) {
+				if (failed != NONE) {
+					continue;
+				}
+				failed = 2;
+			}
+			if (bodyType != ColumnFilter.ANY && bodyTypes[row] != bodyType) {
+				if (failed != NONE) {
+					continue;
+				}
+				failed = 3;
+			}
+			int modelYear = modelYears[row];
+			if (modelYear < minModelYear || modelYear > maxModelYear) {
+				if (failed != NONE) {
+					continue;
+				}
+				failed = MODEL_YEAR_FACET;
+			}
+
+			switch (failed) {
+				case NONE -> {
+					matched++;
+					brandCounts[brands[row] + 1]++;
+					fuelTypeCounts[fuelTypes[row] + 1]++;
+					transmissionCounts[transmissions[row] + 1]++;
+					bodyTypeCounts[bodyTypes[row] + 1]++;
+					modelYearCounts[modelYearBucket(modelYear)]++;
+				}
+				case 0 -> brandCounts[brands[row] + 1]++;
+				case 1 -> fuelTypeCounts[fuelTypes[row] + 1]++;
+				case 2 -> transmissionCounts[transmissions[row] + 1]++;
+				case 3 -> bodyTypeCounts[bodyTypes[row] + 1]++;
+				default -> modelYearCounts[modelYearBucket(modelYear)]++;
+			}
+		}
+		matches += matched;
+	}
+
+	@Override
+	public FacetAccumulator merge(FacetAccumulator other) {
+		matches += other.matches;
+		for (int facet = 0; facet < DIMENSIONS.length; facet++) {
+			add(dimensionCounts[facet], other.dimensionCounts[facet]);
+		}
+		add(modelYearCounts, other.modelYearCounts);
+		return this;
+	}
+
+	/**
+     * Returns the first model year of a bucket.
+     */
+	static int modelYearBucketStart(int bucket) {
+		return MIN_MODEL_YEAR + bucket * MODEL_YEAR_BUCKET_WIDTH;
+	}
+
+	private static int modelYearBucket(int modelYear) {
+		return (Math.min(Math.max(modelYear, MIN_MODEL_YEAR), MAX_MODEL_YEAR) - MIN_MODEL_YEAR) / MODEL_YEAR_BUCKET_WIDTH;
+	}
+
+	private static void add(long[] target, long[] source) {
+		for (int i = 0; i < target.length; i++) {
+			target[i] += source[i];
+		}
+	}
+}
@@ -0,0 +1,178 @@
+package com.service.app.analytics;
+
+import java.util.Arrays;
+
+/**
+ * Per-group aggregates of a set of snapshot rows. Accumulators of disjoint rows are
+ * merged into the aggregates of the whole snapshot.
+ *
+ * <p>Group {@code groups - 1} collects the cars without a value. The price and odometer
+ * bucket counts of a group are only allocated once the group is seen. Price buckets only
+ * cover the range of buckets the group's prices fall in, grown as needed, rather than all
+ * {@link PriceBuckets#COUNT} of them: the prices of a brand or model span a few hundred
+ * buckets at most.</p>
+ *
+ * @author Wellington
+ * @version 1.0
+ */
+final class GroupAccumulator implements AggregationTask.Accumulator<GroupAccumulator> {
+
+	final long[] counts;
+	final long[] pricedCounts;
+	final long[] priceSums;
+	final long[] minPrices;
+	final long[] maxPrices;
+	final long[] odometerSums;
+	final long[] horsePowerSums;
+	final long[][] priceBuckets;
+	final int[] priceBucketOffsets;
+	final long[][] odometerBuckets;
+
+	private static final int INITIAL_PRICE_BUCKETS = 64;
+
+	private final CarColumns columns;
+	private final int[] codes;
+	private final int odometerBucketWidth;
+	private final int odometerBucketCount;
+
+	/**
+     * Creates an empty accumulator of rows grouped by the given dictionary codes.
+     */
+	GroupAccumulator(CarColumns columns, int[] codes, int groups, int odometerBucketWidth, int odometerBucketCount) {
+		this.columns = columns;
+		this.codes = codes;
+		this.counts = new long[groups];
+		this.pricedCounts = new long[groups];
+		this.priceSums = new long[groups];
+		this.minPrices = new long[groups];
+		this.maxPrices = new long[groups];
+		this.odometerSums = new long[groups];
+		this.horsePowerSums = new long[groups];
+		this.priceBuckets = new long[groups][];
+		this.priceBucketOffsets = new int[groups];
+		this.odometerBuckets = new long[groups][];
+		this.odometerBucketWidth = odometerBucketWidth;
+		this.odometerBucketCount = odometerBucketCount;
+		Arrays.fill(minPrices, Long.MAX_VALUE);
+		Arrays.fill(maxPrices, Long.MIN_VALUE);
+	}
+
+	@Override
+	public void add(int from, int to) {
+		int nullGroup = counts.length - 1;
+		for (int row = from; row < to; row++) {
+			int group = codes[row] == CarColumns.NULL_CODE ? nullGroup : codes[row];
+			counts[group]++;
+			horsePowerSums[group] += columns.horsePowers[row];
+
+			int odometer = Math.max(columns.odometers[row], 0);
+			odometerSums[group] += odometer;
+			long[] odometers = odometerBuckets[group];
+			if (odometers == null) {
+				odometers = odometerBuckets[group] = new long[odometerBucketCount];
+			}
+			odometers[Math.min(odometer / odometerBucketWidth, odometerBucketCount - 1)]++;
+
+			long price = columns.prices[row];
+			if (price != CarColumns.NULL_PRICE) {
+				pricedCounts[group]++;
+				priceSums[group] += price;
+				minPrices[group] = Math.min(minPrices[group], price);
+				maxPrices[group] = Math.max(maxPrices[group], price);
+				int bucket = columns.priceBuckets[row];
+				long[] prices = priceBuckets[group];
+				int offset = priceBucketOffsets[group];
+				if (prices == null || bucket < offset || bucket >= offset + prices.length) {
+					prices = coverPriceBuckets(group, bucket, bucket + 1);
+					offset = priceBucketOffsets[group];
+				}
+				prices[bucket - offset]++;
+			}
+		}
+	}
+
+	@Override
+	public GroupAccumulator merge(GroupAccumulator other) {
+		for (int group = 0; group < counts.length; group++) {
+			counts[group] += other.counts[group];
+			pricedCounts[group] += other.pricedCounts[group];
+			priceSums[group] += other.priceSums[group];
+			minPrices[group] = Math.min(minPrices[group], other.minPrices[group]);
+			maxPrices[group] = Math.max(maxPrices[group], other.maxPrices[group]);
+			odometerSums[group] += other.odometerSums[group];
+			horsePowerSums[group] += other.horsePowerSums[group];
+			long[] prices = other.priceBuckets[group];
+			if (prices != null) {
+				int offset = other.priceBucketOffsets[group];
+				long[] target = coverPriceBuckets(group, offset, offset + prices.length);
+				int shift = offset - priceBucketOffsets[group];
+				for (int i = 0; i < prices.length; i++) {
+					target[shift + i] += prices[i];
+				}
+			}
+			odometerBuckets[group] = add(odometerBuckets[group], other.odometerBuckets[group]);
+		}
+		return this;
+	}
+
+	/**
+     * Returns the approximate price of the given rank of a group, within the relative
+     * accuracy of {@link PriceBuckets} and clamped to the group's price range.
+     *
+     * @param rank the 1-based rank, at most the number of priced cars of the group
+     */
+	long priceAtRank(int group, long rank) {
+		long[] buckets = priceBuckets[group];
+		int offset = priceBucketOffsets[group];
+		long seen = 0;
+		for (int i = 0; i < buckets.length; i++) {
+			seen += buckets[i];
+			if (seen >= rank) {
+				return Math.max(minPrices[group], Math.min(maxPrices[group], PriceBuckets.estimate(offset + i)));
+			}
+		}
+		return maxPrices[group];
+	}
+
+	/**
+     * Makes the price buckets of a group cover the buckets {@code from} (inclusive) to
+     * {@code to} (exclusive). A full array is reallocated at least twice as large, so a
+     * group's buckets are copied only a few times.
+     *
+     * @return the price buckets of the group
+     */
+	private long[] coverPriceBuckets(int group, int from, int to) {
+		long[] buckets = priceBuckets[group];
+		if (buckets == null) {
+			int length = Math.min(PriceBuckets.COUNT, Math.max(INITIAL_PRICE_BUCKETS, to - from));
+			priceBucketOffsets[group] = Math.max(0, Math.min(from - (length - (to - from)) / 2, PriceBuckets.COUNT - length));
+			return priceBuckets[group] = new long[length];
+		}
+		int offset = priceBucketOffsets[group];
+		if (from >= offset && to <= offset + buckets.length) {
+			return buckets;
+		}
+		int low = Math.min(from, offset);
+		int high = Math.max(to, offset + buckets.length);
+		int length = Math.min(PriceBuckets.COUNT, Math.max(high - low, 2 * buckets.length));
+		// Leave the spare buckets on the side the range grew towards
+		int newOffset = from < offset ? Math.max(0, high - length) : Math.min(low, PriceBuckets.COUNT - length);
+		long[] grown = new long[length];
+		System.arraycopy(buckets, 0, grown, offset - newOffset, buckets.length);
+		priceBucketOffsets[group] = newOffset;
+		return priceBuckets[group] = grown;
+	}
+
+	private static long[] add(long[] target, long[] source) {
+		if (source == null) {
+			return target;
+		}
+		if (target == null) {
+			return source;
+		}
+		for (int i = 0; i < target.length; i++) {
+			target[i] += source[i];
+		}
+		return target;
+	}
+}
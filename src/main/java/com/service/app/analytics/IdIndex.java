@@ -0,0 +1,114 @@
+package com.service.app.analytics;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map from car ID to row, without boxing, so the index of a
+ * snapshot of millions of cars costs a few bytes per car. Also maps car IDs to documents
+ * in the full-text index.
+ *
+ * <p>Collisions are resolved by linear probing, and removals shift the following entries
+ * back instead of leaving tombstones.</p>
+ *
+ * @author Wellington
+ * @version 1.0
+ */
+public final class IdIndex {
+
+	public static final int ABSENT = -1;
+
+	private static final double MAX_LOAD = 0.75;
+
+	private long[] keys;
+	private int[] rows;
+	private int mask;
+	private int size;
+
+	public IdIndex(int expected) {
+		int capacity = Integer.highestOneBit(Math.max(16, (int) (expected / MAX_LOAD)) - 1) << 1;
+		allocate(capacity);
+	}
+
+	/**
+     * Returns the row of an ID, or {@link #ABSENT}.
+     */
+	public int get(long id) {
+		for (int slot = slot(id); rows[slot] != ABSENT; slot = (slot + 1) & mask) {
+			if (keys[slot] == id) {
+				return rows[slot];
+			}
+		}
+		return ABSENT;
+	}
+
+	public void put(long id, int row) {
+		int slot = slot(id);
+		while (rows[slot] != ABSENT) {
+			if (keys[slot] == id) {
+				rows[slot] = row;
+				return;
+			}
+			slot = (slot + 1) & mask;
+		}
+		keys[slot] = id;
+		rows[slot] = row;
+		if (++size > mask * MAX_LOAD) {
+			resize();
+		}
+	}
+
+	/**
+     * Removes an ID and returns its row, or {@link #ABSENT}.
+     */
+	public int remove(long id) {
+		int slot = slot(id);
+		while (keys[slot] != id) {
+			if (rows[slot] == ABSENT) {
+				return ABSENT;
+			}
+			slot = (slot + 1) & mask;
+		}
+		if (rows[slot] == ABSENT) {
+			return ABSENT;
+		}
+		int removed = rows[slot];
+
+		// Moves back every following entry of the probe run that may live in the hole.
+		int hole = slot;
+		for (int next = (hole + 1) & mask; rows[next] != ABSENT; next = (next + 1) & mask) {
+			int home = slot(keys[next]);
+			if (((next - home) & mask) >= ((next - hole) & mask)) {
+				keys[hole] = keys[next];
+				rows[hole] = rows[next];
+				hole = next;
+			}
+		}
+		rows[hole] = ABSENT;
+		size--;
+		return removed;
+	}
+
+	private int slot(long id) {
+		long hash = id * 0x9E3779B97F4A7C15L;
+		return (int) (hash ^ (hash >>> 32)) & mask;
+	}
+
+	private void allocate(int capacity) {
+		keys = new long[capacity];
+		rows = new int[capacity];
+		Arrays.fill(rows, ABSENT);
+		mask = capacity - 1;
+	}
+
+	private void resize() {
+		long[] oldKeys = keys;
+		int[] oldRows = rows;
+		allocate(oldKeys.length << 1);
+		size = 0;
+		for (int slot = 0; slot < oldKeys.length; slot++) {
+			if (oldRows[slot] != ABSENT) {
+				put(oldKeys[slot], oldRows[slot]);
+			}
+		}
+	}
+}
@@ -0,0 +1,312 @@
+package com.service.app.analytics;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.service.app.configuration.CacheConfiguration;
+import com.service.app.datasource.ReplicaRoutingDataSource;
+import com.service.app.entity.Car;
+import com.service.app.events.ChangedCars;
+import com.service.app.exceptions.ValidationException;
+import com.service.app.model.CarAnalyticsReport;
+import com.service.app.model.CarDimension;
+import com.service.app.model.CarEvent;
+import com.service.app.model.CarFacetCount;
+import com.service.app.model.CarFacets;
+import com.service.app.model.CarGroupStats;
+import com.service.app.model.CarSearchCriteria;
+import com.service.app.repository.CarRepository;
+import com.service.app.service.CarService;
+
+/**
+ * In-memory columnar copy of the inventory that answers analytics and search facet
+ * queries without touching MySQL.
+ *
+ * <p>The whole table is loaded from the primary once at startup, or by the first query.
+ * After that it is kept current from the {@link CarEvent}s published by
+ * {@link CarService}, as described in {@link ChangedCars}.</p>
+ *
+ * <p>Queries scan the primitive columns under a read lock, on a dedicated fork-join pool
+ * of {@code car-service.analytics.parallelism} threads, and only allocate per-group
+ * accumulators, one per thread.</p>
+ *
+ * @author Wellington
+ * @version 1.0
+ */
+@Component
+public class InventorySnapshot implements DisposableBean {
+
+	private static final Logger logger = LoggerFactory.getLogger(InventorySnapshot.class);
+
+	private static final int MIN_ROWS_PER_TASK = 32_768;
+	private static final int ODOMETER_BUCKET_COUNT = 50;
+	private static final int MAX_ACCUMULATED_GROUPS = 16_384;
+	private static final int MAX_PERCENTILES = 10;
+
+	private final CarService service;
+	private final ChangedCars changedCars;
+	private final ForkJoinPool pool;
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	private CarColumns columns;
+	private volatile boolean loaded;
+
+	@Autowired
+	public InventorySnapshot(CarService service, CarRepository repository,
+			@Value("${car-service.analytics.reload-chunk-size:500}") int reloadChunkSize,
+			@Value("${car-service.analytics.parallelism:0}") int parallelism) {
+		this.service = service;
+		this.changedCars = new ChangedCars(repository, reloadChunkSize);
+		this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Loads the snapshot once the application is up, so the first query does not pay for it.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void load() {
+		refresh();
+	}
+
+	/**
+     * Marks the car of an event as changed. Runs after the publishing transaction commits,
+     * or right away when there is none.
+     *
+     * @param event the change
+     */
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onCarEvent(CarEvent event) {
+		changedCars.mark(event);
+	}
+
+	/**
+     * Aggregates the inventory by the values of one dimension: counts, price range and
+     * average, approximate price percentiles, odometer histogram and average horse power.
+     * 
+     * <p>The rows are split into ranges aggregated in parallel on the analytics fork-join
+     * pool, while the caller holds the read lock. Reports are cached in the
+     * {@value CacheConfiguration#CAR_ANALYTICS_CACHE} cache for
+     * {@code car-service.analytics.cache-ttl}, so they may lag behind the latest changes
+     * by that long.</p>
+     *
+     * @param groupBy the dimension to group by
+     * @param odometerBucketWidth the odometer range of each histogram bucket, in kilometres
+     * @param percentiles the price percentiles to estimate, each above 0 and at most 100
+     * @return the report, the largest groups first
+     * @throws ValidationException if the bucket width or a percentile is out of range
+     */
+	@Cacheable(cacheNames = CacheConfiguration.CAR_ANALYTICS_CACHE, key = "{#groupBy, #odometerBucketWidth, #percentiles}")
+	public CarAnalyticsReport analyze(CarDimension groupBy, int odometerBucketWidth, List<Double> percentiles) {
+		if (odometerBucketWidth < 1) {
+			throw new ValidationException("odometerBucketWidth must be positive");
+		}
+		if (percentiles.size() > MAX_PERCENTILES) {
+			throw new ValidationException("At most " + MAX_PERCENTILES + " percentiles can be requested");
+		}
+		if (percentiles.stream().anyMatch(percentile -> percentile == null || !(percentile > 0 && percentile <= 100))) {
+			throw new ValidationException("Percentiles must be above 0 and at most 100");
+		}
+
+		refresh();
+		lock.readLock().lock();
+		try {
+			CarColumns c = columns;
+			// The last group collects the cars without a value.
+			int groups = c.cardinality(groupBy) + 1;
+			int[] codes = c.codes[groupBy.ordinal()];
+			GroupAccumulator totals = AggregationTask.aggregate(pool,
+					() -> new GroupAccumulator(c, codes, groups, odometerBucketWidth, ODOMETER_BUCKET_COUNT),
+					threshold(c, groups), 0, c.size);
+
+			List<CarGroupStats> stats = new ArrayList<>();
+			for (int group = 0; group < groups; group++) {
+				long count = totals.counts[group];
+				if (count == 0) {
+					continue;
+				}
+				long priced = totals.pricedCounts[group];
+				Map<String, BigDecimal> pricePercentiles = new LinkedHashMap<>();
+				if (priced > 0) {
+					for (double percentile : percentiles) {
+						long rank = Math.max(1, (long) Math.ceil(percentile / 100 * priced));
+						pricePercentiles.put("p" + BigDecimal.valueOf(percentile).stripTrailingZeros().toPlainString(),
+								CarColumns.fromCents(totals.priceAtRank(group, rank)));
+					}
+				}
+				stats.add(new CarGroupStats(
+						group == groups - 1 ? null : c.decode(groupBy, group),
+						count,
+						priced > 0 ? CarColumns.fromCents(Math.round((double) totals.priceSums[group] / priced)) : null,
+						priced > 0 ? CarColumns.fromCents(totals.minPrices[group]) : null,
+						priced > 0 ? CarColumns.fromCents(totals.maxPrices[group]) : null,
+						(double) totals.odometerSums[group] / count,
+						(double) totals.horsePowerSums[group] / count,
+						pricePercentiles,
+						trimmed(totals.odometerBuckets[group])));
+			}
+			stats.sort(Comparator.comparingLong(CarGroupStats::getCount).reversed());
+			return new CarAnalyticsReport(groupBy.getProperty(), c.size, odometerBucketWidth, ODOMETER_BUCKET_COUNT, stats);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+     * Counts the cars matching a search per value of each facet: brand, fuel type,
+     * transmission, body type and model year, in buckets of five years. Each facet
+     * ignores the search's own filter on it, so that the counts of the alternative values
+     * can be shown next to the selected one.
+     *
+     * <p>Every facet is counted in a single parallel pass over the columns, under the read
+     * lock. Counts are not cached: they reflect every change published before the call.</p>
+     *
+     * @param criteria the search filters
+     * @return the facet counts
+     * @throws ValidationException if the criteria hold an inverted range
+     */
+	public CarFacets facets(CarSearchCriteria criteria) {
+		criteria.validate();
+
+		refresh();
+		lock.readLock().lock();
+		try {
+			CarColumns c = columns;
+			ColumnFilter filter = new ColumnFilter(criteria, c);
+			FacetAccumulator totals = AggregationTask.aggregate(pool, () -> new FacetAccumulator(c, filter),
+					threshold(c, 1), 0, c.size);
+
+			Map<String, List<CarFacetCount>> counts = new LinkedHashMap<>();
+			for (int facet = 0; facet < FacetAccumulator.DIMENSIONS.length; facet++) {
+				CarDimension dimension = FacetAccumulator.DIMENSIONS[facet];
+				long[] values = totals.dimensionCounts[facet];
+				List<CarFacetCount> facetCounts = new ArrayList<>();
+				for (int code = CarColumns.NULL_CODE; code < values.length - 1; code++) {
+					if (values[code + 1] > 0) {
+						facetCounts.add(new CarFacetCount(c.decode(dimension, code), values[code + 1]));
+					}
+				}
+				facetCounts.sort(Comparator.comparingLong(CarFacetCount::getCount).reversed());
+				counts.put(dimension.getProperty(), facetCounts);
+			}
+			List<CarFacetCount> modelYears = new ArrayList<>();
+			for (int bucket = 0; bucket < FacetAccumulator.MODEL_YEAR_BUCKETS; bucket++) {
+				if (totals.modelYearCounts[bucket] > 0) {
+					int start = FacetAccumulator.modelYearBucketStart(bucket);
+					modelYears.add(new CarFacetCount(start + "-" + (start + FacetAccumulator.MODEL_YEAR_BUCKET_WIDTH - 1),
+							totals.modelYearCounts[bucket]));
+				}
+			}
+			counts.put("modelYear", modelYears);
+			return new CarFacets(totals.matches, counts);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	@Override
+	public void destroy() {
+		pool.shutdownNow();
+	}
+
+	/**
+     * Returns the number of cars in the snapshot, loading it first if needed.
+     *
+     * @return the car count
+     */
+	public int size() {
+		refresh();
+		lock.readLock().lock();
+		try {
+			return columns.size;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Loads the snapshot on first use, then reloads the cars changed since the last call.
+	 */
+	private void refresh() {
+		if (loaded && changedCars.isEmpty()) {
+			return;
+		}
+		synchronized (this) {
+			if (!loaded) {
+				CarColumns loading = new CarColumns(0);
+				long count = ReplicaRoutingDataSource.onPrimary(() -> service.exportCars(loading::put));
+				lock.writeLock().lock();
+				try {
+					columns = loading;
+				} finally {
+					lock.writeLock().unlock();
+				}
+				loaded = true;
+				logger.info("Loaded {} cars into the inventory snapshot", count);
+			}
+
+			changedCars.reload(this::apply);
+		}
+	}
+
+	/**
+	 * Writes the reloaded cars of a chunk and removes those that no longer exist.
+	 */
+	private void apply(List<Long> ids, List<Car> cars) {
+		lock.writeLock().lock();
+		try {
+			Set<Long> found = new HashSet<>();
+			for (Car car : cars) {
+				columns.put(car);
+				found.add(car.getId());
+			}
+			for (Long id : ids) {
+				if (!found.contains(id)) {
+					columns.remove(id);
+				}
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Returns the number of rows aggregated by one task: about four ranges per pool
+	 * thread, and no fewer rows than it takes to amortize the task. With many groups
+	 * there are fewer ranges, so that fewer threads, each with its own accumulator, take
+	 * part and at most about {@value #MAX_ACCUMULATED_GROUPS} groups are accumulated at
+	 * once.
+	 */
+	private int threshold(CarColumns c, int groups) {
+		int ranges = Math.min(pool.getParallelism() * 4, Math.max(1, MAX_ACCUMULATED_GROUPS / groups));
+		return Math.max(MIN_ROWS_PER_TASK, c.size / ranges + 1);
+	}
+
+	private static long[] trimmed(long[] buckets) {
+		int length = buckets.length;
+		while (length > 0 && buckets[length - 1] == 0) {
+			length--;
+		}
+		return Arrays.copyOf(buckets, length);
+	}
+}
@@ -0,0 +1,38 @@
+package com.service.app.analytics;
+
+/**
+ * Logarithmic buckets of prices in cents, for approximate quantiles.
+ *
+ * <p>Bucket {@code i} holds the prices in {@code (γ^(i-1), γ^i]}, with
+ * {@code γ = (1 + α) / (1 - α)}, and is represented by {@code 2γ^i / (γ + 1)}, which is
+ * within a relative error {@code α} of every price in the bucket. Counts per bucket add
+ * up across row ranges, so quantiles of partial scans can be merged exactly. Prices up
+ * to a thousand billion fit in about 1600 buckets; prices of a cent or less share
+ * bucket 0.</p>
+ *
+ * @author Wellington
+ * @version 1.0
+ */
+final class PriceBuckets {
+
+	static final double RELATIVE_ACCURACY = 0.01;
+
+	private static final double GAMMA = (1 + RELATIVE_ACCURACY) / (1 - RELATIVE_ACCURACY);
+	private static final double LOG_GAMMA = Math.log(GAMMA);
+	private static final long MAX_CENTS = 100_000_000_000_000L;
+
+	static final int COUNT = (int) Math.ceil(Math.log(MAX_CENTS) / LOG_GAMMA) + 1;
+
+	private PriceBuckets() {}
+
+	static int of(long cents) {
+		if (cents <= 1) {
+			return 0;
+		}
+		return Math.min((int) Math.ceil(Math.log(cents) / LOG_GAMMA), COUNT - 1);
+	}
+
+	static long estimate(int bucket) {
+		return bucket == 0 ? 0 : Math.round(2 * Math.pow(GAMMA, bucket) / (GAMMA + 1));
+	}
+}
@@ -0,0 +1,59 @@
+package com.service.app.configuration;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Enables Spring's annotation-driven caching.
+ * 
+ * <p>
+ * The caches themselves are Caffeine caches created by Spring Boot from the
+ * {@code spring.cache.*} properties, which set their size bound, TTL and statistics
+ * recording. With statistics enabled, hit, miss and eviction counts are published
+ * under {@code /actuator/metrics/cache.*}.
+ * </p>
+ * 
+ * <p>
+ * The {@value #CAR_ANALYTICS_CACHE} cache is registered separately, with its own short
+ * TTL, since analytics reports are not evicted on writes.
+ * </p>
+ * 
+ * @author Wellington
+ * @version 1.0
+ */
+@Configuration
+@EnableCaching
+public class CacheConfiguration {
+
+    /**
+     * Cache of {@link com.service.app.entity.Car} entities keyed by ID.
+     */
+    public static final String CAR_CACHE = "cars";
+
+    /**
+     * Cache of encoded JSON responses for single cars, keyed by ID and checked against
+     * the car version. Every write that evicts {@link #CAR_CACHE} evicts it as well.
+     */
+    public static final String CAR_RESPONSE_CACHE = "carResponses";
+
+    /**
+     * Cache of inventory analytics reports, keyed by their parameters.
+     */
+    public static final String CAR_ANALYTICS_CACHE = "carAnalytics";
+
+    @Bean
+    CacheManagerCustomizer<CaffeineCacheManager> analyticsCacheCustomizer(
+    		@Value("${car-service.analytics.cache-ttl:30s}") Duration ttl) {
+    	
+    	return cacheManager -> cacheManager.registerCustomCache(CAR_ANALYTICS_CACHE,
+    			Caffeine.newBuilder().maximumSize(100).expireAfterWrite(ttl).recordStats().build());
+    }
+}
@@ -0,0 +1,40 @@
+package com.service.app.configuration;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+/**
+ * Registers binary Jackson encodings next to JSON.
+ * 
+ * <p>
+ * Clients can ask for CBOR ({@value #APPLICATION_CBOR_VALUE}) or Smile
+ * ({@value #APPLICATION_SMILE_VALUE}) in the {@code Accept} header. Both converters
+ * are built from Spring Boot's {@link Jackson2ObjectMapperBuilder}, so they share the
+ * modules and features configured for JSON under {@code spring.jackson.*}.
+ * </p>
+ * 
+ * @author Wellington
+ * @version 1.0
+ */
+@Configuration
+public class ContentNegotiationConfiguration {
+
+	public static final String APPLICATION_CBOR_VALUE = "application/cbor";
+	public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+
+	@Bean
+	MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+		return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+	}
+
+	@Bean
+	MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+		return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+	}
+}
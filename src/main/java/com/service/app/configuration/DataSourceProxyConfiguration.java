@@ -0,0 +1,61 @@
+package com.service.app.configuration;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.service.app.metrics.QueryLoggingListener;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+
+/**
+ * Wraps the application {@link DataSource} with a JDBC proxy that logs slow statements.
+ *
+ * <p>
+ * The proxy sees every statement, whether it comes from Hibernate or from
+ * {@code JdbcTemplate}, and times it around the driver call. What gets logged is
+ * controlled by {@code car-service.sql-log.*}; see {@link QueryLoggingListener}.
+ * </p>
+ *
+ * @author Wellington
+ * @version 1.0
+ */
+@Configuration
+public class DataSourceProxyConfiguration {
+
+	@Bean
+	static BeanPostProcessor queryLoggingDataSourcePostProcessor(
+			@Value("${car-service.sql-log.slow-threshold:200ms}") Duration slowThreshold,
+			@Value("${car-service.sql-log.sample-rate:0}") double sampleRate,
+			@Value("${car-service.sql-log.repeated-select-threshold:10}") int repeatedSelectThreshold,
+			ObjectProvider<MeterRegistry> registry) {
+
+		QueryLoggingListener listener = new QueryLoggingListener(slowThreshold.toMillis(), sampleRate,
+				repeatedSelectThreshold, () -> Counter.builder(QueryLoggingListener.REPEATED_SELECTS_METRIC)
+						.description("Runs of the same select executed back to back on a connection, a sign of N+1 queries")
+						.register(registry.getObject()));
+
+		return new BeanPostProcessor() {
+
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+					return ProxyDataSourceBuilder.create(dataSource)
+							.name(beanName)
+							.listener(listener)
+							.build();
+				}
+				return bean;
+			}
+		};
+	}
+}
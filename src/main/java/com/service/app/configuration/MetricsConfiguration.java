@@ -0,0 +1,41 @@
+package com.service.app.configuration;
+
+import org.springframework.boot.actuate.metrics.data.RepositoryTagsProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.service.app.metrics.CarServiceMetricsAspect;
+import com.service.app.metrics.OutcomeRepositoryTagsProvider;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Instruments the service and repository layers with Micrometer.
+ *
+ * <p>
+ * Together with the HTTP and Hikari pool metrics Spring Boot already records, a slow
+ * request can be broken down into time spent in MVC and Jackson
+ * ({@code http.server.requests}), in the service ({@value CarServiceMetricsAspect#INVOCATIONS_METRIC}),
+ * in the repository ({@code spring.data.repository.invocations}) and waiting for a
+ * connection ({@code hikaricp.connections.acquire}). Hibernate statistics are published as
+ * {@code hibernate.*} by Spring Boot, through {@code hibernate-micrometer}. Histograms are enabled per metric under
+ * {@code management.metrics.distribution.*}; everything is published under
+ * {@code /actuator/metrics} and {@code /actuator/prometheus}.
+ * </p>
+ *
+ * @author Wellington
+ * @version 1.0
+ */
+@Configuration
+public class MetricsConfiguration {
+
+	@Bean
+	CarServiceMetricsAspect carServiceMetricsAspect(MeterRegistry registry) {
+		return new CarServiceMetricsAspect(registry);
+	}
+
+	@Bean
+	RepositoryTagsProvider repositoryTagsProvider() {
+		return new OutcomeRepositoryTagsProvider();
+	}
+}
@@ -0,0 +1,92 @@
+package com.service.app.configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.transaction.TransactionManager;
+
+import com.service.app.datasource.ReadYourWritesFilter;
+import com.service.app.datasource.ReplicaAwareTransactionManager;
+import com.service.app.datasource.ReplicaRoutingDataSource;
+import com.service.app.datasource.ReplicaSelection;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Routes read-only transactions to read replicas when {@code car-service.replicas.urls}
+ * lists at least one.
+ *
+ * <p>
+ * The primary pool is built from {@code spring.datasource.*}, like the one Spring Boot
+ * would create, and each replica gets a copy of its Hikari settings with its own URL.
+ * Replica pools start without connecting, so an unreachable replica does not keep the
+ * application from starting; it is simply left out of rotation. Without replicas, this
+ * configuration stays off and Spring Boot's single data source is used.
+ * </p>
+ *
+ * <p>
+ * The transaction manager replaces Spring Boot's, so that rows read from a replica do
+ * not fill Hibernate's second-level cache.
+ * </p>
+ *
+ * @author Wellington
+ * @version 1.0
+ */
+@Configuration
+@ConditionalOnExpression("!'${car-service.replicas.urls:}'.isBlank()")
+public class ReadReplicaConfiguration {
+
+	@Bean
+	ReplicaRoutingDataSource dataSource(DataSourceProperties properties, Environment environment,
+			ObjectProvider<MeterRegistry> meterRegistry,
+			@Value("${car-service.replicas.urls}") List<String> replicaUrls,
+			@Value("${car-service.replicas.selection:round-robin}") ReplicaSelection selection,
+			@Value("${car-service.replicas.health-check-interval:5s}") Duration healthCheckInterval) {
+
+		HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+		Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+		primary.setPoolName("primary");
+		meterRegistry.ifAvailable(primary::setMetricRegistry);
+
+		List<HikariDataSource> replicas = new ArrayList<>(replicaUrls.size());
+		for (String url : replicaUrls) {
+			HikariConfig config = new HikariConfig();
+			primary.copyStateTo(config);
+			config.setJdbcUrl(url.trim());
+			config.setPoolName("replica-" + (replicas.size() + 1));
+			config.setInitializationFailTimeout(-1);
+			replicas.add(new HikariDataSource(config));
+		}
+		return new ReplicaRoutingDataSource(primary, replicas, selection, healthCheckInterval);
+	}
+
+	@Bean
+	ReplicaAwareTransactionManager transactionManager(ObjectProvider<TransactionManagerCustomizers> customizers) {
+		ReplicaAwareTransactionManager transactionManager = new ReplicaAwareTransactionManager();
+		customizers.ifAvailable(customizer -> customizer.customize((TransactionManager) transactionManager));
+		return transactionManager;
+	}
+
+	@Bean
+	FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(
+			@Value("${car-service.replicas.read-your-writes-window:5s}") Duration window) {
+
+		FilterRegistrationBean<ReadYourWritesFilter> registration = new FilterRegistrationBean<>(new ReadYourWritesFilter(window));
+		registration.addUrlPatterns("/car-service/*");
+		return registration;
+	}
+}
@@ -0,0 +1,66 @@
+package com.service.app.configuration;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.service.app.entity.Car;
+
+/**
+ * Backs Hibernate's second-level cache with Caffeine, through JCache.
+ *
+ * <p>
+ * The {@value Car#CACHE_REGION} region is bounded by
+ * {@code car-service.second-level-cache.maximum-size} and its entries expire
+ * {@code car-service.second-level-cache.time-to-live} after being written. Hibernate is
+ * set up to fail on any region not created here, so an entity cannot end up in an
+ * unbounded cache by accident. Hits, misses and puts are published as
+ * {@code hibernate.second.level.cache.*} meters.
+ * </p>
+ *
+ * <p>
+ * Each application context gets a JCache manager of its own, under a unique URI, rather
+ * than the JVM-wide default one. Contexts living side by side, as in tests, thus never
+ * see, replace or close each other's regions.
+ * </p>
+ *
+ * @author Wellington
+ * @version 1.0
+ */
+@Configuration
+public class SecondLevelCacheConfiguration {
+
+	@Bean(destroyMethod = "close")
+	CacheManager secondLevelCacheManager(
+			@Value("${car-service.second-level-cache.maximum-size:10000}") long maximumSize,
+			@Value("${car-service.second-level-cache.time-to-live:10m}") Duration timeToLive) {
+
+		CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+				.getCacheManager(URI.create("urn:car-service:second-level-cache:" + UUID.randomUUID()),
+						SecondLevelCacheConfiguration.class.getClassLoader());
+
+		CaffeineConfiguration<Object, Object> region = new CaffeineConfiguration<>();
+		region.setMaximumSize(OptionalLong.of(maximumSize));
+		region.setExpireAfterWrite(OptionalLong.of(timeToLive.toNanos()));
+		region.setStatisticsEnabled(true);
+		cacheManager.createCache(Car.CACHE_REGION, region);
+		return cacheManager;
+	}
+
+	@Bean
+	HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager secondLevelCacheManager) {
+		return properties -> properties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+	}
+}
@@ -1,48 +1,257 @@
 package com.service.app.controller;
 
+import static com.service.app.configuration.ContentNegotiationConfiguration.APPLICATION_CBOR_VALUE;
+import static com.service.app.configuration.ContentNegotiationConfiguration.APPLICATION_SMILE_VALUE;
+
+import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.MimeTypeUtils;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.service.app.analytics.InventorySnapshot;
 import com.service.app.entity.Car;
+import com.service.app.events.CarEventBroadcaster;
+import com.service.app.exceptions.PreconditionFailedException;
 import com.service.app.exceptions.ResourceNotFoundException;
+import com.service.app.export.CarExportFormat;
+import com.service.app.export.CarExportWriter;
+import com.service.app.model.CarAnalyticsReport;
+import com.service.app.model.CarBatchResult;
+import com.service.app.model.CarBulkResult;
+import com.service.app.model.CarBulkUpdate;
+import com.service.app.model.CarDeltaPage;
+import com.service.app.model.CarDimension;
+import com.service.app.model.CarFieldSet;
+import com.service.app.model.CarLookupResult;
+import com.service.app.model.CarPage;
+import com.service.app.model.CarPageRequest;
+import com.service.app.model.CarPatch;
+import com.service.app.model.CarSearchCriteria;
+import com.service.app.model.CarSearchPage;
+import com.service.app.model.CarSummary;
+import com.service.app.model.CarTextSearchResult;
+import com.service.app.search.CarTextIndex;
 import com.service.app.service.CarService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 
 @Tag(name = "Car Service endpoint")
 @RestController
 @RequestMapping("/car-service")
 public class CarController {
 
+	private static final String VERSION_FIELD = "version";
+	
+	private static final MediaType CBOR = MediaType.valueOf(APPLICATION_CBOR_VALUE);
+	private static final MediaType SMILE = MediaType.valueOf(APPLICATION_SMILE_VALUE);
+
 	@Autowired
     private CarService service;	
 	
-	@Operation(summary="Find all cars")
-	@GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
-	public List<Car> findAll() {
-		return service.findAllCars();
+	@Autowired
+	private ObjectMapper mapper;
+	
+	@Autowired
+	private CarResponseCache responseCache;
+	
+	@Autowired
+	private CarEventBroadcaster eventBroadcaster;
+	
+	@Autowired
+	private InventorySnapshot inventorySnapshot;
+	
+	@Autowired
+	private CarTextIndex textIndex;
+	
+	@Operation(summary="Find all cars, one keyset page at a time",
+			description="The cars are returned in 'content' and the cursor of the following page in 'nextCursor', "
+					+ "as on every listing, and must be sent back as the 'after' parameter together with the same sort and direction. "
+					+ "Pass a comma-separated 'fields' list to select and return only those properties.")
+	@GetMapping(produces = { MediaType.APPLICATION_JSON_VALUE, APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE })
+	public CarPage<?> findAll(
+			@RequestParam(value = "sort", defaultValue = "id") String sort,
+			@RequestParam(value = "direction", defaultValue = "asc") String direction,
+			@RequestParam(value = "after", required = false) String after,
+			@RequestParam(value = "limit", defaultValue = "" + CarPageRequest.DEFAULT_LIMIT) int limit,
+			@RequestParam(value = "fields", required = false) String fields) {
+		
+		CarPageRequest request = CarPageRequest.of(sort, direction, after, limit);
+		return fields == null
+				? service.findCars(request)
+				: service.findCarFields(CarFieldSet.of(fields), request);
 	}
 	
-	@Operation(summary="Find specific car by your ID")
+	@Operation(summary="List car summaries, one keyset page at a time",
+			description="Returns only id, brand, model, model year, price and odometer, which is all a listing grid needs. "
+					+ "Sorting by horsePower is not supported; the next cursor is in the response body.")
+	@GetMapping(value = "/summaries", produces = { MediaType.APPLICATION_JSON_VALUE, APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE })
+	public CarPage<CarSummary> findSummaries(
+			@RequestParam(value = "sort", defaultValue = "id") String sort,
+			@RequestParam(value = "direction", defaultValue = "asc") String direction,
+			@RequestParam(value = "after", required = false) String after,
+			@RequestParam(value = "limit", defaultValue = "" + CarPageRequest.DEFAULT_LIMIT) int limit) {
+		
+		return service.findCarSummaries(CarPageRequest.of(sort, direction, after, limit));
+	}
+	
+	@Operation(summary="Search cars by brand, model, model year, price, fuel type, transmission, body type and odometer",
+			description="Every filter is optional. Results are paginated like the listing, with the next cursor in the response body. "
+					+ "With facets=true, the response also holds the number of matching cars and, per brand, fuel type, "
+					+ "transmission, body type and five-year model year bucket, the number of cars matching every filter "
+					+ "but the one on that property. Facet counts come from the in-memory inventory snapshot.")
+	@GetMapping(value = "/search", produces = { MediaType.APPLICATION_JSON_VALUE, APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE })
+	public CarSearchPage search(@ParameterObject CarSearchCriteria criteria,
+			@RequestParam(value = "sort", defaultValue = "id") String sort,
+			@RequestParam(value = "direction", defaultValue = "asc") String direction,
+			@RequestParam(value = "after", required = false) String after,
+			@RequestParam(value = "limit", defaultValue = "" + CarPageRequest.DEFAULT_LIMIT) int limit,
+			@RequestParam(value = "facets", defaultValue = "false") boolean facets) {
+		
+		CarPage<Car> page = service.searchCars(criteria, CarPageRequest.of(sort, direction, after, limit));
+		return new CarSearchPage(page.getContent(), page.getNextCursor(), facets ? inventorySnapshot.facets(criteria) : null);
+	}
+	
+	@Operation(summary="Search cars by free text over brand, model, color, body type, fuel type and transmission",
+			description="Case and accents are ignored. Cars holding any of the words match and are ranked by relevance (BM25), "
+					+ "best first, with their score. The response also holds the number of matching cars. "
+					+ "Answered from the in-memory full-text index.")
+	@GetMapping(value = "/search/text", produces = { MediaType.APPLICATION_JSON_VALUE, APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE })
+	public CarTextSearchResult searchText(@RequestParam("q") String query,
+			@RequestParam(value = "limit", defaultValue = "20") int limit) {
+		
+		return textIndex.search(query, limit);
+	}
+	
+	@Operation(summary="Export the whole inventory",
+			description="Streams every car as NDJSON (format=ndjson), CSV (format=csv), a CBOR sequence (format=cbor) "
+					+ "or Smile (format=smile) while it is read from the database.")
+	@GetMapping(value = "/export")
+	public void export(@RequestParam(value = "format", defaultValue = "ndjson") String format,
+			HttpServletResponse response) throws IOException {
+		
+		CarExportFormat exportFormat = CarExportFormat.fromParameter(format);
+		response.setContentType(exportFormat.getMediaType());
+		if (!exportFormat.isBinary()) {
+			response.setCharacterEncoding("UTF-8");
+		}
+		response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+				.filename("cars." + exportFormat.getFileExtension())
+				.build()
+				.toString());
+		
+		try (CarExportWriter writer = new CarExportWriter(exportFormat, response.getOutputStream(), mapper)) {
+			service.exportCars(writer);
+		}
+	}
+	
+	@Operation(summary="Find many cars by ID",
+			description="Takes a comma-separated 'ids' list and resolves it with a few IN queries instead of one request "
+					+ "per car. Found cars come back in request order; unknown IDs are listed in 'missingIds'.")
+	@GetMapping(value = "/batch", produces = { MediaType.APPLICATION_JSON_VALUE, APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE })
+	public CarLookupResult findByIds(@RequestParam(value = "ids") List<Long> ids) {
+		return service.getCarsByIds(ids);
+	}
+	
+	@Operation(summary="Find many cars by ID, for lists too long for a query string",
+			description="Same as GET /batch, with the IDs sent as a JSON array.")
+	@PostMapping(value = "/batch/lookup", consumes = MediaType.APPLICATION_JSON_VALUE,
+			produces = { MediaType.APPLICATION_JSON_VALUE, APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE })
+	public CarLookupResult lookupByIds(@RequestBody List<Long> ids) {
+		return service.getCarsByIds(ids);
+	}
+	
+	@Operation(summary="List the changes made since a sync token",
+			description="Without 'since', returns the current token, to be taken before a full export. With it, returns "
+					+ "the cars created or updated since, with their current state, and tombstones for deleted ones. "
+					+ "Send 'nextToken' back as 'since'; 'hasMore' tells whether to ask again right away.")
+	@GetMapping(value = "/changes", produces = { MediaType.APPLICATION_JSON_VALUE, APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE })
+	public CarDeltaPage findChanges(@RequestParam(value = "since", required = false) String since,
+			@RequestParam(value = "limit", defaultValue = "" + CarPageRequest.DEFAULT_LIMIT) int limit) {
+		
+		return service.findChanges(since, limit);
+	}
+	
+	@Operation(summary="Stream inventory changes as Server-Sent Events",
+			description="Sends a created, updated or deleted event with the car ID and new version for every change. "
+					+ "Reconnecting with Last-Event-ID replays the recent events that were missed; a '"
+					+ CarEventBroadcaster.RESET_EVENT + "' event means they are gone and the inventory must be read again.")
+	@GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	public SseEmitter events(@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+		return eventBroadcaster.subscribe(lastEventId);
+	}
+	
+	@Operation(summary="Aggregate the inventory by brand, model, fuel type, transmission or body type",
+			description="Returns, for each value of 'groupBy', the car count, price range and average, approximate "
+					+ "price 'percentiles' (within 1%), an odometer histogram with buckets of 'odometerBucketWidth' km "
+					+ "and the average horse power, the largest groups first. Computed in parallel from an in-memory "
+					+ "columnar snapshot of the inventory rather than by the database, and cached briefly.")
+	@GetMapping(value = "/analytics", produces = { MediaType.APPLICATION_JSON_VALUE, APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE })
+	public CarAnalyticsReport analytics(@RequestParam(value = "groupBy", defaultValue = "brand") String groupBy,
+			@RequestParam(value = "odometerBucketWidth", defaultValue = "10000") int odometerBucketWidth,
+			@RequestParam(value = "percentiles", defaultValue = "50,90,99") List<Double> percentiles) {
+		
+		return inventorySnapshot.analyze(CarDimension.fromProperty(groupBy), odometerBucketWidth, percentiles);
+	}
+	
+	@Operation(summary="Find specific car by your ID",
+			description="The car version is returned as a strong ETag. When it matches If-None-Match, "
+					+ "the response is 304 Not Modified and the car itself is not loaded. "
+					+ "Pass a comma-separated 'fields' list to select and return only those properties. "
+					+ "Full JSON representations are served from a cache of encoded responses.")
 	@GetMapping(value = "/{id}",
-			produces = MediaType.APPLICATION_JSON_VALUE)
-	public ResponseEntity<Car> findById(@PathVariable(value = "id") Long id) {	
+			produces = { MediaType.APPLICATION_JSON_VALUE, APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE })
+	public ResponseEntity<?> findById(@PathVariable(value = "id") Long id,
+			@RequestParam(value = "fields", required = false) String fields, WebRequest request)
+			throws JsonProcessingException {	
 		 try {			 
+			 	CarFieldSet fieldSet = fields == null ? null : CarFieldSet.of(fields);
+			 	if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+			 			&& request.checkNotModified(eTag(service.getCarVersion(id), fieldSet))) {
+			 		return null;
+			 	}
+			 	if (fieldSet != null) {
+			 		Map<String, Object> foundFields = service.getCarFields(id, fieldSet.with(VERSION_FIELD));
+			 		Object version = fieldSet.getProperties().contains(VERSION_FIELD)
+			 				? foundFields.get(VERSION_FIELD)
+			 				: foundFields.remove(VERSION_FIELD);
+			 		return ResponseEntity.ok().eTag(eTag((Long) version, fieldSet)).body(foundFields);
+			 	}
 			 	Car foundCar =service.getCarById(id); 		  
-		  		return ResponseEntity.ok(foundCar);
+			 	if (prefersJson(request)) {
+			 		// Written as is by the byte array converter, without going through Jackson again.
+			 		return ResponseEntity.ok()
+			 				.eTag(eTag(foundCar.getVersion()))
+			 				.contentType(MediaType.APPLICATION_JSON)
+			 				.body(responseCache.toJson(foundCar));
+			 	}
+		  		return ResponseEntity.ok().eTag(eTag(foundCar.getVersion())).body(foundCar);
 		 } catch (ResourceNotFoundException e) {
 	            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
          }
@@ -55,22 +264,134 @@ public class CarController {
 		return service.createCar(car);
 	}
 	
-	@Operation(summary="Update a car")
+	@Operation(summary="Create many cars at once",
+			description="Validates every car, inserts the valid ones with JDBC batches and reports the outcome of each item.")
+	@PostMapping(value = "/batch",
+			consumes = MediaType.APPLICATION_JSON_VALUE,
+			produces = MediaType.APPLICATION_JSON_VALUE)
+	public CarBatchResult createBatch(@RequestBody List<Car> cars) {
+		return service.createCars(cars);
+	}
+	
+	@Operation(summary="Update every car matching a filter",
+			description="Takes a 'filter' with the criteria of GET /search, at least one of them set, and adjusts the "
+					+ "price by 'priceChangePercent', sets the 'owner', or both. Rows are updated in short chunks; "
+					+ "the response reports how many cars were updated.")
+	@PostMapping(value = "/bulk/update",
+			consumes = MediaType.APPLICATION_JSON_VALUE,
+			produces = MediaType.APPLICATION_JSON_VALUE)
+	public CarBulkResult bulkUpdate(@RequestBody CarBulkUpdate update) {
+		return service.bulkUpdateCars(update);
+	}
+	
+	@Operation(summary="Delete every car matching a filter",
+			description="Takes the criteria of GET /search, at least one of them set. Rows are deleted in short chunks; "
+					+ "the response reports how many cars were deleted.")
+	@PostMapping(value = "/bulk/delete",
+			consumes = MediaType.APPLICATION_JSON_VALUE,
+			produces = MediaType.APPLICATION_JSON_VALUE)
+	public CarBulkResult bulkDelete(@RequestBody CarSearchCriteria criteria) {
+		return service.bulkDeleteCars(criteria);
+	}
+	
+	@Operation(summary="Update a car",
+			description="Send the ETag of the car as If-Match to reject the update with 412 Precondition Failed "
+					+ "when the car was changed in the meantime.")
 	@PutMapping(consumes = MediaType.APPLICATION_JSON_VALUE,
 			produces = MediaType.APPLICATION_JSON_VALUE)
-	public ResponseEntity<Car> update(@RequestBody Car car) {        
+	public ResponseEntity<Car> update(@RequestBody Car car,
+			@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {        
 	    try {
-            Car updatedCar = service.updateCar(car);
-            return ResponseEntity.ok(updatedCar);
+            Car updatedCar = ifMatch == null
+            		? service.updateCar(car)
+            		: service.updateCar(car, parseIfMatch(ifMatch));
+            return ResponseEntity.ok().eTag(eTag(updatedCar.getVersion())).body(updatedCar);
         } catch (ResourceNotFoundException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
         }
     }
 	
+	@Operation(summary="Partially update a car",
+			description="Applies a JSON Merge Patch (RFC 7396) and writes only the columns it changes. "
+					+ "Send the ETag of the car as If-Match to reject the patch with 412 Precondition Failed "
+					+ "when the car was changed in the meantime.")
+	@PatchMapping(value = "/{id}", consumes = CarPatch.MEDIA_TYPE)
+	public ResponseEntity<Void> patch(@PathVariable(value = "id") Long id, @RequestBody ObjectNode patch,
+			@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+		
+		CarPatch changes = CarPatch.from(patch, mapper);
+		Long version = service.patchCar(id, changes, ifMatch == null ? null : parseIfMatch(ifMatch));
+		return ResponseEntity.noContent().eTag(eTag(version)).build();
+	}
+	
 	@Operation(summary="Delete a car by your ID")
 	@DeleteMapping(value = "/{id}")
 	public ResponseEntity<?> delete(@PathVariable(value = "id") Long id) {
 		service.deleteCarById(id);
 		return ResponseEntity.noContent().build();
 	}	
+	
+	/**
+	 * Tells whether content negotiation would pick JSON among the representations of a car,
+	 * ranking the {@code Accept} header the way Spring MVC does.
+	 */
+	private static boolean prefersJson(WebRequest request) {
+		String accept = request.getHeader(HttpHeaders.ACCEPT);
+		if (accept == null || accept.isBlank()) {
+			return true;
+		}
+		List<MediaType> accepted;
+		try {
+			accepted = MediaType.parseMediaTypes(accept);
+		} catch (InvalidMediaTypeException e) {
+			return false;
+		}
+		MimeTypeUtils.sortBySpecificity(accepted);
+		for (MediaType type : accepted) {
+			if (type.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+				return true;
+			}
+			if (type.isCompatibleWith(CBOR) || type.isCompatibleWith(SMILE)) {
+				return false;
+			}
+		}
+		return false;
+	}
+	
+	private static String eTag(Long version) {
+		return eTag(version, null);
+	}
+	
+	/**
+	 * Builds a strong ETag from the car version. A sparse representation is a different
+	 * representation, so its tag also names the fields, e.g. {@code "3.id.price"}.
+	 */
+	private static String eTag(Long version, CarFieldSet fields) {
+		if (version == null) {
+			return null;
+		}
+		String suffix = fields == null ? "" : "." + String.join(".", fields.getProperties());
+		return "\"" + version + suffix + "\"";
+	}
+	
+	/**
+	 * Reads the expected version from an {@code If-Match} header holding a single strong ETag,
+	 * full or sparse, or {@code *}, which only requires the car to exist.
+	 */
+	private static Long parseIfMatch(String ifMatch) {
+		String tag = ifMatch.trim();
+		if ("*".equals(tag)) {
+			return null;
+		}
+		if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+			String opaque = tag.substring(1, tag.length() - 1);
+			int fields = opaque.indexOf('.');
+			try {
+				return Long.valueOf(fields < 0 ? opaque : opaque.substring(0, fields));
+			} catch (NumberFormatException e) {
+				// Falls through: an ETag this service never issued cannot match.
+			}
+		}
+		throw new PreconditionFailedException("If-Match does not match the current version: " + ifMatch);
+	}
 }
@@ -0,0 +1,65 @@
+package com.service.app.controller;
+
+import java.util.Objects;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.service.app.configuration.CacheConfiguration;
+import com.service.app.entity.Car;
+
+/**
+ * Keeps the JSON representation of single cars already encoded, so a lookup that hits
+ * the entity cache does not serialize the same {@link Car} again.
+ *
+ * <p>Entries live in the {@value CacheConfiguration#CAR_RESPONSE_CACHE} cache under the car
+ * ID and remember the version they were encoded from. An entry is only served for that
+ * version; {@link com.service.app.service.CarService} evicts it on every update and delete,
+ * so stale bytes do not linger until they expire.</p>
+ *
+ * <p>The bytes are encoded with the application {@link ObjectMapper}, so they are the same
+ * bytes the JSON message converter would write.</p>
+ *
+ * @author Wellington
+ * @version 1.0
+ */
+@Component
+public class CarResponseCache {
+
+	private final Cache cache;
+	private final ObjectMapper mapper;
+
+	public CarResponseCache(CacheManager cacheManager, ObjectMapper mapper) {
+		this.cache = Objects.requireNonNull(cacheManager.getCache(CacheConfiguration.CAR_RESPONSE_CACHE),
+				"Missing cache " + CacheConfiguration.CAR_RESPONSE_CACHE);
+		this.mapper = mapper;
+	}
+
+	/**
+	 * Returns the JSON encoding of a car, encoding and caching it on a miss.
+	 *
+	 * @param car the car, as loaded from the database or the entity cache
+	 * @return the encoded car; callers must not modify it
+	 * @throws JsonProcessingException if the car cannot be encoded
+	 */
+	public byte[] toJson(Car car) throws JsonProcessingException {
+		EncodedCar cached = cache.get(car.getId(), EncodedCar.class);
+		if (cached != null && Objects.equals(cached.version(), car.getVersion())) {
+			return cached.json();
+		}
+		byte[] json = mapper.writeValueAsBytes(car);
+		if (car.getVersion() != null) {
+			cache.put(car.getId(), new EncodedCar(car.getVersion(), json));
+		}
+		return json;
+	}
+
+	/**
+	 * An encoded car together with the version it was encoded from.
+	 */
+	private record EncodedCar(Long version, byte[] json) {
+	}
+}
@@ -0,0 +1,77 @@
+package com.service.app.datasource;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Lets a client read its own writes while read replicas catch up.
+ *
+ * <p>Every mutating request gets an {@value #LAST_WRITE_HEADER} response header with the
+ * time of the write. A client that sends that header back on a read has the read served
+ * by the primary for as long as the write is younger than the configured window. Clients
+ * that do not send it read from the replicas as usual. A time in the future, beyond
+ * {@value #MAX_CLOCK_SKEW_MILLIS} ms of clock skew between instances, is ignored, so a
+ * made-up header cannot keep a client on the primary for good.</p>
+ *
+ * @author Wellington
+ * @version 1.0
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+	public static final String LAST_WRITE_HEADER = "X-Last-Write";
+
+	private static final long MAX_CLOCK_SKEW_MILLIS = 1_000;
+
+	private final long windowMillis;
+
+	public ReadYourWritesFilter(Duration window) {
+		this.windowMillis = window.toMillis();
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+
+		long now = System.currentTimeMillis();
+		if (isWrite(request.getMethod())) {
+			// Set up front: the header cannot be added once the body has been committed.
+			response.setHeader(LAST_WRITE_HEADER, Long.toString(now));
+			filterChain.doFilter(request, response);
+			return;
+		}
+		if (!isRecentWrite(request.getHeader(LAST_WRITE_HEADER), now)) {
+			filterChain.doFilter(request, response);
+			return;
+		}
+		ReplicaRoutingDataSource.pinToPrimary();
+		try {
+			filterChain.doFilter(request, response);
+		} finally {
+			ReplicaRoutingDataSource.clearPin();
+		}
+	}
+
+	private static boolean isWrite(String method) {
+		return !(HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method) || HttpMethod.OPTIONS.matches(method));
+	}
+
+	private boolean isRecentWrite(String lastWrite, long now) {
+		if (lastWrite == null) {
+			return false;
+		}
+		try {
+			long age = now - Long.parseLong(lastWrite.trim());
+			return age >= -MAX_CLOCK_SKEW_MILLIS && age < windowMillis;
+		} catch (NumberFormatException e) {
+			return false;
+		}
+	}
+}
@@ -0,0 +1,39 @@
+package com.service.app.datasource;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JPA transaction manager that keeps rows read from a replica out of Hibernate's
+ * second-level cache.
+ *
+ * <p>A replica may still serve a row the primary has already changed. Were such a row put
+ * in the second-level cache, it would be served to every reader, including those pinned to
+ * the primary, until it expires. Read-only transactions that may go to a replica therefore
+ * run with {@link CacheMode#GET}: they read cached entries but never add any. Only
+ * transactions served by the primary fill the cache.</p>
+ *
+ * <p>The cache mode is set again at the start of every transaction, since the entity
+ * manager of an open-in-view request is shared by all of its transactions.</p>
+ *
+ * @author Wellington
+ * @version 1.0
+ */
+public class ReplicaAwareTransactionManager extends JpaTransactionManager {
+
+	private static final long serialVersionUID = 1L;
+
+	@Override
+	protected void doBegin(Object transaction, TransactionDefinition definition) {
+		super.doBegin(transaction, definition);
+		EntityManagerHolder holder = (EntityManagerHolder) TransactionSynchronizationManager.getResource(obtainEntityManagerFactory());
+		if (holder != null) {
+			boolean replica = definition.isReadOnly() && !ReplicaRoutingDataSource.isPinnedToPrimary();
+			holder.getEntityManager().unwrap(Session.class).setCacheMode(replica ? CacheMode.GET : CacheMode.NORMAL);
+		}
+	}
+}
@@ -0,0 +1,269 @@
+package com.service.app.datasource;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+/**
+ * Sends read-only transactions to read replicas and everything else to the primary.
+ *
+ * <p>The physical connection is only picked when the first statement runs, through
+ * {@link LazyConnectionDataSourceProxy}, because Spring marks the transaction read-only
+ * after the JPA transaction has already asked for a connection. Reads outside a
+ * transaction and reads joining a read-write transaction stay on the primary.</p>
+ *
+ * <p>A replica that fails to hand out a connection is taken out of rotation and the
+ * primary serves the transaction instead. Every replica is probed in the background and
+ * put back once it answers again. When no replica is healthy, all traffic goes to the
+ * primary.</p>
+ *
+ * <p>{@link #pinToPrimary()} sends the reads of the current thread to the primary, so a
+ * client can read its own writes while replicas catch up; see {@link ReadYourWritesFilter}.</p>
+ *
+ * @author Wellington
+ * @version 1.0
+ */
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+	private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+	private static final ThreadLocal<Boolean> PINNED_TO_PRIMARY = new ThreadLocal<>();
+
+	private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+	private final DataSource primary;
+	private final List<Replica> replicas;
+	private final ReplicaSelection selection;
+	private final AtomicInteger nextReplica = new AtomicInteger();
+	private final ScheduledExecutorService healthChecks;
+
+	/**
+	 * @param primary the read-write database
+	 * @param replicas the read replicas, in round-robin order
+	 * @param selection how a replica is picked for each read-only transaction
+	 * @param healthCheckInterval how often replicas are probed; zero disables background probes
+	 */
+	public ReplicaRoutingDataSource(DataSource primary, List<? extends DataSource> replicas,
+			ReplicaSelection selection, Duration healthCheckInterval) {
+		this.primary = primary;
+		this.replicas = new ArrayList<>(replicas.size());
+		for (int i = 0; i < replicas.size(); i++) {
+			this.replicas.add(new Replica("replica-" + (i + 1), replicas.get(i)));
+		}
+		this.selection = selection;
+		setTargetDataSource(new Router());
+
+		if (healthCheckInterval.isZero() || this.replicas.isEmpty()) {
+			this.healthChecks = null;
+		} else {
+			this.healthChecks = Executors.newSingleThreadScheduledExecutor(runnable -> {
+				Thread thread = new Thread(runnable, "replica-health-check");
+				thread.setDaemon(true);
+				return thread;
+			});
+			long period = healthCheckInterval.toMillis();
+			this.healthChecks.scheduleWithFixedDelay(this::checkReplicas, period, period, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	/**
+	 * Sends the reads of the current thread to the primary until {@link #clearPin()}.
+	 */
+	public static void pinToPrimary() {
+		PINNED_TO_PRIMARY.set(Boolean.TRUE);
+	}
+
+	/**
+	 * Lets the reads of the current thread go to replicas again.
+	 */
+	public static void clearPin() {
+		PINNED_TO_PRIMARY.remove();
+	}
+
+	/**
+	 * Tells whether the reads of the current thread are pinned to the primary.
+	 *
+	 * @return {@code true} between {@link #pinToPrimary()} and {@link #clearPin()}
+	 */
+	public static boolean isPinnedToPrimary() {
+		return Boolean.TRUE.equals(PINNED_TO_PRIMARY.get());
+	}
+
+	/**
+	 * Runs a read with the reads of the current thread pinned to the primary, then restores
+	 * the previous pin.
+	 *
+	 * @param read the read
+	 * @return the result of the read
+	 */
+	public static <T> T onPrimary(Supplier<T> read) {
+		boolean pinned = isPinnedToPrimary();
+		pinToPrimary();
+		try {
+			return read.get();
+		} finally {
+			if (!pinned) {
+				clearPin();
+			}
+		}
+	}
+
+	/**
+	 * Probes every replica and updates its health.
+	 */
+	void checkReplicas() {
+		for (Replica replica : replicas) {
+			try (Connection connection = replica.dataSource.getConnection()) {
+				if (connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+					replica.markUp();
+				} else {
+					replica.markDown("connection is not valid");
+				}
+			} catch (SQLException e) {
+				replica.markDown(e.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * Tells whether a replica is currently in rotation.
+	 *
+	 * @param index the position of the replica, from zero
+	 * @return {@code true} if the replica is considered healthy
+	 */
+	public boolean isReplicaHealthy(int index) {
+		return replicas.get(index).healthy;
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (healthChecks != null) {
+			healthChecks.shutdownNow();
+		}
+		for (Replica replica : replicas) {
+			close(replica.dataSource);
+		}
+		close(primary);
+	}
+
+	private static void close(DataSource dataSource) throws IOException {
+		if (dataSource instanceof Closeable closeable) {
+			closeable.close();
+		}
+	}
+
+	private Replica selectReplica() {
+		int count = replicas.size();
+		if (selection == ReplicaSelection.LEAST_LOADED) {
+			Replica leastLoaded = null;
+			int lowestLoad = Integer.MAX_VALUE;
+			for (Replica replica : replicas) {
+				int load = replica.load();
+				if (replica.healthy && load < lowestLoad) {
+					leastLoaded = replica;
+					lowestLoad = load;
+				}
+			}
+			return leastLoaded;
+		}
+		int start = Math.floorMod(nextReplica.getAndIncrement(), count);
+		for (int i = 0; i < count; i++) {
+			Replica replica = replicas.get((start + i) % count);
+			if (replica.healthy) {
+				return replica;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Hands out the physical connections, once the transaction is known to be read-only or not.
+	 */
+	private final class Router extends AbstractDataSource {
+
+		@Override
+		public Connection getConnection() throws SQLException {
+			if (replicas.isEmpty()
+					|| !TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+					|| isPinnedToPrimary()) {
+				return primary.getConnection();
+			}
+			Replica replica = selectReplica();
+			if (replica == null) {
+				return primary.getConnection();
+			}
+			try {
+				return replica.dataSource.getConnection();
+			} catch (SQLException e) {
+				replica.markDown(e.getMessage());
+				return primary.getConnection();
+			}
+		}
+
+		@Override
+		public Connection getConnection(String username, String password) throws SQLException {
+			return primary.getConnection(username, password);
+		}
+	}
+
+	/**
+	 * A read replica and whether it is in rotation.
+	 */
+	private static final class Replica {
+
+		private final String name;
+		private final DataSource dataSource;
+		private volatile boolean healthy = true;
+
+		Replica(String name, DataSource dataSource) {
+			this.name = name;
+			this.dataSource = dataSource;
+		}
+
+		void markUp() {
+			if (!healthy) {
+				healthy = true;
+				logger.info("Read replica {} is back in rotation", name);
+			}
+		}
+
+		void markDown(String reason) {
+			if (healthy) {
+				healthy = false;
+				logger.warn("Read replica {} taken out of rotation, reads fall back to the primary: {}", name, reason);
+			}
+		}
+
+		/**
+		 * Returns the connections in use, as reported by the Hikari pool, or zero for other
+		 * data sources and pools that have not started yet.
+		 */
+		int load() {
+			if (dataSource instanceof HikariDataSource hikari) {
+				HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+				return pool == null ? 0 : pool.getActiveConnections();
+			}
+			return 0;
+		}
+	}
+}
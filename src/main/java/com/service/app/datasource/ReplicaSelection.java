@@ -0,0 +1,16 @@
+package com.service.app.datasource;
+
+/**
+ * Strategies for picking the read replica that serves a read-only transaction.
+ *
+ * @author Wellington
+ * @version 1.0
+ */
+public enum ReplicaSelection {
+
+	/** Cycles through the healthy replicas in order. */
+	ROUND_ROBIN,
+
+	/** Picks the healthy replica with the fewest connections in use. */
+	LEAST_LOADED
+}
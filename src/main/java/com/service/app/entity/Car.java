@@ -5,12 +5,18 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.Objects;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 
 /**
  * Represents a car entity in the application.
@@ -19,6 +25,11 @@ import jakarta.persistence.Table;
  * represents a database entity mapped to the "cars" table. It implements {@link Serializable}
  * for object serialization.</p>
  *  
+ * <p>Cars are kept in the {@value #CACHE_REGION} region of Hibernate's second-level cache,
+ * so loading a car by ID does not need a select while its entry is fresh. The region is
+ * read-write: an entry is locked while a transaction changes the car and refreshed on
+ * commit, which keeps readers from seeing stale data.</p>
+ * 
  * <p>This class provides necessary details about a car and can be extended to include
  * additional attributes as required by the application.</p>
  * 
@@ -27,10 +38,25 @@ import jakarta.persistence.Table;
  * 
  */
 @Entity
-@Table(name = "cars")
+@Table(name = "cars", indexes = {
+		@Index(name = "idx_cars_model_year_id", columnList = "model_year, id"),
+		@Index(name = "idx_cars_odometer_id", columnList = "odometer, id"),
+		@Index(name = "idx_cars_horse_power_id", columnList = "horse_power, id"),
+		@Index(name = "idx_cars_brand_model_year", columnList = "brand, model, model_year"),
+		@Index(name = "idx_cars_body_type_fuel_type_price", columnList = "body_type, fuel_type, price"),
+		@Index(name = "idx_cars_fuel_type_transmission", columnList = "fuel_type, transmission"),
+		@Index(name = "idx_cars_price", columnList = "price")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Car.CACHE_REGION)
 public class Car implements Serializable{
 	
 	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Name of the second-level cache region holding cars.
+	 */
+	public static final String CACHE_REGION = "car";
 	
 	@Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -82,6 +108,10 @@ public class Car implements Serializable{
     @Column(length = 100)
     private String owner;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
 	public Car(Long id, String brand, String model, int modelYear, String color, String licensePlate, int odometer,
 			String fuelType, String transmission, int horsePower, BigDecimal engineCapacity, int numberOfDoors,
 			String bodyType, BigDecimal price, LocalDate manufactureDate, String owner) {
@@ -234,6 +264,19 @@ public class Car implements Serializable{
 		this.owner = owner;
 	}
 
+	/**
+     * Returns the optimistic locking version, incremented by every update.
+     * 
+     * @return the version, or {@code null} when unknown
+     */
+	public Long getVersion() {
+		return version;
+	}
+
+	public void setVersion(Long version) {
+		this.version = version;
+	}
+
 	@Override
 	public int hashCode() {
 		return Objects.hash(bodyType, brand, color, engineCapacity, fuelType, horsePower, id, licensePlate,
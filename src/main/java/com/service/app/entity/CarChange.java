@@ -0,0 +1,93 @@
+package com.service.app.entity;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+import com.service.app.model.CarEvent;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Entry of the change log of the "cars" table, mapped to the "car_changes" table.
+ *
+ * <p>One row is written in the same transaction as every insert, update and delete of a
+ * car. The generated ID orders the changes and serves as the delta sync token; rows are
+ * read by primary key range, so reading the changes after a token only touches the
+ * changes themselves.</p>
+ *
+ * @author Wellington
+ * @version 1.0
+ *
+ */
+@Entity
+@Table(name = "car_changes")
+public class CarChange implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@Column
+	private Long id;
+
+	@Column(name = "car_id", nullable = false)
+	private Long carId;
+
+	@Enumerated(EnumType.STRING)
+	@Column(name = "change_type", nullable = false, length = 10)
+	private CarEvent.Type type;
+
+	@Column
+	private Long version;
+
+	@Column(name = "changed_at", nullable = false)
+	private LocalDateTime changedAt;
+
+	public CarChange() {
+	}
+
+	public CarChange(Long id, Long carId, CarEvent.Type type, Long version, LocalDateTime changedAt) {
+		this.id = id;
+		this.carId = carId;
+		this.type = type;
+		this.version = version;
+		this.changedAt = changedAt;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public Long getCarId() {
+		return carId;
+	}
+
+	public CarEvent.Type getType() {
+		return type;
+	}
+
+	/**
+     * Returns the version of the car after the change.
+     *
+     * @return the version, or {@code null} for deletes
+     */
+	public Long getVersion() {
+		return version;
+	}
+
+	/**
+     * Returns when the change was written, by the database clock in UTC.
+     *
+     * @return the UTC date and time of the change
+     */
+	public LocalDateTime getChangedAt() {
+		return changedAt;
+	}
+}
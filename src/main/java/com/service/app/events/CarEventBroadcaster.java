@@ -0,0 +1,293 @@
+package com.service.app.events;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.service.app.model.CarEvent;
+
+/**
+ * Pushes {@link CarEvent}s to Server-Sent Events subscribers.
+ *
+ * <p>Each event is encoded once and numbered; the number is its SSE {@code id}. The last
+ * {@code car-service.events.buffer-size} events are kept in a ring buffer, so a client
+ * reconnecting with {@code Last-Event-ID} receives what it missed. When the events it
+ * missed are no longer buffered, or the ID is unknown, it receives a {@value #RESET_EVENT}
+ * event instead and should read the inventory again. Numbering starts from the startup
+ * time in milliseconds, so IDs handed out before a restart fall in the reset case.</p>
+ *
+ * <p>Open connections do not hold a thread. Events are queued per subscriber and written
+ * by a small shared pool; a subscriber that lets more than
+ * {@code car-service.events.subscriber-queue-size} events pile up is disconnected, and
+ * can resume from its last event ID. A write that blocks on a stalled connection only
+ * holds its pool thread until the container's write timeout.</p>
+ *
+ * <p>Only changes made through this instance are seen.</p>
+ *
+ * @author Wellington
+ * @version 1.0
+ */
+@Component
+public class CarEventBroadcaster implements DisposableBean {
+
+	/**
+	 * Name of the event telling a resuming client that events were lost.
+	 */
+	public static final String RESET_EVENT = "reset";
+
+	private static final Logger logger = LoggerFactory.getLogger(CarEventBroadcaster.class);
+
+	private static final Set<DataWithMediaType> HEARTBEAT = SseEmitter.event().comment("heartbeat").build();
+
+	private final ObjectMapper mapper;
+	private final Executor delivery;
+	private final long timeoutMillis;
+	private final int subscriberQueueSize;
+	private final ScheduledExecutorService heartbeats;
+
+	private final Set<DataWithMediaType>[] buffer;
+	private final long firstId;
+	private long nextId;
+
+	private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+	@Autowired
+	public CarEventBroadcaster(ObjectMapper mapper,
+			@Value("${car-service.events.buffer-size:1024}") int bufferSize,
+			@Value("${car-service.events.subscriber-queue-size:256}") int subscriberQueueSize,
+			@Value("${car-service.events.delivery-threads:4}") int deliveryThreads,
+			@Value("${car-service.events.heartbeat-interval:15s}") Duration heartbeatInterval,
+			@Value("${car-service.events.timeout:30m}") Duration timeout) {
+
+		this(mapper, bufferSize, subscriberQueueSize, timeout,
+				Executors.newFixedThreadPool(deliveryThreads, daemonThreads("car-events-delivery")), heartbeatInterval);
+	}
+
+	/**
+	 * @param delivery runs the tasks writing queued events to subscribers
+	 * @param heartbeatInterval how often idle connections get a comment line; zero disables heartbeats
+	 */
+	@SuppressWarnings("unchecked")
+	CarEventBroadcaster(ObjectMapper mapper, int bufferSize, int subscriberQueueSize, Duration timeout,
+			Executor delivery, Duration heartbeatInterval) {
+		this.mapper = mapper;
+		this.delivery = delivery;
+		this.timeoutMillis = timeout.toMillis();
+		this.subscriberQueueSize = subscriberQueueSize;
+		this.buffer = new Set[bufferSize];
+		this.firstId = System.currentTimeMillis();
+		this.nextId = firstId;
+
+		if (heartbeatInterval.isZero()) {
+			this.heartbeats = null;
+		} else {
+			this.heartbeats = Executors.newSingleThreadScheduledExecutor(daemonThreads("car-events-heartbeat"));
+			long period = heartbeatInterval.toMillis();
+			this.heartbeats.scheduleWithFixedDelay(this::sendHeartbeats, period, period, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	/**
+	 * Opens a subscription.
+	 *
+	 * @param lastEventId the ID of the last event the client received, or {@code null} to only receive new events
+	 * @return the emitter to return from the controller
+	 */
+	public SseEmitter subscribe(Long lastEventId) {
+		SseEmitter emitter = new SseEmitter(timeoutMillis);
+		Subscriber subscriber = new Subscriber(emitter);
+		emitter.onCompletion(() -> subscribers.remove(subscriber));
+		emitter.onTimeout(() -> subscribers.remove(subscriber));
+		emitter.onError(e -> subscribers.remove(subscriber));
+
+		synchronized (this) {
+			if (lastEventId != null) {
+				replay(subscriber, lastEventId);
+			}
+			subscribers.add(subscriber);
+		}
+		if (!subscriber.queue.isEmpty()) {
+			subscriber.schedule();
+		}
+		return emitter;
+	}
+
+	/**
+	 * Buffers an event and queues it for every subscriber. Runs after the publishing
+	 * transaction commits, or right away when there is none.
+	 *
+	 * @param event the change to broadcast
+	 */
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onCarEvent(CarEvent event) {
+		String data;
+		try {
+			data = mapper.writeValueAsString(event);
+		} catch (JsonProcessingException e) {
+			throw new UncheckedIOException(e);
+		}
+
+		synchronized (this) {
+			long id = nextId++;
+			Set<DataWithMediaType> message = SseEmitter.event()
+					.id(Long.toString(id))
+					.name(event.getType().name().toLowerCase(Locale.ROOT))
+					.data(data, MediaType.APPLICATION_JSON)
+					.build();
+			buffer[(int) (id % buffer.length)] = message;
+			for (Subscriber subscriber : subscribers) {
+				subscriber.offer(message);
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of open subscriptions.
+	 *
+	 * @return the subscriber count
+	 */
+	public int getSubscriberCount() {
+		return subscribers.size();
+	}
+
+	@Override
+	public void destroy() {
+		if (heartbeats != null) {
+			heartbeats.shutdownNow();
+		}
+		if (delivery instanceof ExecutorService executor) {
+			executor.shutdownNow();
+		}
+		subscribers.forEach(subscriber -> subscriber.emitter.complete());
+	}
+
+	/**
+	 * Queues the buffered events following {@code lastEventId}, or a reset event when some
+	 * of them were already overwritten. The reset event carries the ID of the latest event,
+	 * so the client resumes from there after reading the inventory again. Called with the
+	 * lock held, so no event is missed or delivered twice between the replay and the
+	 * subscription.
+	 */
+	private void replay(Subscriber subscriber, long lastEventId) {
+		long oldestId = Math.max(firstId, nextId - buffer.length);
+		if (lastEventId < oldestId - 1 || lastEventId >= nextId) {
+			subscriber.enqueue(SseEmitter.event()
+					.id(Long.toString(nextId - 1))
+					.name(RESET_EVENT)
+					.data("")
+					.build());
+			return;
+		}
+		for (long id = lastEventId + 1; id < nextId; id++) {
+			subscriber.enqueue(buffer[(int) (id % buffer.length)]);
+		}
+	}
+
+	private void sendHeartbeats() {
+		for (Subscriber subscriber : subscribers) {
+			subscriber.offer(HEARTBEAT);
+		}
+	}
+
+	private static ThreadFactory daemonThreads(String name) {
+		AtomicInteger count = new AtomicInteger();
+		return runnable -> {
+			Thread thread = new Thread(runnable, name + "-" + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
+	}
+
+	/**
+	 * An open connection and the events waiting to be written to it. At most one delivery
+	 * task runs per subscriber, so its events are written in order.
+	 */
+	private final class Subscriber implements Runnable {
+
+		private final SseEmitter emitter;
+		private final Queue<Set<DataWithMediaType>> queue = new ConcurrentLinkedQueue<>();
+		private final AtomicInteger pending = new AtomicInteger();
+		private final AtomicBoolean scheduled = new AtomicBoolean();
+		private volatile boolean dropped;
+
+		Subscriber(SseEmitter emitter) {
+			this.emitter = emitter;
+		}
+
+		void offer(Set<DataWithMediaType> message) {
+			if (dropped) {
+				return;
+			}
+			if (pending.incrementAndGet() > subscriberQueueSize) {
+				// The emitter is completed by the delivery task, which may be blocked writing to it.
+				dropped = true;
+				subscribers.remove(this);
+				logger.info("Dropping a slow event subscriber after {} undelivered events", subscriberQueueSize);
+			} else {
+				queue.add(message);
+			}
+			schedule();
+		}
+
+		void enqueue(Set<DataWithMediaType> message) {
+			pending.incrementAndGet();
+			queue.add(message);
+		}
+
+		void schedule() {
+			if (scheduled.compareAndSet(false, true)) {
+				delivery.execute(this);
+			}
+		}
+
+		@Override
+		public void run() {
+			do {
+				Set<DataWithMediaType> message;
+				while (!dropped && (message = queue.poll()) != null) {
+					pending.decrementAndGet();
+					try {
+						emitter.send(message);
+					} catch (IOException | IllegalStateException e) {
+						// The connection is gone; the container reports it and completes the emitter.
+						subscribers.remove(this);
+						queue.clear();
+						return;
+					}
+				}
+				if (dropped) {
+					queue.clear();
+					emitter.complete();
+					return;
+				}
+				scheduled.set(false);
+			} while (!queue.isEmpty() && scheduled.compareAndSet(false, true));
+		}
+	}
+}
@@ -0,0 +1,83 @@
+package com.service.app.events;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+import com.service.app.datasource.ReplicaRoutingDataSource;
+import com.service.app.entity.Car;
+import com.service.app.model.CarEvent;
+import com.service.app.repository.CarRepository;
+
+/**
+ * The cars changed since an in-memory copy of the inventory, such as the
+ * {@link com.service.app.analytics.InventorySnapshot} or the
+ * {@link com.service.app.search.CarTextIndex}, was last brought up to date.
+ *
+ * <p>Such copies are loaded once and then kept current incrementally: every
+ * {@link CarEvent} marks its car as changed, and the next query reloads the changed cars
+ * by ID, in chunks, before it runs. Reloads are pinned to the primary, so a lagging
+ * replica cannot hide a change that has already been announced. Only changes made
+ * through this instance are seen: those of other instances, or made directly in the
+ * database, only show once the copy is loaded again.</p>
+ *
+ * <p>Cars may be marked while a reload is running; those it misses are left for the
+ * next one.</p>
+ *
+ * @author Wellington
+ * @version 1.0
+ */
+public final class ChangedCars {
+
+	private final Set<Long> ids = ConcurrentHashMap.newKeySet();
+	private final CarRepository repository;
+	private final int chunkSize;
+
+	/**
+	 * @param repository reads the changed cars
+	 * @param chunkSize the maximum number of cars read at once
+	 */
+	public ChangedCars(CarRepository repository, int chunkSize) {
+		this.repository = repository;
+		this.chunkSize = chunkSize;
+	}
+
+	/**
+     * Marks the car of an event as changed.
+     *
+     * @param event the change
+     */
+	public void mark(CarEvent event) {
+		ids.add(event.getId());
+	}
+
+	/**
+     * Tells whether no car was marked since the last reload.
+     *
+     * @return {@code true} when there is nothing to reload
+     */
+	public boolean isEmpty() {
+		return ids.isEmpty();
+	}
+
+	/**
+     * Reads the marked cars from the primary and unmarks them.
+     *
+     * @param apply receives the IDs of each chunk and the cars found among them, in no
+     *        particular order; the others were deleted
+     */
+	public void reload(BiConsumer<List<Long>, List<Car>> apply) {
+		List<Long> changed = new ArrayList<>(ids.size());
+		for (Iterator<Long> marked = ids.iterator(); marked.hasNext();) {
+			changed.add(marked.next());
+			marked.remove();
+		}
+		for (int from = 0; from < changed.size(); from += chunkSize) {
+			List<Long> chunk = changed.subList(from, Math.min(from + chunkSize, changed.size()));
+			apply.accept(chunk, ReplicaRoutingDataSource.onPrimary(() -> repository.findAllById(chunk)));
+		}
+	}
+}
@@ -0,0 +1,26 @@
+package com.service.app.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception for conditional requests whose precondition, such as {@code If-Match},
+ * no longer holds.
+ * 
+ * @author Wellington
+ * @version 1.0
+ */
+@ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+public class PreconditionFailedException extends RuntimeException {
+	
+	private static final long serialVersionUID = 1L;
+	
+	/**
+     * Constructs a new PreconditionFailedException with the given message.
+     * 
+     * @param message the detail message.
+     */
+	public PreconditionFailedException(String message) {
+		super(message);
+	}
+}
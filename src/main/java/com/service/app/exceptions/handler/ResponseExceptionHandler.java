@@ -9,6 +9,7 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
+import com.service.app.exceptions.PreconditionFailedException;
 import com.service.app.exceptions.ResourceNotFoundException;
 import com.service.app.exceptions.ValidationException;
 import com.service.app.model.ExceptionResponse;
@@ -79,4 +80,23 @@ public class ResponseExceptionHandler extends ResponseEntityExceptionHandler {
         return new ResponseEntity<>(exceptionResponse, HttpStatus.BAD_REQUEST);
     }
 	
+	/**
+     * Handles {@link PreconditionFailedException}.
+     * 
+     * @param ex the thrown exception.
+     * @param request the web request where the exception occurred.
+     * @return a {@link ResponseEntity} with the exception details and HTTP status.
+     */
+	@ExceptionHandler(PreconditionFailedException.class)
+	public final ResponseEntity<ExceptionResponse> handlePreconditionFailedExceptions(
+			Exception ex, WebRequest request) {
+		
+		ExceptionResponse exceptionResponse = new ExceptionResponse(
+				new Date(),
+				ex.getMessage(),
+				request.getDescription(false));
+		
+		return new ResponseEntity<>(exceptionResponse, HttpStatus.PRECONDITION_FAILED);
+	}
+	
 }
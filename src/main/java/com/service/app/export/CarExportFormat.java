@@ -0,0 +1,61 @@
+package com.service.app.export;
+
+import java.util.Arrays;
+
+import com.service.app.configuration.ContentNegotiationConfiguration;
+import com.service.app.exceptions.ValidationException;
+
+/**
+ * Output formats supported by the inventory export.
+ * 
+ * @author Wellington
+ * @version 1.0
+ */
+public enum CarExportFormat {
+
+	NDJSON("application/x-ndjson", "ndjson"),
+	CSV("text/csv", "csv"),
+	/** A CBOR sequence (RFC 8742): one CBOR item per car, back to back. */
+	CBOR("application/cbor-seq", "cbor"),
+	/** A stream of Smile values after a single Smile header. */
+	SMILE(ContentNegotiationConfiguration.APPLICATION_SMILE_VALUE, "sml");
+
+	private final String mediaType;
+	private final String fileExtension;
+
+	CarExportFormat(String mediaType, String fileExtension) {
+		this.mediaType = mediaType;
+		this.fileExtension = fileExtension;
+	}
+
+	public String getMediaType() {
+		return mediaType;
+	}
+
+	public String getFileExtension() {
+		return fileExtension;
+	}
+
+	/**
+     * Tells whether this format is a binary encoding, i.e. has no character set.
+     * 
+     * @return {@code true} for CBOR and Smile
+     */
+	public boolean isBinary() {
+		return this == CBOR || this == SMILE;
+	}
+
+	/**
+     * Resolves a format from the value of the {@code format} request parameter.
+     * 
+     * @param value the parameter value, case-insensitive
+     * @return the matching {@link CarExportFormat}
+     * @throws ValidationException if the format is not supported
+     */
+	public static CarExportFormat fromParameter(String value) {
+		return Arrays.stream(values())
+				.filter(format -> format.name().equalsIgnoreCase(value))
+				.findFirst()
+				.orElseThrow(() -> new ValidationException("Unsupported export format: " + value));
+	}
+}
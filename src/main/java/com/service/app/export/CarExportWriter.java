@@ -0,0 +1,135 @@
+package com.service.app.export;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.service.app.entity.Car;
+
+/**
+ * Writes {@link Car} entities to an output stream one at a time, as they are read.
+ * 
+ * <p>Nothing is accumulated besides the encoder buffer, and the stream is flushed every
+ * {@value #FLUSH_INTERVAL} rows so clients start receiving data immediately. The
+ * underlying stream is flushed but not closed by {@link #close()}.</p>
+ * 
+ * @author Wellington
+ * @version 1.0
+ */
+public class CarExportWriter implements Consumer<Car>, Closeable {
+
+	static final int FLUSH_INTERVAL = 500;
+
+	private static final String[] CSV_HEADER = {
+			"id", "brand", "model", "modelYear", "color", "licensePlate", "odometer", "fuelType", "transmission",
+			"horsePower", "engineCapacity", "numberOfDoors", "bodyType", "price", "manufactureDate", "owner" };
+
+	private final CarExportFormat format;
+	private final JsonGenerator generator;
+	private final ObjectWriter jsonWriter;
+	private final Writer csvWriter;
+	private long written;
+
+	public CarExportWriter(CarExportFormat format, OutputStream out, ObjectMapper mapper) throws IOException {
+		this.format = format;
+		if (format == CarExportFormat.CSV) {
+			this.generator = null;
+			this.jsonWriter = null;
+			this.csvWriter = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+			writeCsvRow((Object[]) CSV_HEADER);
+		} else {
+			ObjectMapper formatMapper = switch (format) {
+				case CBOR -> mapper.copyWith(new CBORFactory());
+				case SMILE -> mapper.copyWith(new SmileFactory());
+				default -> mapper;
+			};
+			this.generator = formatMapper.getFactory().createGenerator(out);
+			this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+			if (format == CarExportFormat.NDJSON) {
+				this.generator.setRootValueSeparator(new SerializedString("\n"));
+			}
+			this.jsonWriter = formatMapper.writerFor(Car.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+			this.csvWriter = null;
+		}
+	}
+
+	@Override
+	public void accept(Car car) {
+		try {
+			if (format != CarExportFormat.CSV) {
+				jsonWriter.writeValue(generator, car);
+			} else {
+				writeCsvRow(car.getId(), car.getBrand(), car.getModel(), car.getModelYear(), car.getColor(),
+						car.getLicensePlate(), car.getOdometer(), car.getFuelType(), car.getTransmission(),
+						car.getHorsePower(), car.getEngineCapacity(), car.getNumberOfDoors(), car.getBodyType(),
+						car.getPrice(), car.getManufactureDate(), car.getOwner());
+			}
+			if (++written % FLUSH_INTERVAL == 0) {
+				flush();
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+     * Returns the number of cars written so far.
+     * 
+     * @return the row count, excluding the CSV header
+     */
+	public long getWritten() {
+		return written;
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (format == CarExportFormat.CSV) {
+			csvWriter.flush();
+		} else {
+			if (format == CarExportFormat.NDJSON && written > 0) {
+				generator.writeRaw('\n');
+			}
+			generator.close();
+		}
+	}
+
+	private void flush() throws IOException {
+		if (format != CarExportFormat.CSV) {
+			generator.flush();
+		} else {
+			csvWriter.flush();
+		}
+	}
+
+	private void writeCsvRow(Object... values) throws IOException {
+		for (int i = 0; i < values.length; i++) {
+			if (i > 0) {
+				csvWriter.write(',');
+			}
+			if (values[i] != null) {
+				csvWriter.write(escapeCsv(values[i].toString()));
+			}
+		}
+		csvWriter.write("\r\n");
+	}
+
+	private static String escapeCsv(String value) {
+		if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+			return value;
+		}
+		return '"' + value.replace("\"", "\"\"") + '"';
+	}
+}
@@ -0,0 +1,67 @@
+package com.service.app.metrics;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+import com.service.app.exceptions.ResourceNotFoundException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Times every public {@link com.service.app.service.CarService} method.
+ *
+ * <p>Each call is recorded in the {@value #INVOCATIONS_METRIC} timer, tagged with the
+ * method name, the outcome and the simple name of the exception thrown, if any. Lookups
+ * of missing cars are also counted in {@value #NOT_FOUND_METRIC}, since the controller
+ * turns some of them into a 404 without the exception ever reaching the HTTP metrics.</p>
+ *
+ * <p>Calls between service methods are not intercepted, so every request is timed once,
+ * at the method the controller called. Cache hits are timed as well.</p>
+ *
+ * @author Wellington
+ * @version 1.0
+ */
+@Aspect
+public class CarServiceMetricsAspect {
+
+	public static final String INVOCATIONS_METRIC = "car.service.invocations";
+	public static final String NOT_FOUND_METRIC = "car.service.not.found";
+
+	private static final String METHOD_TAG = "method";
+
+	private final MeterRegistry registry;
+
+	public CarServiceMetricsAspect(MeterRegistry registry) {
+		this.registry = registry;
+	}
+
+	@Around("execution(public * com.service.app.service.CarService.*(..))")
+	public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+		String method = joinPoint.getSignature().getName();
+		Timer.Sample sample = Timer.start(registry);
+		Throwable error = null;
+		try {
+			return joinPoint.proceed();
+		} catch (Throwable e) {
+			error = e;
+			if (e instanceof ResourceNotFoundException) {
+				Counter.builder(NOT_FOUND_METRIC)
+						.description("ResourceNotFoundException thrown by CarService")
+						.tag(METHOD_TAG, method)
+						.register(registry)
+						.increment();
+			}
+			throw e;
+		} finally {
+			sample.stop(Timer.builder(INVOCATIONS_METRIC)
+					.description("Duration of CarService method calls")
+					.tag(METHOD_TAG, method)
+					.tag(MetricOutcomes.OUTCOME_TAG, MetricOutcomes.outcome(error))
+					.tag(MetricOutcomes.EXCEPTION_TAG, MetricOutcomes.exception(error))
+					.register(registry));
+		}
+	}
+}
@@ -0,0 +1,41 @@
+package com.service.app.metrics;
+
+import org.springframework.boot.actuate.metrics.http.Outcome;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Maps the result of an invocation to the {@code outcome} tag values used by
+ * {@code http.server.requests}, so service, repository and HTTP metrics can be
+ * filtered the same way.
+ *
+ * @author Wellington
+ * @version 1.0
+ */
+final class MetricOutcomes {
+
+	static final String OUTCOME_TAG = "outcome";
+	static final String EXCEPTION_TAG = "exception";
+	static final String NONE = "none";
+
+	private MetricOutcomes() {}
+
+	/**
+	 * Resolves the outcome of an invocation.
+	 *
+	 * @param error the exception thrown, or {@code null} when the invocation returned normally
+	 * @return {@code SUCCESS}, or the outcome of the status the exception is mapped to with
+	 *         {@link ResponseStatus}; {@code SERVER_ERROR} for unmapped exceptions
+	 */
+	static String outcome(Throwable error) {
+		if (error == null) {
+			return Outcome.SUCCESS.name();
+		}
+		ResponseStatus status = AnnotatedElementUtils.findMergedAnnotation(error.getClass(), ResponseStatus.class);
+		return status == null ? Outcome.SERVER_ERROR.name() : Outcome.forStatus(status.code().value()).name();
+	}
+
+	static String exception(Throwable error) {
+		return error == null ? NONE : error.getClass().getSimpleName();
+	}
+}
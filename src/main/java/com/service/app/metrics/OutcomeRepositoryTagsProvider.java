@@ -0,0 +1,27 @@
+package com.service.app.metrics;
+
+import org.springframework.boot.actuate.metrics.data.DefaultRepositoryTagsProvider;
+import org.springframework.data.repository.core.support.RepositoryMethodInvocationListener.RepositoryMethodInvocation;
+
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+
+/**
+ * Adds the {@code outcome} tag to Spring Boot's {@code spring.data.repository.invocations}
+ * timer, next to its default {@code repository}, {@code method}, {@code state} and
+ * {@code exception} tags.
+ *
+ * <p>The timer covers the derived and query methods of
+ * {@link com.service.app.repository.CarRepository} as well as its custom fragment.</p>
+ *
+ * @author Wellington
+ * @version 1.0
+ */
+public class OutcomeRepositoryTagsProvider extends DefaultRepositoryTagsProvider {
+
+	@Override
+	public Iterable<Tag> repositoryTags(RepositoryMethodInvocation invocation) {
+		return Tags.of(super.repositoryTags(invocation))
+				.and(MetricOutcomes.OUTCOME_TAG, MetricOutcomes.outcome(invocation.getResult().getError()));
+	}
+}
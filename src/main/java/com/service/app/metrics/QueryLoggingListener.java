@@ -0,0 +1,128 @@
+package com.service.app.metrics;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+
+import io.micrometer.core.instrument.Counter;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+/**
+ * Logs slow SQL statements, plus an optional random sample of the others, as one JSON
+ * object per line.
+ *
+ * <p>Replaces {@code spring.jpa.show-sql}, which printed every statement to stdout on the
+ * request thread. Statements go to the {@value #LOGGER_NAME} logger, which
+ * {@code logback-spring.xml} routes through an asynchronous appender, and only the
+ * statements that are logged pay for formatting.</p>
+ *
+ * <p>The listener also flags likely N+1 selects: the same {@code SELECT} run back to back
+ * {@code repeatThreshold} times on one connection. Each such run is logged once and
+ * counted in {@value #REPEATED_SELECTS_METRIC}.</p>
+ *
+ * @author Wellington
+ * @version 1.0
+ */
+public class QueryLoggingListener implements QueryExecutionListener {
+
+	public static final String LOGGER_NAME = "com.service.app.sql";
+	public static final String REPEATED_SELECTS_METRIC = "car.sql.repeated.selects";
+
+	private static final Logger logger = LoggerFactory.getLogger(LOGGER_NAME);
+
+	private final long slowThresholdMillis;
+	private final double sampleRate;
+	private final int repeatThreshold;
+	private final Supplier<Counter> repeatedSelects;
+	private final ThreadLocal<SelectRun> lastSelect = ThreadLocal.withInitial(SelectRun::new);
+
+	/**
+	 * @param slowThresholdMillis statements taking at least this long are logged as slow
+	 * @param sampleRate the fraction, between 0 and 1, of the other statements to log
+	 * @param repeatThreshold the number of identical selects in a row reported as a suspected N+1
+	 * @param repeatedSelects the counter of suspected N+1 runs, resolved on first use
+	 */
+	public QueryLoggingListener(long slowThresholdMillis, double sampleRate, int repeatThreshold,
+			Supplier<Counter> repeatedSelects) {
+		this.slowThresholdMillis = slowThresholdMillis;
+		this.sampleRate = sampleRate;
+		this.repeatThreshold = repeatThreshold;
+		this.repeatedSelects = repeatedSelects;
+	}
+
+	@Override
+	public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+	}
+
+	@Override
+	public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+		String sql = queryInfoList.size() == 1
+				? queryInfoList.get(0).getQuery()
+				: queryInfoList.stream().map(QueryInfo::getQuery).distinct().collect(Collectors.joining("; "));
+
+		trackRepeatedSelects(execInfo, sql);
+
+		if (execInfo.getElapsedTime() >= slowThresholdMillis) {
+			if (logger.isWarnEnabled()) {
+				logger.warn(toJson("slow_query", execInfo, sql));
+			}
+		} else if (sampleRate > 0 && logger.isInfoEnabled() && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+			logger.info(toJson("sampled_query", execInfo, sql));
+		}
+	}
+
+	private void trackRepeatedSelects(ExecutionInfo execInfo, String sql) {
+		if (execInfo.isBatch() || !sql.regionMatches(true, 0, "select", 0, 6)) {
+			return;
+		}
+		SelectRun run = lastSelect.get();
+		if (Objects.equals(run.connectionId, execInfo.getConnectionId()) && sql.equals(run.sql)) {
+			if (++run.count == repeatThreshold) {
+				repeatedSelects.get().increment();
+				if (logger.isWarnEnabled()) {
+					logger.warn("{\"event\":\"repeated_select\",\"count\":" + run.count
+							+ ",\"connection\":" + quote(execInfo.getConnectionId())
+							+ ",\"sql\":" + quote(sql) + "}");
+				}
+			}
+		} else {
+			run.connectionId = execInfo.getConnectionId();
+			run.sql = sql;
+			run.count = 1;
+		}
+	}
+
+	private String toJson(String event, ExecutionInfo execInfo, String sql) {
+		return "{\"event\":\"" + event + "\""
+				+ ",\"elapsed_ms\":" + execInfo.getElapsedTime()
+				+ ",\"threshold_ms\":" + slowThresholdMillis
+				+ ",\"success\":" + execInfo.isSuccess()
+				+ ",\"type\":\"" + execInfo.getStatementType().name().toLowerCase(Locale.ROOT) + "\""
+				+ ",\"batch_size\":" + (execInfo.isBatch() ? execInfo.getBatchSize() : 0)
+				+ ",\"connection\":" + quote(execInfo.getConnectionId())
+				+ ",\"sql\":" + quote(sql) + "}";
+	}
+
+	private static String quote(String value) {
+		return value == null ? "null" : "\"" + new String(JsonStringEncoder.getInstance().quoteAsString(value)) + "\"";
+	}
+
+	/**
+	 * The last select seen on a thread and how many times in a row it ran.
+	 */
+	private static final class SelectRun {
+		private String connectionId;
+		private String sql;
+		private int count;
+	}
+}
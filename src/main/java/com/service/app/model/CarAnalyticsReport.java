@@ -0,0 +1,70 @@
+package com.service.app.model;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Inventory aggregates grouped by one {@link CarDimension}.
+ *
+ * @author Wellington
+ * @version 1.0
+ */
+public class CarAnalyticsReport implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private final String groupBy;
+	private final long carCount;
+	private final int odometerBucketWidth;
+	private final int odometerBucketCount;
+	private final List<CarGroupStats> groups;
+
+	public CarAnalyticsReport(String groupBy, long carCount, int odometerBucketWidth, int odometerBucketCount,
+			List<CarGroupStats> groups) {
+		this.groupBy = groupBy;
+		this.carCount = carCount;
+		this.odometerBucketWidth = odometerBucketWidth;
+		this.odometerBucketCount = odometerBucketCount;
+		this.groups = groups;
+	}
+
+	/**
+     * Returns the property the cars are grouped by.
+     *
+     * @return the property name, e.g. {@code brand}
+     */
+	public String getGroupBy() {
+		return groupBy;
+	}
+
+	public long getCarCount() {
+		return carCount;
+	}
+
+	/**
+     * Returns the odometer range covered by each histogram bucket.
+     *
+     * @return the bucket width, in kilometres
+     */
+	public int getOdometerBucketWidth() {
+		return odometerBucketWidth;
+	}
+
+	/**
+     * Returns the number of histogram buckets; the last one is open-ended.
+     *
+     * @return the bucket count
+     */
+	public int getOdometerBucketCount() {
+		return odometerBucketCount;
+	}
+
+	/**
+     * Returns the aggregates of each group.
+     *
+     * @return one entry per value held by at least one car, the largest groups first
+     */
+	public List<CarGroupStats> getGroups() {
+		return groups;
+	}
+}
@@ -0,0 +1,59 @@
+package com.service.app.model;
+
+import java.io.Serializable;
+
+/**
+ * Outcome of one item of a batch create request.
+ * 
+ * @author Wellington
+ * @version 1.0
+ */
+public class CarBatchItemResult implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	public enum Status {
+		CREATED, REJECTED
+	}
+
+	private final int index;
+	private final Status status;
+	private final Long id;
+	private final String message;
+
+	private CarBatchItemResult(int index, Status status, Long id, String message) {
+		this.index = index;
+		this.status = status;
+		this.id = id;
+		this.message = message;
+	}
+
+	public static CarBatchItemResult created(int index, Long id) {
+		return new CarBatchItemResult(index, Status.CREATED, id, null);
+	}
+
+	public static CarBatchItemResult rejected(int index, String message) {
+		return new CarBatchItemResult(index, Status.REJECTED, null, message);
+	}
+
+	/**
+     * Returns the position of the item in the request array.
+     * 
+     * @return the zero-based index
+     */
+	public int getIndex() {
+		return index;
+	}
+
+	public Status getStatus() {
+		return status;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public String getMessage() {
+		return message;
+	}
+}
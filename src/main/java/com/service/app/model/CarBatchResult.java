@@ -0,0 +1,39 @@
+package com.service.app.model;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Report of a batch create request, with one entry per submitted item.
+ * 
+ * @author Wellington
+ * @version 1.0
+ */
+public class CarBatchResult implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private final int created;
+	private final int rejected;
+	private final List<CarBatchItemResult> items;
+
+	public CarBatchResult(List<CarBatchItemResult> items) {
+		this.items = items;
+		this.created = (int) items.stream()
+				.filter(item -> item.getStatus() == CarBatchItemResult.Status.CREATED)
+				.count();
+		this.rejected = items.size() - created;
+	}
+
+	public int getCreated() {
+		return created;
+	}
+
+	public int getRejected() {
+		return rejected;
+	}
+
+	public List<CarBatchItemResult> getItems() {
+		return items;
+	}
+}
@@ -0,0 +1,40 @@
+package com.service.app.model;
+
+import java.io.Serializable;
+
+/**
+ * Outcome of a bulk update or bulk delete.
+ *
+ * @author Wellington
+ * @version 1.0
+ */
+public class CarBulkResult implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private final long affected;
+	private final int chunks;
+
+	public CarBulkResult(long affected, int chunks) {
+		this.affected = affected;
+		this.chunks = chunks;
+	}
+
+	/**
+     * Returns the number of cars updated or deleted.
+     *
+     * @return the affected row count
+     */
+	public long getAffected() {
+		return affected;
+	}
+
+	/**
+     * Returns the number of transactions the operation was split into.
+     *
+     * @return the chunk count
+     */
+	public int getChunks() {
+		return chunks;
+	}
+}
@@ -0,0 +1,79 @@
+package com.service.app.model;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+import com.service.app.exceptions.ValidationException;
+
+/**
+ * Update applied to every car matching a filter: a price adjustment in percent, a new
+ * owner, or both. Unset fields are left untouched.
+ *
+ * @author Wellington
+ * @version 1.0
+ */
+public class CarBulkUpdate implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private static final BigDecimal MIN_PRICE_CHANGE_PERCENT = new BigDecimal("-100");
+	private static final BigDecimal MAX_PRICE_CHANGE_PERCENT = new BigDecimal("100");
+
+	private CarSearchCriteria filter;
+	private BigDecimal priceChangePercent;
+	private String owner;
+
+	/**
+     * Checks that the update has a filter and changes something.
+     *
+     * @throws ValidationException if the filter is missing, empty or malformed, nothing is
+     *         changed, or the price change is not above -100% and at most +100%
+     */
+	public void validate() {
+		if (filter == null || filter.isEmpty()) {
+			throw new ValidationException("A bulk update needs at least one filter");
+		}
+		filter.validate();
+		if (priceChangePercent == null && owner == null) {
+			throw new ValidationException("A bulk update must change the price or the owner");
+		}
+		if (priceChangePercent != null && (priceChangePercent.compareTo(MIN_PRICE_CHANGE_PERCENT) <= 0
+				|| priceChangePercent.compareTo(MAX_PRICE_CHANGE_PERCENT) > 0)) {
+			throw new ValidationException("priceChangePercent must be above -100 and at most 100");
+		}
+	}
+
+	public CarSearchCriteria getFilter() {
+		return filter;
+	}
+
+	public void setFilter(CarSearchCriteria filter) {
+		this.filter = filter;
+	}
+
+	/**
+     * Returns the relative price change, e.g. {@code -5} to lower prices by 5%.
+     *
+     * @return the change in percent, or {@code null} to leave prices untouched
+     */
+	public BigDecimal getPriceChangePercent() {
+		return priceChangePercent;
+	}
+
+	public void setPriceChangePercent(BigDecimal priceChangePercent) {
+		this.priceChangePercent = priceChangePercent;
+	}
+
+	/**
+     * Returns the new owner of the matching cars.
+     *
+     * @return the owner, or {@code null} to leave owners untouched
+     */
+	public String getOwner() {
+		return owner;
+	}
+
+	public void setOwner(String owner) {
+		this.owner = owner;
+	}
+}
@@ -0,0 +1,108 @@
+package com.service.app.model;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.springframework.data.domain.Sort;
+
+import com.service.app.entity.Car;
+import com.service.app.exceptions.ValidationException;
+
+/**
+ * Opaque position inside a keyset-paginated listing of {@link Car} entities.
+ *
+ * <p>A cursor remembers the sort key, the direction and the values of the last row
+ * returned, so the next page can seek straight to it instead of skipping rows with
+ * {@code OFFSET}. Clients receive it as a URL-safe Base64 token and must not rely on
+ * its contents.</p>
+ *
+ * @author Wellington
+ * @version 1.0
+ */
+public class CarCursor {
+
+	private static final String SEPARATOR = "|";
+
+	private final CarSortKey sortKey;
+	private final Sort.Direction direction;
+	private final Comparable<?> value;
+	private final Long id;
+
+	public CarCursor(CarSortKey sortKey, Sort.Direction direction, Comparable<?> value, Long id) {
+		this.sortKey = sortKey;
+		this.direction = direction;
+		this.value = value;
+		this.id = id;
+	}
+
+	/**
+     * Creates the cursor pointing right after the given car.
+     *
+     * @param car the last car of a page
+     * @param sortKey the key the page is sorted by
+     * @param direction the sort direction
+     * @return the cursor for the following page
+     */
+	public static CarCursor after(Car car, CarSortKey sortKey, Sort.Direction direction) {
+		return new CarCursor(sortKey, direction, sortKey.valueOf(car), car.getId());
+	}
+
+	/**
+     * Creates the cursor pointing right after the given car summary.
+     *
+     * @param summary the last summary of a page
+     * @param sortKey the key the page is sorted by
+     * @param direction the sort direction
+     * @return the cursor for the following page
+     */
+	public static CarCursor after(CarSummary summary, CarSortKey sortKey, Sort.Direction direction) {
+		return new CarCursor(sortKey, direction, sortKey.valueOf(summary), summary.id());
+	}
+
+	/**
+     * Decodes a token previously produced by {@link #encode()}.
+     *
+     * @param token the opaque cursor token
+     * @return the decoded cursor
+     * @throws ValidationException if the token is malformed
+     */
+	public static CarCursor decode(String token) {
+		try {
+			String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+			String[] parts = raw.split("\\" + SEPARATOR, -1);
+			if (parts.length != 4) {
+				throw new ValidationException("Invalid cursor: " + token);
+			}
+			CarSortKey sortKey = CarSortKey.fromProperty(parts[0]);
+			return new CarCursor(sortKey, Sort.Direction.valueOf(parts[1]), sortKey.parse(parts[2]), Long.valueOf(parts[3]));
+		} catch (IllegalArgumentException e) {
+			throw new ValidationException("Invalid cursor: " + token);
+		}
+	}
+
+	/**
+     * Encodes this cursor as an opaque, URL-safe token.
+     *
+     * @return the cursor token
+     */
+	public String encode() {
+		String raw = sortKey.getProperty() + SEPARATOR + direction.name() + SEPARATOR + value + SEPARATOR + id;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	public CarSortKey getSortKey() {
+		return sortKey;
+	}
+
+	public Sort.Direction getDirection() {
+		return direction;
+	}
+
+	public Comparable<?> getValue() {
+		return value;
+	}
+
+	public Long getId() {
+		return id;
+	}
+}
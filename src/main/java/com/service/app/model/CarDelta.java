@@ -0,0 +1,54 @@
+package com.service.app.model;
+
+import java.io.Serializable;
+
+import com.service.app.entity.Car;
+
+/**
+ * Latest change of one car within a page of {@link CarDeltaPage}.
+ *
+ * <p>Created and updated cars carry their current state and should both be upserted by
+ * the client; deleted cars are tombstones with only their ID.</p>
+ *
+ * @author Wellington
+ * @version 1.0
+ */
+public class CarDelta implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private final CarEvent.Type type;
+	private final Long id;
+	private final Car car;
+
+	private CarDelta(CarEvent.Type type, Long id, Car car) {
+		this.type = type;
+		this.id = id;
+		this.car = car;
+	}
+
+	public static CarDelta upserted(CarEvent.Type type, Car car) {
+		return new CarDelta(type, car.getId(), car);
+	}
+
+	public static CarDelta deleted(Long id) {
+		return new CarDelta(CarEvent.Type.DELETED, id, null);
+	}
+
+	public CarEvent.Type getType() {
+		return type;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	/**
+     * Returns the current state of the car.
+     *
+     * @return the car, or {@code null} for a tombstone
+     */
+	public Car getCar() {
+		return car;
+	}
+}
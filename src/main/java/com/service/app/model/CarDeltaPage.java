@@ -0,0 +1,56 @@
+package com.service.app.model;
+
+import java.io.Serializable;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * One page of the changes made to the inventory since a sync token.
+ *
+ * @author Wellington
+ * @version 1.0
+ */
+public class CarDeltaPage implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private final List<CarDelta> changes;
+	private final String nextToken;
+	private final boolean more;
+
+	public CarDeltaPage(List<CarDelta> changes, String nextToken, boolean more) {
+		this.changes = changes;
+		this.nextToken = nextToken;
+		this.more = more;
+	}
+
+	/**
+     * Returns the latest change of each car changed in this page, in the order of those changes.
+     *
+     * @return the changes, empty when the client is up to date
+     */
+	public List<CarDelta> getChanges() {
+		return changes;
+	}
+
+	/**
+     * Returns the token to send as {@code since} on the next sync.
+     *
+     * @return the opaque sync token
+     */
+	public String getNextToken() {
+		return nextToken;
+	}
+
+	/**
+     * Tells whether more changes can be read right away with {@link #getNextToken()}.
+     * Written as {@code hasMore}.
+     *
+     * @return {@code true} when this page was cut at the requested limit
+     */
+	@JsonProperty("hasMore")
+	public boolean isMore() {
+		return more;
+	}
+}
@@ -0,0 +1,61 @@
+package com.service.app.model;
+
+import java.util.Arrays;
+
+import com.service.app.entity.Car;
+import com.service.app.exceptions.ValidationException;
+
+/**
+ * Text properties of {@link Car} that inventory analytics can group by.
+ *
+ * @author Wellington
+ * @version 1.0
+ */
+public enum CarDimension {
+
+	BRAND("brand"),
+	MODEL("model"),
+	FUEL_TYPE("fuelType"),
+	TRANSMISSION("transmission"),
+	BODY_TYPE("bodyType");
+
+	private final String property;
+
+	CarDimension(String property) {
+		this.property = property;
+	}
+
+	public String getProperty() {
+		return property;
+	}
+
+	/**
+     * Resolves a dimension from its entity property name.
+     *
+     * @param property the property name, e.g. {@code fuelType}
+     * @return the matching {@link CarDimension}
+     * @throws ValidationException if the property cannot be grouped by
+     */
+	public static CarDimension fromProperty(String property) {
+		return Arrays.stream(values())
+				.filter(dimension -> dimension.property.equals(property))
+				.findFirst()
+				.orElseThrow(() -> new ValidationException("Unsupported group property: " + property));
+	}
+
+	/**
+     * Extracts the value of this dimension from a {@link Car}.
+     *
+     * @param car the car to read
+     * @return the value, possibly {@code null}
+     */
+	public String valueOf(Car car) {
+		return switch (this) {
+			case BRAND -> car.getBrand();
+			case MODEL -> car.getModel();
+			case FUEL_TYPE -> car.getFuelType();
+			case TRANSMISSION -> car.getTransmission();
+			case BODY_TYPE -> car.getBodyType();
+		};
+	}
+}
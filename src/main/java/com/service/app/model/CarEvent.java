@@ -0,0 +1,58 @@
+package com.service.app.model;
+
+import java.io.Serializable;
+
+/**
+ * Change made to the inventory by {@link com.service.app.service.CarService}, published
+ * once the change is committed.
+ *
+ * @author Wellington
+ * @version 1.0
+ */
+public class CarEvent implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	public enum Type {
+		CREATED, UPDATED, DELETED
+	}
+
+	private final Type type;
+	private final Long id;
+	private final Long version;
+
+	public CarEvent(Type type, Long id, Long version) {
+		this.type = type;
+		this.id = id;
+		this.version = version;
+	}
+
+	public static CarEvent created(Long id, Long version) {
+		return new CarEvent(Type.CREATED, id, version);
+	}
+
+	public static CarEvent updated(Long id, Long version) {
+		return new CarEvent(Type.UPDATED, id, version);
+	}
+
+	public static CarEvent deleted(Long id) {
+		return new CarEvent(Type.DELETED, id, null);
+	}
+
+	public Type getType() {
+		return type;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	/**
+     * Returns the version of the car after the change.
+     *
+     * @return the new version, or {@code null} for deletes and for updates made without a version
+     */
+	public Long getVersion() {
+		return version;
+	}
+}
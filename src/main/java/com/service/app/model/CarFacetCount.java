@@ -0,0 +1,35 @@
+package com.service.app.model;
+
+import java.io.Serializable;
+
+/**
+ * Number of matching cars holding one value of a search facet.
+ *
+ * @author Wellington
+ * @version 1.0
+ */
+public class CarFacetCount implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private final String value;
+	private final long count;
+
+	public CarFacetCount(String value, long count) {
+		this.value = value;
+		this.count = count;
+	}
+
+	/**
+     * Returns the facet value, e.g. {@code Fiat} or, for model years, {@code 2020-2024}.
+     *
+     * @return the value, or {@code null} for the cars without one
+     */
+	public String getValue() {
+		return value;
+	}
+
+	public long getCount() {
+		return count;
+	}
+}
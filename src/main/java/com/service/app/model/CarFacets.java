@@ -0,0 +1,46 @@
+package com.service.app.model;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Facet counts of a car search: for each faceted property, the number of cars per value
+ * that match the search filters, ignoring the filter on that property itself.
+ *
+ * @author Wellington
+ * @version 1.0
+ */
+public class CarFacets implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private final long total;
+	private final Map<String, List<CarFacetCount>> counts;
+
+	public CarFacets(long total, Map<String, List<CarFacetCount>> counts) {
+		this.total = total;
+		this.counts = counts;
+	}
+
+	/**
+     * Returns the number of cars matching every filter of the search.
+     *
+     * @return the match count
+     */
+	public long getTotal() {
+		return total;
+	}
+
+	/**
+     * Returns the counts of each faceted property: {@code brand}, {@code fuelType},
+     * {@code transmission}, {@code bodyType} and {@code modelYear}, in buckets of five
+     * years.
+     *
+     * @return the values with at least one car, the most frequent first, and model years
+     *         in ascending order
+     */
+	public Map<String, List<CarFacetCount>> getCounts() {
+		return counts;
+	}
+}
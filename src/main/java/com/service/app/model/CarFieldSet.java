@@ -0,0 +1,76 @@
+package com.service.app.model;
+
+import java.beans.PropertyDescriptor;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.BeanUtils;
+
+import com.service.app.entity.Car;
+import com.service.app.exceptions.ValidationException;
+
+/**
+ * A sparse fieldset: the {@link Car} properties a client asked for with {@code ?fields=}.
+ *
+ * <p>Only these columns are selected and only these members are written to the response.</p>
+ *
+ * @author Wellington
+ * @version 1.0
+ */
+public class CarFieldSet {
+
+	private static final Set<String> PROPERTIES = Arrays.stream(BeanUtils.getPropertyDescriptors(Car.class))
+			.filter(descriptor -> descriptor.getReadMethod() != null && descriptor.getWriteMethod() != null)
+			.map(PropertyDescriptor::getName)
+			.collect(Collectors.toUnmodifiableSet());
+
+	private final Set<String> properties;
+
+	private CarFieldSet(Set<String> properties) {
+		this.properties = Collections.unmodifiableSet(properties);
+	}
+
+	/**
+     * Parses a comma-separated list of property names, e.g. {@code id,price,odometer}.
+     *
+     * @param fields the raw {@code fields} parameter
+     * @return the fieldset, in request order
+     * @throws ValidationException if the list is empty or names an unknown property
+     */
+	public static CarFieldSet of(String fields) {
+		Set<String> properties = new LinkedHashSet<>();
+		for (String field : fields.split(",")) {
+			String property = field.trim();
+			if (!property.isEmpty()) {
+				if (!PROPERTIES.contains(property)) {
+					throw new ValidationException("Unknown field: " + property);
+				}
+				properties.add(property);
+			}
+		}
+		if (properties.isEmpty()) {
+			throw new ValidationException("fields must name at least one property");
+		}
+		return new CarFieldSet(properties);
+	}
+
+	/**
+     * Returns the requested properties together with the given ones, which the server
+     * needs for its own bookkeeping, such as cursors and ETags.
+     *
+     * @param extra the additional properties
+     * @return the properties to select
+     */
+	public Set<String> with(String... extra) {
+		Set<String> selected = new LinkedHashSet<>(properties);
+		selected.addAll(Arrays.asList(extra));
+		return selected;
+	}
+
+	public Set<String> getProperties() {
+		return properties;
+	}
+}
@@ -0,0 +1,100 @@
+package com.service.app.model;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * Aggregates of the cars sharing one value of a {@link CarDimension}.
+ *
+ * @author Wellington
+ * @version 1.0
+ */
+public class CarGroupStats implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private final String group;
+	private final long count;
+	private final BigDecimal averagePrice;
+	private final BigDecimal minPrice;
+	private final BigDecimal maxPrice;
+	private final double averageOdometer;
+	private final double averageHorsePower;
+	private final Map<String, BigDecimal> pricePercentiles;
+	private final long[] odometerHistogram;
+
+	public CarGroupStats(String group, long count, BigDecimal averagePrice, BigDecimal minPrice, BigDecimal maxPrice,
+			double averageOdometer, double averageHorsePower, Map<String, BigDecimal> pricePercentiles,
+			long[] odometerHistogram) {
+		this.group = group;
+		this.count = count;
+		this.averagePrice = averagePrice;
+		this.minPrice = minPrice;
+		this.maxPrice = maxPrice;
+		this.averageOdometer = averageOdometer;
+		this.averageHorsePower = averageHorsePower;
+		this.pricePercentiles = pricePercentiles;
+		this.odometerHistogram = odometerHistogram;
+	}
+
+	/**
+     * Returns the value shared by the cars of the group.
+     *
+     * @return the value, or {@code null} for the cars without one
+     */
+	public String getGroup() {
+		return group;
+	}
+
+	public long getCount() {
+		return count;
+	}
+
+	/**
+     * Returns the average price of the cars of the group that have one.
+     *
+     * @return the average price, or {@code null} when no car of the group has a price
+     */
+	public BigDecimal getAveragePrice() {
+		return averagePrice;
+	}
+
+	public BigDecimal getMinPrice() {
+		return minPrice;
+	}
+
+	public BigDecimal getMaxPrice() {
+		return maxPrice;
+	}
+
+	public double getAverageOdometer() {
+		return averageOdometer;
+	}
+
+	public double getAverageHorsePower() {
+		return averageHorsePower;
+	}
+
+	/**
+     * Returns the approximate price percentiles of the cars of the group that have a price,
+     * keyed by their names, e.g. {@code p90}.
+     *
+     * @return the percentiles in request order, empty when no car of the group has a price
+     */
+	public Map<String, BigDecimal> getPricePercentiles() {
+		return pricePercentiles;
+	}
+
+	/**
+     * Returns the number of cars per odometer bucket. Bucket {@code i} counts the cars with
+     * an odometer from {@code i * width} up to {@code (i + 1) * width}, except the last
+     * bucket of the report's bucket count, which takes every higher odometer. Trailing
+     * empty buckets are left out.
+     *
+     * @return the bucket counts, in odometer order
+     */
+	public long[] getOdometerHistogram() {
+		return odometerHistogram;
+	}
+}
@@ -0,0 +1,43 @@
+package com.service.app.model;
+
+import java.io.Serializable;
+import java.util.List;
+
+import com.service.app.entity.Car;
+
+/**
+ * Outcome of a lookup of many cars by ID.
+ *
+ * @author Wellington
+ * @version 1.0
+ */
+public class CarLookupResult implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private final List<Car> cars;
+	private final List<Long> missingIds;
+
+	public CarLookupResult(List<Car> cars, List<Long> missingIds) {
+		this.cars = cars;
+		this.missingIds = missingIds;
+	}
+
+	/**
+     * Returns the cars found, in the order their IDs were first requested.
+     *
+     * @return the found cars, each once
+     */
+	public List<Car> getCars() {
+		return cars;
+	}
+
+	/**
+     * Returns the requested IDs that match no car, in request order.
+     *
+     * @return the missing IDs, each once
+     */
+	public List<Long> getMissingIds() {
+		return missingIds;
+	}
+}
@@ -0,0 +1,38 @@
+package com.service.app.model;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing.
+ *
+ * @param <T> the type of the page elements
+ *
+ * @author Wellington
+ * @version 1.0
+ */
+public class CarPage<T> implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private final List<T> content;
+	private final String nextCursor;
+
+	public CarPage(List<T> content, String nextCursor) {
+		this.content = content;
+		this.nextCursor = nextCursor;
+	}
+
+	public List<T> getContent() {
+		return content;
+	}
+
+	/**
+     * Returns the opaque cursor of the following page.
+     *
+     * @return the cursor, or {@code null} when this is the last page
+     */
+	public String getNextCursor() {
+		return nextCursor;
+	}
+}
@@ -0,0 +1,81 @@
+package com.service.app.model;
+
+import org.springframework.data.domain.Sort;
+
+import com.service.app.exceptions.ValidationException;
+
+/**
+ * Validated parameters of a keyset-paginated listing request.
+ *
+ * @author Wellington
+ * @version 1.0
+ */
+public class CarPageRequest {
+
+	public static final int DEFAULT_LIMIT = 50;
+	public static final int MAX_LIMIT = 500;
+
+	private final CarSortKey sortKey;
+	private final Sort.Direction direction;
+	private final CarCursor after;
+	private final int limit;
+
+	private CarPageRequest(CarSortKey sortKey, Sort.Direction direction, CarCursor after, int limit) {
+		this.sortKey = sortKey;
+		this.direction = direction;
+		this.after = after;
+		this.limit = limit;
+	}
+
+	/**
+     * Builds a request from raw query parameters.
+     *
+     * @param sort the property to sort by
+     * @param direction {@code asc} or {@code desc}
+     * @param after the cursor returned with the previous page, or {@code null} for the first page
+     * @param limit the maximum number of rows to return
+     * @return the validated request
+     * @throws ValidationException if any parameter is invalid or the cursor belongs to another ordering
+     */
+	public static CarPageRequest of(String sort, String direction, String after, int limit) {
+		if (limit < 1 || limit > MAX_LIMIT) {
+			throw new ValidationException("Limit must be between 1 and " + MAX_LIMIT);
+		}
+		CarSortKey sortKey = CarSortKey.fromProperty(sort);
+		Sort.Direction sortDirection = Sort.Direction.fromOptionalString(direction)
+				.orElseThrow(() -> new ValidationException("Unsupported sort direction: " + direction));
+		CarCursor cursor = null;
+		if (after != null && !after.isBlank()) {
+			cursor = CarCursor.decode(after);
+			if (cursor.getSortKey() != sortKey || cursor.getDirection() != sortDirection) {
+				throw new ValidationException("Cursor does not match the requested sort order");
+			}
+		}
+		return new CarPageRequest(sortKey, sortDirection, cursor, limit);
+	}
+
+	/**
+     * Returns the first page with the default ordering and limit.
+     *
+     * @return a request for the first page
+     */
+	public static CarPageRequest firstPage() {
+		return new CarPageRequest(CarSortKey.ID, Sort.Direction.ASC, null, DEFAULT_LIMIT);
+	}
+
+	public CarSortKey getSortKey() {
+		return sortKey;
+	}
+
+	public Sort.Direction getDirection() {
+		return direction;
+	}
+
+	public CarCursor getAfter() {
+		return after;
+	}
+
+	public int getLimit() {
+		return limit;
+	}
+}
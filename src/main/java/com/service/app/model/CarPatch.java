@@ -0,0 +1,93 @@
+package com.service.app.model;
+
+import java.beans.PropertyDescriptor;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.util.ClassUtils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.service.app.entity.Car;
+import com.service.app.exceptions.ValidationException;
+
+/**
+ * The changes of a JSON Merge Patch (RFC 7396) applied to a {@link Car}.
+ *
+ * <p>Only the members present in the patch are kept, each converted to the type of the
+ * matching {@link Car} property, so the update can write just those columns. A member set
+ * to {@code null} clears the property. The ID and the version cannot be patched.</p>
+ *
+ * @author Wellington
+ * @version 1.0
+ */
+public class CarPatch {
+
+	public static final String MEDIA_TYPE = "application/merge-patch+json";
+
+	private static final Set<String> READ_ONLY_PROPERTIES = Set.of("id", "version");
+
+	private final Map<String, Object> changes;
+
+	private CarPatch(Map<String, Object> changes) {
+		this.changes = Collections.unmodifiableMap(changes);
+	}
+
+	/**
+     * Converts a merge patch document into typed property changes.
+     *
+     * @param patch the merge patch document
+     * @param mapper the mapper used to convert each member
+     * @return the changes, in document order
+     * @throws ValidationException if the patch is empty, names an unknown or read-only property,
+     *         or holds a value that does not fit its property
+     */
+	public static CarPatch from(ObjectNode patch, ObjectMapper mapper) {
+		if (patch.isEmpty()) {
+			throw new ValidationException("Patch must change at least one property");
+		}
+		Map<String, Object> changes = new LinkedHashMap<>();
+		for (Iterator<Map.Entry<String, JsonNode>> fields = patch.fields(); fields.hasNext();) {
+			Map.Entry<String, JsonNode> field = fields.next();
+			String property = field.getKey();
+			PropertyDescriptor descriptor = BeanUtils.getPropertyDescriptor(Car.class, property);
+			if (descriptor == null || descriptor.getWriteMethod() == null) {
+				throw new ValidationException("Unknown property: " + property);
+			}
+			if (READ_ONLY_PROPERTIES.contains(property)) {
+				throw new ValidationException(property + " cannot be patched");
+			}
+			changes.put(property, convert(property, field.getValue(), descriptor.getPropertyType(), mapper));
+		}
+		return new CarPatch(changes);
+	}
+
+	private static Object convert(String property, JsonNode value, Class<?> type, ObjectMapper mapper) {
+		if (value.isNull()) {
+			if (type.isPrimitive()) {
+				throw new ValidationException(property + " must not be null");
+			}
+			return null;
+		}
+		try {
+			return mapper.treeToValue(value, ClassUtils.resolvePrimitiveIfNecessary(type));
+		} catch (JsonProcessingException | IllegalArgumentException e) {
+			throw new ValidationException("Invalid value for " + property + ": " + value);
+		}
+	}
+
+	/**
+     * Returns the changed properties and their new values.
+     *
+     * @return an unmodifiable map from property name to value, in patch order
+     */
+	public Map<String, Object> getChanges() {
+		return changes;
+	}
+}
@@ -0,0 +1,138 @@
+package com.service.app.model;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.service.app.exceptions.ValidationException;
+
+/**
+ * Optional filters of a car search. Unset fields do not restrict the result.
+ * 
+ * @author Wellington
+ * @version 1.0
+ */
+public class CarSearchCriteria implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private String brand;
+	private String model;
+	private Integer minModelYear;
+	private Integer maxModelYear;
+	private BigDecimal minPrice;
+	private BigDecimal maxPrice;
+	private String fuelType;
+	private String transmission;
+	private String bodyType;
+	private Integer maxOdometer;
+
+	/**
+     * Checks that every range is well formed.
+     * 
+     * @throws ValidationException if a lower bound is greater than its upper bound
+     */
+	public void validate() {
+		if (minModelYear != null && maxModelYear != null && minModelYear > maxModelYear) {
+			throw new ValidationException("minModelYear must not be greater than maxModelYear");
+		}
+		if (minPrice != null && maxPrice != null && minPrice.compareTo(maxPrice) > 0) {
+			throw new ValidationException("minPrice must not be greater than maxPrice");
+		}
+		if (maxOdometer != null && maxOdometer < 0) {
+			throw new ValidationException("maxOdometer must not be negative");
+		}
+	}
+
+	/**
+     * Tells whether no filter is set, so the criteria match every car.
+     *
+     * @return {@code true} if every field is unset
+     */
+	@JsonIgnore
+	public boolean isEmpty() {
+		return brand == null && model == null && minModelYear == null && maxModelYear == null
+				&& minPrice == null && maxPrice == null && fuelType == null && transmission == null
+				&& bodyType == null && maxOdometer == null;
+	}
+
+	public String getBrand() {
+		return brand;
+	}
+
+	public void setBrand(String brand) {
+		this.brand = brand;
+	}
+
+	public String getModel() {
+		return model;
+	}
+
+	public void setModel(String model) {
+		this.model = model;
+	}
+
+	public Integer getMinModelYear() {
+		return minModelYear;
+	}
+
+	public void setMinModelYear(Integer minModelYear) {
+		this.minModelYear = minModelYear;
+	}
+
+	public Integer getMaxModelYear() {
+		return maxModelYear;
+	}
+
+	public void setMaxModelYear(Integer maxModelYear) {
+		this.maxModelYear = maxModelYear;
+	}
+
+	public BigDecimal getMinPrice() {
+		return minPrice;
+	}
+
+	public void setMinPrice(BigDecimal minPrice) {
+		this.minPrice = minPrice;
+	}
+
+	public BigDecimal getMaxPrice() {
+		return maxPrice;
+	}
+
+	public void setMaxPrice(BigDecimal maxPrice) {
+		this.maxPrice = maxPrice;
+	}
+
+	public String getFuelType() {
+		return fuelType;
+	}
+
+	public void setFuelType(String fuelType) {
+		this.fuelType = fuelType;
+	}
+
+	public String getTransmission() {
+		return transmission;
+	}
+
+	public void setTransmission(String transmission) {
+		this.transmission = transmission;
+	}
+
+	public String getBodyType() {
+		return bodyType;
+	}
+
+	public void setBodyType(String bodyType) {
+		this.bodyType = bodyType;
+	}
+
+	public Integer getMaxOdometer() {
+		return maxOdometer;
+	}
+
+	public void setMaxOdometer(Integer maxOdometer) {
+		this.maxOdometer = maxOdometer;
+	}
+}
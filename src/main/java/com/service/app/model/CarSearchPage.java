@@ -0,0 +1,32 @@
+package com.service.app.model;
+
+import java.util.List;
+
+import com.service.app.entity.Car;
+
+/**
+ * One page of a car search, with the facet counts of the whole search.
+ *
+ * @author Wellington
+ * @version 1.0
+ */
+public class CarSearchPage extends CarPage<Car> {
+
+	private static final long serialVersionUID = 1L;
+
+	private final CarFacets facets;
+
+	public CarSearchPage(List<Car> content, String nextCursor, CarFacets facets) {
+		super(content, nextCursor);
+		this.facets = facets;
+	}
+
+	/**
+     * Returns the facet counts of the search.
+     *
+     * @return the counts, or {@code null} when they were not requested
+     */
+	public CarFacets getFacets() {
+		return facets;
+	}
+}
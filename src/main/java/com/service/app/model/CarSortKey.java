@@ -0,0 +1,93 @@
+package com.service.app.model;
+
+import java.util.Arrays;
+
+import com.service.app.entity.Car;
+import com.service.app.exceptions.ValidationException;
+
+/**
+ * Properties of {@link Car} that can drive keyset pagination.
+ *
+ * <p>Only non-nullable columns are accepted, since a keyset comparison against
+ * {@code NULL} never matches. Every key is combined with the ID as a tie-breaker,
+ * so each one is backed by a composite {@code (column, id)} index on the "cars" table.</p>
+ *
+ * @author Wellington
+ * @version 1.0
+ */
+public enum CarSortKey {
+
+	ID("id"),
+	MODEL_YEAR("modelYear"),
+	ODOMETER("odometer"),
+	HORSE_POWER("horsePower");
+
+	private final String property;
+
+	CarSortKey(String property) {
+		this.property = property;
+	}
+
+	public String getProperty() {
+		return property;
+	}
+
+	/**
+     * Resolves a sort key from its entity property name.
+     *
+     * @param property the property name, e.g. {@code modelYear}
+     * @return the matching {@link CarSortKey}
+     * @throws ValidationException if the property cannot be used for sorting
+     */
+	public static CarSortKey fromProperty(String property) {
+		return Arrays.stream(values())
+				.filter(key -> key.property.equals(property))
+				.findFirst()
+				.orElseThrow(() -> new ValidationException("Unsupported sort property: " + property));
+	}
+
+	/**
+     * Extracts the value of this key from a {@link Car}.
+     *
+     * @param car the car to read
+     * @return the sort value
+     */
+	public Comparable<?> valueOf(Car car) {
+		return switch (this) {
+			case ID -> car.getId();
+			case MODEL_YEAR -> car.getModelYear();
+			case ODOMETER -> car.getOdometer();
+			case HORSE_POWER -> car.getHorsePower();
+		};
+	}
+
+	/**
+     * Extracts the value of this key from a {@link CarSummary}.
+     *
+     * @param summary the summary to read
+     * @return the sort value
+     * @throws ValidationException if this key is not part of the summary
+     */
+	public Comparable<?> valueOf(CarSummary summary) {
+		return switch (this) {
+			case ID -> summary.id();
+			case MODEL_YEAR -> summary.modelYear();
+			case ODOMETER -> summary.odometer();
+			case HORSE_POWER -> throw new ValidationException("Car summaries cannot be sorted by " + property);
+		};
+	}
+
+	/**
+     * Parses a value of this key from its textual cursor representation.
+     *
+     * @param raw the textual value
+     * @return the typed sort value
+     * @throws NumberFormatException if the value is malformed
+     */
+	public Comparable<?> parse(String raw) {
+		if (this == ID) {
+			return Long.valueOf(raw);
+		}
+		return Integer.valueOf(raw);
+	}
+}
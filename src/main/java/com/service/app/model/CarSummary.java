@@ -0,0 +1,26 @@
+package com.service.app.model;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+import com.service.app.entity.Car;
+
+/**
+ * Read-only projection of a {@link Car} holding the columns shown by listing grids.
+ *
+ * <p>It is built by a JPQL constructor expression, so only these six columns are selected
+ * and the rows never enter the persistence context.</p>
+ *
+ * @param id the car ID
+ * @param brand the brand
+ * @param model the model
+ * @param modelYear the model year
+ * @param price the price, or {@code null} when not set
+ * @param odometer the odometer reading
+ *
+ * @author Wellington
+ * @version 1.0
+ */
+public record CarSummary(Long id, String brand, String model, int modelYear, BigDecimal price, int odometer)
+		implements Serializable {
+}
@@ -0,0 +1,38 @@
+package com.service.app.model;
+
+import java.io.Serializable;
+
+import com.service.app.entity.Car;
+
+/**
+ * One car matching a full-text search, with its relevance.
+ *
+ * @author Wellington
+ * @version 1.0
+ */
+public class CarTextHit implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private final Car car;
+	private final double score;
+
+	public CarTextHit(Car car, double score) {
+		this.car = car;
+		this.score = score;
+	}
+
+	public Car getCar() {
+		return car;
+	}
+
+	/**
+     * Returns the BM25 score of the car for the query. Scores only compare hits of the
+     * same query.
+     *
+     * @return the score, higher for better matches
+     */
+	public double getScore() {
+		return score;
+	}
+}
@@ -0,0 +1,41 @@
+package com.service.app.model;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Best matches of a full-text search.
+ *
+ * @author Wellington
+ * @version 1.0
+ */
+public class CarTextSearchResult implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private final long total;
+	private final List<CarTextHit> hits;
+
+	public CarTextSearchResult(long total, List<CarTextHit> hits) {
+		this.total = total;
+		this.hits = hits;
+	}
+
+	/**
+     * Returns the number of cars holding at least one word of the query.
+     *
+     * @return the match count
+     */
+	public long getTotal() {
+		return total;
+	}
+
+	/**
+     * Returns the best matches.
+     *
+     * @return the hits, best first
+     */
+	public List<CarTextHit> getHits() {
+		return hits;
+	}
+}
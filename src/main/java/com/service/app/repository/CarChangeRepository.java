@@ -0,0 +1,50 @@
+package com.service.app.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.service.app.entity.CarChange;
+
+/**
+ * Repository for the {@link CarChange} log.
+ *
+ * <p>Changes are read in ID order, by primary key range. Changes younger than the given
+ * settle time are left out: IDs are handed out when a change is written, not when it is
+ * committed, so a recent change could still be followed by a concurrent one with a lower
+ * ID that has not committed yet.</p>
+ *
+ * @author Wellington
+ * @version 1.0
+ *
+ */
+public interface CarChangeRepository extends JpaRepository<CarChange, Long> {
+
+	/**
+     * Fetches the changes following a token.
+     *
+     * @param since the ID of the last change already seen
+     * @param settleMicros how old, in microseconds, a change must be to be returned
+     * @param limit the maximum number of changes to fetch
+     * @return the changes, in ID order
+     */
+	@Query(value = "select * from car_changes where id > :since "
+			+ "and changed_at <= utc_timestamp(6) - interval :settleMicros microsecond order by id limit :limit",
+			nativeQuery = true)
+	List<CarChange> findChangesAfter(@Param("since") long since, @Param("settleMicros") long settleMicros,
+			@Param("limit") int limit);
+
+	/**
+     * Returns the ID of the latest change old enough to be returned by {@link #findChangesAfter}.
+     *
+     * @param settleMicros how old, in microseconds, a change must be
+     * @return the ID, or an empty {@link Optional} when there is no such change
+     */
+	@Query(value = "select id from car_changes "
+			+ "where changed_at <= utc_timestamp(6) - interval :settleMicros microsecond order by id desc limit 1",
+			nativeQuery = true)
+	Optional<Long> findLatestSettledId(@Param("settleMicros") long settleMicros);
+}
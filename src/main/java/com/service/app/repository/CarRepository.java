@@ -1,6 +1,12 @@
 package com.service.app.repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.service.app.entity.Car;
 
@@ -13,6 +19,23 @@ import com.service.app.entity.Car;
  * @version 1.0 
  * 
  */
-public interface CarRepository extends JpaRepository<Car, Long> {
+public interface CarRepository extends JpaRepository<Car, Long>, CarRepositoryCustom {
+
+	/**
+     * Returns which of the given license plates are already registered.
+     * 
+     * @param licensePlates the license plates to look up
+     * @return the subset of {@code licensePlates} found in the "cars" table
+     */
+	@Query("select c.licensePlate from Car c where c.licensePlate in :licensePlates")
+	List<String> findExistingLicensePlates(@Param("licensePlates") Collection<String> licensePlates);
 
+	/**
+     * Reads only the version of a {@link Car}, for conditional requests that do not need the row.
+     * 
+     * @param id the ID of the car
+     * @return the version, or an empty {@link Optional} when no car has that ID
+     */
+	@Query("select c.version from Car c where c.id = :id")
+	Optional<Long> findVersionById(@Param("id") Long id);
 }
@@ -0,0 +1,206 @@
+package com.service.app.repository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.service.app.entity.Car;
+import com.service.app.model.CarBulkUpdate;
+import com.service.app.model.CarPageRequest;
+import com.service.app.model.CarSummary;
+
+/**
+ * Custom query fragment of {@link CarRepository}.
+ * 
+ * Holds the queries that cannot be expressed as derived or annotated query methods.
+ * Every write also records the change in the {@link com.service.app.entity.CarChange}
+ * log, in the same transaction.
+ * 
+ * <p>Delta sync holds changes back for {@code car-service.changes.settle-time}, so that a
+ * change committed after a later one is not skipped. The statements of every write must
+ * complete within {@value #WRITE_TIMEOUT_SECONDS} seconds of the start of its
+ * transaction, and a write still uncommitted once its change is older than the settle
+ * time is rolled back. The commit itself is not bounded: a commit that lands after the
+ * settle time is only logged and counted.</p>
+ * 
+ * @author Wellington
+ * @version 1.0 
+ * 
+ */
+public interface CarRepositoryCustom {
+
+	/**
+	 * Timeout, in seconds, of the statements of every write, counted from the start of its
+	 * transaction.
+	 */
+	int WRITE_TIMEOUT_SECONDS = 2;
+
+	/**
+     * Fetches one keyset page of {@link Car} entities.
+     * 
+     * <p>Rows are ordered by the requested key and the ID, and the query seeks directly
+     * past the request cursor, so the cost of a page does not depend on its depth.</p>
+     * 
+     * @param specification additional filter, or {@code null} to match every car
+     * @param request the page request
+     * @param maxResults the maximum number of rows to fetch
+     * @return the cars of the page, in order
+     */
+	List<Car> findPage(Specification<Car> specification, CarPageRequest request, int maxResults);
+
+	/**
+     * Fetches one keyset page of {@link CarSummary} projections.
+     * 
+     * <p>Same ordering and seek as {@link #findPage}, but only the summary columns are
+     * selected and no entity is instantiated or tracked.</p>
+     * 
+     * @param request the page request
+     * @param maxResults the maximum number of rows to fetch
+     * @return the summaries of the page, in order
+     */
+	List<CarSummary> findSummaryPage(CarPageRequest request, int maxResults);
+
+	/**
+     * Fetches one keyset page holding only the given {@link Car} properties.
+     * 
+     * <p>Same ordering and seek as {@link #findPage}, but only the columns of the given
+     * properties are selected. The request sort key and the ID must be among them.</p>
+     * 
+     * @param properties the properties to select
+     * @param request the page request
+     * @param maxResults the maximum number of rows to fetch
+     * @return one mutable map per row, from property name to value, in selection order
+     */
+	List<Map<String, Object>> findFieldPage(Set<String> properties, CarPageRequest request, int maxResults);
+
+	/**
+     * Fetches only the given properties of one {@link Car}.
+     * 
+     * @param id the ID of the car
+     * @param properties the properties to select
+     * @return a mutable map from property name to value, or an empty {@link Optional} when no car has that ID
+     */
+	Optional<Map<String, Object>> findFieldsById(Long id, Set<String> properties);
+
+	/**
+     * Streams every {@link Car} entity in ID order through a server-side cursor.
+     * 
+     * <p>Rows are pulled from the database in chunks of {@code fetchSize} while the stream
+     * is consumed, so it must be consumed, and closed, inside a transaction. The streamed
+     * entities bypass the second-level cache, so a full scan does not evict the cars
+     * actually being looked up.</p>
+     * 
+     * @param fetchSize the number of rows fetched per round-trip
+     * @return a lazily populated stream of read-only entities
+     */
+	Stream<Car> streamAll(int fetchSize);
+
+	/**
+     * Removes a {@link Car} entity from the current persistence context.
+     * 
+     * @param car the entity to detach
+     */
+	void detach(Car car);
+
+	/**
+     * Inserts a single {@link Car} entity with one {@code INSERT} statement.
+     * 
+     * <p>A {@code null} ID is generated by the database and set on the given entity, whose
+     * version starts at 0.</p>
+     * 
+     * @param car the car to insert
+     * @return the inserted car, with its ID
+     */
+	@Transactional(timeout = WRITE_TIMEOUT_SECONDS)
+	Car insert(Car car);
+
+	/**
+     * Overwrites every column of a {@link Car} row with one {@code UPDATE ... WHERE id = ?}
+     * statement, bypassing the persistence context, and increments its version.
+     * 
+     * <p>When the car carries a version the statement also checks {@code AND version = ?},
+     * so a row changed since that version is left untouched.</p>
+     * 
+     * <p>The MySQL driver reports matched rather than changed rows by default
+     * ({@code useAffectedRows=false}), so an update that leaves the row unchanged still
+     * returns 1.</p>
+     * 
+     * @param car the car to write, with its ID
+     * @return the number of rows matched, 0 when no car has that ID or version
+     */
+	@Transactional(timeout = WRITE_TIMEOUT_SECONDS)
+	int update(Car car);
+
+	/**
+     * Writes only the given properties of a {@link Car} row, and increments its version, with
+     * one {@code UPDATE} statement.
+     * 
+     * <p>Untouched columns are left out of the statement, which keeps it, and the binary log
+     * events it produces under {@code binlog_row_image=MINIMAL}, small.</p>
+     * 
+     * @param id the ID of the car
+     * @param changes the new value of each changed property
+     * @param expectedVersion the version the row must still have, or {@code null} to skip the check
+     * @return the number of rows matched, 0 when no car has that ID or version
+     */
+	@Transactional(timeout = WRITE_TIMEOUT_SECONDS)
+	int patch(Long id, Map<String, Object> changes, Long expectedVersion);
+
+	/**
+     * Inserts {@link Car} entities as one JDBC batch, bypassing the persistence context.
+     * 
+     * <p>With {@code rewriteBatchedStatements} enabled on the MySQL driver the batch is sent
+     * as a multi-row {@code INSERT}. Generated IDs are set on the given entities.</p>
+     * 
+     * @param cars the cars to insert, without IDs
+     */
+	@Transactional(timeout = WRITE_TIMEOUT_SECONDS)
+	void insertAll(List<Car> cars);
+
+	/**
+     * Deletes a {@link Car} row with one {@code DELETE ... WHERE id = ?} statement.
+     * 
+     * <p>Unlike {@link CarRepository#deleteById(Object)}, the entity is not loaded first.</p>
+     * 
+     * @param id the ID of the car to delete
+     * @return the number of rows deleted, 0 when no car has that ID
+     */
+	@Transactional(timeout = WRITE_TIMEOUT_SECONDS)
+	int removeById(Long id);
+
+	/**
+     * Applies a bulk update to the next chunk of matching {@link Car} rows, in ID order.
+     * 
+     * <p>The IDs of the chunk are selected with {@code FOR UPDATE}, so only those rows are
+     * locked, and then updated with one set-based {@code UPDATE ... WHERE id IN (...)} that
+     * also increments their versions. Being a bulk JPQL statement, it invalidates the
+     * second-level cache region of {@link Car} on completion.</p>
+     * 
+     * @param specification the filter
+     * @param afterId the last ID of the previous chunk, or {@code null} for the first chunk
+     * @param limit the maximum number of rows to update
+     * @param update the changes to apply
+     * @return the IDs of the updated cars, in ascending order
+     */
+	@Transactional(timeout = WRITE_TIMEOUT_SECONDS)
+	List<Long> updateMatching(Specification<Car> specification, Long afterId, int limit, CarBulkUpdate update);
+
+	/**
+     * Deletes the next chunk of matching {@link Car} rows, in ID order.
+     * 
+     * <p>Same locking and chunking as {@link #updateMatching}, with one set-based
+     * {@code DELETE ... WHERE id IN (...)}.</p>
+     * 
+     * @param specification the filter
+     * @param afterId the last ID of the previous chunk, or {@code null} for the first chunk
+     * @param limit the maximum number of rows to delete
+     * @return the IDs of the deleted cars, in ascending order
+     */
+	@Transactional(timeout = WRITE_TIMEOUT_SECONDS)
+	List<Long> deleteMatching(Specification<Car> specification, Long afterId, int limit);
+}
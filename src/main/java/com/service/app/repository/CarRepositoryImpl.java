@@ -0,0 +1,515 @@
+package com.service.app.repository;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.hibernate.CacheMode;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.namedparam.BeanPropertySqlParameterSource;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.transaction.TransactionTimedOutException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.service.app.entity.Car;
+import com.service.app.model.CarBulkUpdate;
+import com.service.app.model.CarCursor;
+import com.service.app.model.CarEvent;
+import com.service.app.model.CarPageRequest;
+import com.service.app.model.CarSortKey;
+import com.service.app.model.CarSummary;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TupleElement;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+/**
+ * Implementation of {@link CarRepositoryCustom}, picked up by Spring Data through the
+ * {@code Impl} naming convention.
+ * 
+ * <p>A change that commits later than {@code car-service.changes.settle-time} after it was
+ * logged may have been skipped by delta sync clients. A write whose change has reached
+ * that age before its commit starts is rolled back with a
+ * {@link TransactionTimedOutException}. A commit that itself takes the change past that
+ * age is logged as a warning and counted in {@value #LATE_COMMITS_METRIC}.</p>
+ * 
+ * @author Wellington
+ * @version 1.0 
+ * 
+ */
+public class CarRepositoryImpl implements CarRepositoryCustom {
+
+	public static final String LATE_COMMITS_METRIC = "car.changes.late.commits";
+
+	private static final Logger logger = LoggerFactory.getLogger(CarRepositoryImpl.class);
+
+	private static final String INSERT_SQL = "insert into cars (id, brand, model, model_year, color, license_plate, "
+			+ "odometer, fuel_type, transmission, horse_power, engine_capacity, number_of_doors, body_type, price, "
+			+ "manufacture_date, owner, version) values (:id, :brand, :model, :modelYear, :color, :licensePlate, "
+			+ ":odometer, :fuelType, :transmission, :horsePower, :engineCapacity, :numberOfDoors, :bodyType, :price, "
+			+ ":manufactureDate, :owner, 0)";
+
+	private static final String UPDATE_SQL = "update cars set brand = :brand, model = :model, model_year = :modelYear, "
+			+ "color = :color, license_plate = :licensePlate, odometer = :odometer, fuel_type = :fuelType, "
+			+ "transmission = :transmission, horse_power = :horsePower, engine_capacity = :engineCapacity, "
+			+ "number_of_doors = :numberOfDoors, body_type = :bodyType, price = :price, "
+			+ "manufacture_date = :manufactureDate, owner = :owner, version = version + 1 where id = :id";
+
+	private static final String VERSION_CONDITION = " and version = :version";
+
+	private static final String LOG_CHANGE_SQL = "insert into car_changes (car_id, change_type, version, changed_at) "
+			+ "values (:carId, :type, :version, utc_timestamp(6))";
+
+	private static final String LOG_UPDATE_SQL = "insert into car_changes (car_id, change_type, version, changed_at) "
+			+ "select id, 'UPDATED', version, utc_timestamp(6) from cars where id = :carId";
+
+	private static final String LOG_UPDATES_SQL = "insert into car_changes (car_id, change_type, version, changed_at) "
+			+ "select id, 'UPDATED', version, utc_timestamp(6) from cars where id in (:carIds)";
+
+	private static final String DELETE_SQL = "delete from cars where id = :id";
+
+	private static final String DELETE_ALL_JPQL = "delete from Car c where c.id in :ids";
+
+	private static final String[] KEY_COLUMNS = { "id" };
+
+	private static final String VERSION_PROPERTY = "version";
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Autowired
+	private NamedParameterJdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private ObjectProvider<MeterRegistry> meterRegistry;
+
+	@Value("${car-service.changes.settle-time:3s}")
+	private Duration settleTime;
+
+	/**
+	 * Warns when the settle time does not exceed the write timeout, so a write may still
+	 * commit after delta sync has moved past its change.
+	 */
+	@PostConstruct
+	void checkSettleTime() {
+		if (!settleTime.isZero() && settleTime.compareTo(Duration.ofSeconds(WRITE_TIMEOUT_SECONDS)) <= 0) {
+			logger.warn("car-service.changes.settle-time ({}) should exceed the write timeout of {}s, "
+					+ "or delta sync may skip changes", settleTime, WRITE_TIMEOUT_SECONDS);
+		}
+	}
+
+	@Override
+	public List<Car> findPage(Specification<Car> specification, CarPageRequest request, int maxResults) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Car> query = cb.createQuery(Car.class);
+		Root<Car> root = query.from(Car.class);
+
+		query.select(root)
+				.where(pagePredicates(specification, request, root, query, cb))
+				.orderBy(pageOrder(request, root, cb));
+
+		return entityManager.createQuery(query)
+				.setMaxResults(maxResults)
+				.getResultList();
+	}
+
+	@Override
+	public List<CarSummary> findSummaryPage(CarPageRequest request, int maxResults) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<CarSummary> query = cb.createQuery(CarSummary.class);
+		Root<Car> root = query.from(Car.class);
+
+		query.select(cb.construct(CarSummary.class,
+						root.get("id"), root.get("brand"), root.get("model"),
+						root.get("modelYear"), root.get("price"), root.get("odometer")))
+				.where(pagePredicates(null, request, root, query, cb))
+				.orderBy(pageOrder(request, root, cb));
+
+		return entityManager.createQuery(query)
+				.setMaxResults(maxResults)
+				.getResultList();
+	}
+
+	@Override
+	public List<Map<String, Object>> findFieldPage(Set<String> properties, CarPageRequest request, int maxResults) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Tuple> query = cb.createTupleQuery();
+		Root<Car> root = query.from(Car.class);
+
+		query.multiselect(selections(properties, root))
+				.where(pagePredicates(null, request, root, query, cb))
+				.orderBy(pageOrder(request, root, cb));
+
+		return entityManager.createQuery(query)
+				.setMaxResults(maxResults)
+				.getResultStream()
+				.map(CarRepositoryImpl::toMap)
+				.toList();
+	}
+
+	@Override
+	public Optional<Map<String, Object>> findFieldsById(Long id, Set<String> properties) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Tuple> query = cb.createTupleQuery();
+		Root<Car> root = query.from(Car.class);
+
+		query.multiselect(selections(properties, root))
+				.where(cb.equal(root.get(CarSortKey.ID.getProperty()), id));
+
+		return entityManager.createQuery(query)
+				.getResultStream()
+				.findFirst()
+				.map(CarRepositoryImpl::toMap);
+	}
+
+	@Override
+	public Stream<Car> streamAll(int fetchSize) {
+		return entityManager.createQuery("select c from Car c order by c.id", Car.class)
+				.setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+				.setHint(HibernateHints.HINT_READ_ONLY, true)
+				.setHint(HibernateHints.HINT_CACHE_MODE, CacheMode.IGNORE)
+				.getResultStream();
+	}
+
+	@Override
+	public void detach(Car car) {
+		entityManager.detach(car);
+	}
+
+	@Override
+	public Car insert(Car car) {
+		KeyHolder keyHolder = new GeneratedKeyHolder();
+		jdbcTemplate.update(INSERT_SQL, new BeanPropertySqlParameterSource(car), keyHolder, KEY_COLUMNS);
+		if (car.getId() == null) {
+			car.setId(keyHolder.getKey().longValue());
+		}
+		car.setVersion(0L);
+		logChange(car.getId(), CarEvent.Type.CREATED, 0L);
+		return car;
+	}
+
+	@Override
+	public int update(Car car) {
+		String sql = car.getVersion() == null ? UPDATE_SQL : UPDATE_SQL + VERSION_CONDITION;
+		int updated = jdbcTemplate.update(sql, new BeanPropertySqlParameterSource(car));
+		if (updated > 0) {
+			evictFromSecondLevelCache(car.getId());
+			watchCommit();
+			jdbcTemplate.update(LOG_UPDATE_SQL, Map.of("carId", car.getId()));
+		}
+		return updated;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>Written through JDBC like {@link #update(Car)}, so only this car is evicted from
+	 * the second-level cache: Hibernate clears the whole region after a JPQL bulk update.</p>
+	 */
+	@Override
+	public int patch(Long id, Map<String, Object> changes, Long expectedVersion) {
+		AbstractEntityPersister persister = (AbstractEntityPersister) entityManager.getEntityManagerFactory()
+				.unwrap(SessionFactoryImplementor.class)
+				.getMappingMetamodel()
+				.getEntityDescriptor(Car.class);
+
+		StringBuilder sql = new StringBuilder("update cars set ");
+		MapSqlParameterSource parameters = new MapSqlParameterSource("id", id);
+		changes.forEach((property, value) -> {
+			sql.append(persister.getPropertyColumnNames(property)[0]).append(" = :").append(property).append(", ");
+			parameters.addValue(property, value);
+		});
+		sql.append("version = version + 1 where id = :id");
+		if (expectedVersion != null) {
+			sql.append(VERSION_CONDITION);
+			parameters.addValue(VERSION_PROPERTY, expectedVersion);
+		}
+
+		int updated = jdbcTemplate.update(sql.toString(), parameters);
+		if (updated > 0) {
+			evictFromSecondLevelCache(id);
+			watchCommit();
+			jdbcTemplate.update(LOG_UPDATE_SQL, Map.of("carId", id));
+		}
+		return updated;
+	}
+
+	@Override
+	public void insertAll(List<Car> cars) {
+		SqlParameterSource[] batch = cars.stream()
+				.map(BeanPropertySqlParameterSource::new)
+				.toArray(SqlParameterSource[]::new);
+		
+		KeyHolder keyHolder = new GeneratedKeyHolder();
+		jdbcTemplate.batchUpdate(INSERT_SQL, batch, keyHolder, KEY_COLUMNS);
+		
+		List<Map<String, Object>> keys = keyHolder.getKeyList();
+		for (int i = 0; i < cars.size(); i++) {
+			cars.get(i).setId(((Number) keys.get(i).values().iterator().next()).longValue());
+			cars.get(i).setVersion(0L);
+		}
+		
+		watchCommit();
+		jdbcTemplate.batchUpdate(LOG_CHANGE_SQL, cars.stream()
+				.map(car -> changeParameters(car.getId(), CarEvent.Type.CREATED, 0L))
+				.toArray(SqlParameterSource[]::new));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>Deleted through JDBC, for the same reason as {@link #patch(Long, Map, Long)}.</p>
+	 */
+	@Override
+	public int removeById(Long id) {
+		int removed = jdbcTemplate.update(DELETE_SQL, Map.of("id", id));
+		if (removed > 0) {
+			evictFromSecondLevelCache(id);
+			logChange(id, CarEvent.Type.DELETED, null);
+		}
+		return removed;
+	}
+
+	@Override
+	public List<Long> updateMatching(Specification<Car> specification, Long afterId, int limit, CarBulkUpdate update) {
+		List<Long> ids = lockMatchingIds(specification, afterId, limit);
+		if (ids.isEmpty()) {
+			return ids;
+		}
+
+		StringBuilder jpql = new StringBuilder("update Car c set c.version = c.version + 1");
+		if (update.getPriceChangePercent() != null) {
+			jpql.append(", c.price = round(c.price * :priceFactor, 2)");
+		}
+		if (update.getOwner() != null) {
+			jpql.append(", c.owner = :owner");
+		}
+		jpql.append(" where c.id in :ids");
+
+		Query query = entityManager.createQuery(jpql.toString()).setParameter("ids", ids);
+		if (update.getPriceChangePercent() != null) {
+			query.setParameter("priceFactor", BigDecimal.ONE.add(update.getPriceChangePercent().movePointLeft(2)));
+		}
+		if (update.getOwner() != null) {
+			query.setParameter("owner", update.getOwner());
+		}
+		query.executeUpdate();
+
+		watchCommit();
+		jdbcTemplate.update(LOG_UPDATES_SQL, Map.of("carIds", ids));
+		return ids;
+	}
+
+	@Override
+	public List<Long> deleteMatching(Specification<Car> specification, Long afterId, int limit) {
+		List<Long> ids = lockMatchingIds(specification, afterId, limit);
+		if (ids.isEmpty()) {
+			return ids;
+		}
+
+		entityManager.createQuery(DELETE_ALL_JPQL)
+				.setParameter("ids", ids)
+				.executeUpdate();
+		watchCommit();
+		jdbcTemplate.batchUpdate(LOG_CHANGE_SQL, ids.stream()
+				.map(id -> changeParameters(id, CarEvent.Type.DELETED, null))
+				.toArray(SqlParameterSource[]::new));
+		return ids;
+	}
+
+	/**
+     * Selects the IDs of the next chunk of matching cars with {@code FOR UPDATE}, so they
+     * cannot change, or stop matching, before the chunk is written.
+     */
+	private List<Long> lockMatchingIds(Specification<Car> specification, Long afterId, int limit) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Long> query = cb.createQuery(Long.class);
+		Root<Car> root = query.from(Car.class);
+		Path<Long> id = root.get(CarSortKey.ID.getProperty());
+
+		List<Predicate> predicates = new ArrayList<>(2);
+		Predicate filter = specification.toPredicate(root, query, cb);
+		if (filter != null) {
+			predicates.add(filter);
+		}
+		if (afterId != null) {
+			predicates.add(cb.greaterThan(id, afterId));
+		}
+		query.select(id)
+				.where(predicates.toArray(new Predicate[0]))
+				.orderBy(cb.asc(id));
+
+		return entityManager.createQuery(query)
+				.setLockMode(LockModeType.PESSIMISTIC_WRITE)
+				.setMaxResults(limit)
+				.getResultList();
+	}
+
+	private void logChange(Long carId, CarEvent.Type type, Long version) {
+		watchCommit();
+		jdbcTemplate.update(LOG_CHANGE_SQL, changeParameters(carId, type, version));
+	}
+
+	/**
+	 * Times the current transaction from the change log write, which stamps the change, to
+	 * its commit. The transaction is rolled back when the change is already older than the
+	 * settle time before the commit, and reported when the commit ends later than that.
+	 */
+	private void watchCommit() {
+		if (settleTime.isZero() || !TransactionSynchronizationManager.isSynchronizationActive()) {
+			return;
+		}
+		long loggedAt = System.nanoTime();
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void beforeCommit(boolean readOnly) {
+				long elapsed = System.nanoTime() - loggedAt;
+				if (elapsed >= settleTime.toNanos()) {
+					throw new TransactionTimedOutException("A car change was logged " + elapsed / 1_000_000
+							+ " ms before its commit, not less than the settle time of " + settleTime
+							+ "; rolled back so delta sync clients cannot skip it");
+				}
+			}
+
+			@Override
+			public void afterCommit() {
+				long elapsed = System.nanoTime() - loggedAt;
+				if (elapsed > settleTime.toNanos()) {
+					logger.warn("A car change committed {} ms after it was logged, later than the settle time of {}; "
+							+ "delta sync clients may have skipped it", elapsed / 1_000_000, settleTime);
+					meterRegistry.ifAvailable(registry -> Counter.builder(LATE_COMMITS_METRIC)
+							.description("Car changes committed later than the delta sync settle time")
+							.register(registry)
+							.increment());
+				}
+			}
+		});
+	}
+
+	private static SqlParameterSource changeParameters(Long carId, CarEvent.Type type, Long version) {
+		return new MapSqlParameterSource()
+				.addValue("carId", carId)
+				.addValue("type", type.name())
+				.addValue("version", version);
+	}
+
+	/**
+	 * Drops a car from Hibernate's second-level cache after a write Hibernate did not see.
+	 * The entry is evicted again once the transaction completes, in case a concurrent read
+	 * put the old row back in the meantime.
+	 */
+	private void evictFromSecondLevelCache(Long id) {
+		jakarta.persistence.Cache cache = entityManager.getEntityManagerFactory().getCache();
+		cache.evict(Car.class, id);
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCompletion(int status) {
+					cache.evict(Car.class, id);
+				}
+			});
+		}
+	}
+
+	private static List<Selection<?>> selections(Set<String> properties, Root<Car> root) {
+		return properties.stream()
+				.<Selection<?>>map(property -> root.get(property).alias(property))
+				.toList();
+	}
+
+	private static Map<String, Object> toMap(Tuple tuple) {
+		Map<String, Object> row = new LinkedHashMap<>();
+		for (TupleElement<?> element : tuple.getElements()) {
+			row.put(element.getAlias(), tuple.get(element));
+		}
+		return row;
+	}
+
+	/**
+     * Combines the optional filter with the keyset seek condition of the request cursor.
+     */
+	private static Predicate[] pagePredicates(Specification<Car> specification, CarPageRequest request,
+			Root<Car> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
+		
+		List<Predicate> predicates = new ArrayList<>(2);
+		if (specification != null) {
+			Predicate filter = specification.toPredicate(root, query, cb);
+			if (filter != null) {
+				predicates.add(filter);
+			}
+		}
+		if (request.getAfter() != null) {
+			predicates.add(seek(request.getAfter(), root, cb));
+		}
+		return predicates.toArray(new Predicate[0]);
+	}
+
+	/**
+     * Builds {@code key > :value OR (key = :value AND id > :id)}, mirrored for descending order.
+     */
+	@SuppressWarnings("unchecked")
+	private static Predicate seek(CarCursor cursor, Root<Car> root, CriteriaBuilder cb) {
+		boolean ascending = cursor.getDirection().isAscending();
+		Path<Long> id = root.get(CarSortKey.ID.getProperty());
+		Predicate afterId = beyond(cb, id, cursor.getId(), ascending);
+		if (cursor.getSortKey() == CarSortKey.ID) {
+			return afterId;
+		}
+		
+		Path<Comparable<Object>> key = root.get(cursor.getSortKey().getProperty());
+		Comparable<Object> value = (Comparable<Object>) cursor.getValue();
+		return cb.or(
+				beyond(cb, key, value, ascending),
+				cb.and(cb.equal(key, value), afterId));
+	}
+
+	private static <Y extends Comparable<? super Y>> Predicate beyond(CriteriaBuilder cb,
+			Expression<? extends Y> expression, Y value, boolean ascending) {
+		return ascending ? cb.greaterThan(expression, value) : cb.lessThan(expression, value);
+	}
+
+	private static List<Order> pageOrder(CarPageRequest request, Root<Car> root, CriteriaBuilder cb) {
+		boolean ascending = request.getDirection().isAscending();
+		List<Order> orders = new ArrayList<>(2);
+		if (request.getSortKey() != CarSortKey.ID) {
+			Path<Object> key = root.get(request.getSortKey().getProperty());
+			orders.add(ascending ? cb.asc(key) : cb.desc(key));
+		}
+		Path<Object> id = root.get(CarSortKey.ID.getProperty());
+		orders.add(ascending ? cb.asc(id) : cb.desc(id));
+		return orders;
+	}
+}
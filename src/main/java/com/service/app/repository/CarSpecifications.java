@@ -0,0 +1,72 @@
+package com.service.app.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.service.app.entity.Car;
+import com.service.app.model.CarSearchCriteria;
+
+import jakarta.persistence.criteria.Predicate;
+
+/**
+ * Factory of {@link Specification} filters over {@link Car} entities.
+ * 
+ * <p>Filters only use equality on the leading columns and a range on the last one, in
+ * the order of the composite indexes declared on {@link Car}, so MySQL can resolve them
+ * with an index range scan.</p>
+ * 
+ * @author Wellington
+ * @version 1.0 
+ * 
+ */
+public final class CarSpecifications {
+
+	private CarSpecifications() {}
+
+	/**
+     * Builds the conjunction of every filter set on the given criteria.
+     * 
+     * @param criteria the search criteria
+     * @return a {@link Specification} matching cars that satisfy all the set filters
+     */
+	public static Specification<Car> matching(CarSearchCriteria criteria) {
+		return (root, query, cb) -> {
+			List<Predicate> predicates = new ArrayList<>();
+			
+			if (criteria.getBrand() != null) {
+				predicates.add(cb.equal(root.get("brand"), criteria.getBrand()));
+			}
+			if (criteria.getModel() != null) {
+				predicates.add(cb.equal(root.get("model"), criteria.getModel()));
+			}
+			if (criteria.getFuelType() != null) {
+				predicates.add(cb.equal(root.get("fuelType"), criteria.getFuelType()));
+			}
+			if (criteria.getTransmission() != null) {
+				predicates.add(cb.equal(root.get("transmission"), criteria.getTransmission()));
+			}
+			if (criteria.getBodyType() != null) {
+				predicates.add(cb.equal(root.get("bodyType"), criteria.getBodyType()));
+			}
+			if (criteria.getMinModelYear() != null) {
+				predicates.add(cb.greaterThanOrEqualTo(root.get("modelYear"), criteria.getMinModelYear()));
+			}
+			if (criteria.getMaxModelYear() != null) {
+				predicates.add(cb.lessThanOrEqualTo(root.get("modelYear"), criteria.getMaxModelYear()));
+			}
+			if (criteria.getMinPrice() != null) {
+				predicates.add(cb.greaterThanOrEqualTo(root.get("price"), criteria.getMinPrice()));
+			}
+			if (criteria.getMaxPrice() != null) {
+				predicates.add(cb.lessThanOrEqualTo(root.get("price"), criteria.getMaxPrice()));
+			}
+			if (criteria.getMaxOdometer() != null) {
+				predicates.add(cb.lessThanOrEqualTo(root.get("odometer"), criteria.getMaxOdometer()));
+			}
+			
+			return predicates.isEmpty() ? null : cb.and(predicates.toArray(new Predicate[0]));
+		};
+	}
+}
@@ -0,0 +1,263 @@
+package com.service.app.search;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.service.app.datasource.ReplicaRoutingDataSource;
+import com.service.app.entity.Car;
+import com.service.app.events.ChangedCars;
+import com.service.app.exceptions.ValidationException;
+import com.service.app.model.CarEvent;
+import com.service.app.model.CarPageRequest;
+import com.service.app.model.CarTextHit;
+import com.service.app.model.CarTextSearchResult;
+import com.service.app.repository.CarRepository;
+import com.service.app.service.CarService;
+
+/**
+ * In-process full-text index of the brand, model, color, body type, fuel type and
+ * transmission of every car, answering free-text searches such as
+ * {@code "vermelha bmw x5 suv"} without {@code LIKE '%...%'} scans of MySQL.
+ *
+ * <p>The index is built once at startup, or by the first search: the inventory is
+ * streamed from the database in chunks of {@value #BUILD_CHUNK_SIZE} cars, each indexed
+ * on its own thread of a fork-join pool of {@code car-service.text-search.parallelism}
+ * threads, and the partial indexes are appended in order. After that it is kept current
+ * from the {@link CarEvent}s, as described in {@link ChangedCars}: the next search
+ * reindexes the changed cars before ranking.</p>
+ *
+ * @author Wellington
+ * @version 1.0
+ */
+@Component
+public class CarTextIndex implements DisposableBean {
+
+	private static final Logger logger = LoggerFactory.getLogger(CarTextIndex.class);
+
+	private static final int BUILD_CHUNK_SIZE = 10_000;
+	private static final int MAX_QUERY_TERMS = 16;
+
+	private final CarService service;
+	private final ChangedCars changedCars;
+	private final ForkJoinPool pool;
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	private InvertedIndex index;
+	private volatile boolean loaded;
+
+	@Autowired
+	public CarTextIndex(CarService service, CarRepository repository,
+			@Value("${car-service.text-search.reload-chunk-size:500}") int reloadChunkSize,
+			@Value("${car-service.text-search.parallelism:0}") int parallelism) {
+		this.service = service;
+		this.changedCars = new ChangedCars(repository, reloadChunkSize);
+		this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Builds the index once the application is up, so the first search does not pay for it.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void load() {
+		refresh();
+	}
+
+	/**
+     * Marks the car of an event as changed. Runs after the publishing transaction commits,
+     * or right away when there is none.
+     *
+     * @param event the change
+     */
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onCarEvent(CarEvent event) {
+		changedCars.mark(event);
+	}
+
+	/**
+     * Ranks the cars by relevance to a free-text query.
+     *
+     * <p>The query is split into words like the indexed properties, ignoring case and
+     * accents. Cars holding any of the words match, and are ranked by BM25: words that few
+     * cars hold weigh more, and so do matches in cars with fewer words. The best matches
+     * are then loaded by ID from the primary, which the index is kept in step with; cars
+     * deleted in between are left out.</p>
+     *
+     * @param query the words to look for
+     * @param limit the maximum number of hits to return
+     * @return the best matches and the number of matching cars
+     * @throws ValidationException if the query has no word or too many, or the limit is out of range
+     */
+	public CarTextSearchResult search(String query, int limit) {
+		if (limit < 1 || limit > CarPageRequest.MAX_LIMIT) {
+			throw new ValidationException("Limit must be between 1 and " + CarPageRequest.MAX_LIMIT);
+		}
+		List<String> terms = TextAnalyzer.terms(query);
+		if (terms.isEmpty()) {
+			throw new ValidationException("The query must contain a letter or a digit");
+		}
+		if (terms.size() > MAX_QUERY_TERMS) {
+			throw new ValidationException("The query must not contain more than " + MAX_QUERY_TERMS + " words");
+		}
+
+		refresh();
+		InvertedIndex.TopDocs top;
+		lock.readLock().lock();
+		try {
+			top = index.search(terms, limit);
+		} finally {
+			lock.readLock().unlock();
+		}
+		if (top.carIds.length == 0) {
+			return new CarTextSearchResult(top.total, List.of());
+		}
+
+		List<Long> ids = new ArrayList<>(top.carIds.length);
+		Map<Long, Double> scores = new HashMap<>();
+		for (int i = 0; i < top.carIds.length; i++) {
+			ids.add(top.carIds[i]);
+			scores.put(top.carIds[i], top.scores[i]);
+		}
+		List<CarTextHit> hits = new ArrayList<>(ids.size());
+		for (Car car : ReplicaRoutingDataSource.onPrimary(() -> service.getCarsByIds(ids)).getCars()) {
+			hits.add(new CarTextHit(car, scores.get(car.getId())));
+		}
+		return new CarTextSearchResult(top.total, hits);
+	}
+
+	/**
+     * Returns the number of cars in the index, building it first if needed.
+     *
+     * @return the car count
+     */
+	public int size() {
+		refresh();
+		lock.readLock().lock();
+		try {
+			return index.size();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	@Override
+	public void destroy() {
+		pool.shutdownNow();
+	}
+
+	/**
+	 * Builds the index on first use, then reindexes the cars changed since the last call.
+	 */
+	private void refresh() {
+		if (loaded && changedCars.isEmpty()) {
+			return;
+		}
+		synchronized (this) {
+			if (!loaded) {
+				long start = System.nanoTime();
+				Builder builder = new Builder();
+				ReplicaRoutingDataSource.onPrimary(() -> service.exportCars(builder));
+				InvertedIndex built = builder.finish();
+				lock.writeLock().lock();
+				try {
+					index = built;
+				} finally {
+					lock.writeLock().unlock();
+				}
+				loaded = true;
+				logger.info("Indexed {} cars for full-text search in {} ms", built.size(),
+						(System.nanoTime() - start) / 1_000_000);
+			}
+
+			changedCars.reload(this::apply);
+		}
+	}
+
+	/**
+	 * Reindexes the reloaded cars of a chunk and removes those that no longer exist.
+	 */
+	private void apply(List<Long> ids, List<Car> cars) {
+		lock.writeLock().lock();
+		try {
+			Set<Long> found = new HashSet<>();
+			for (Car car : cars) {
+				index.add(car);
+				found.add(car.getId());
+			}
+			for (Long id : ids) {
+				if (!found.contains(id)) {
+					index.remove(id);
+				}
+			}
+			index.compactIfNeeded();
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Indexes the streamed cars chunk by chunk on the pool, and appends the partial indexes
+	 * in stream order. At most two chunks per thread are in flight, so a database faster
+	 * than the indexing does not pile up cars in memory.
+	 */
+	private final class Builder implements Consumer<Car> {
+
+		private final InvertedIndex built = new InvertedIndex();
+		private final Deque<ForkJoinTask<InvertedIndex>> pending = new ArrayDeque<>();
+		private List<Car> chunk = new ArrayList<>(BUILD_CHUNK_SIZE);
+
+		@Override
+		public void accept(Car car) {
+			chunk.add(car);
+			if (chunk.size() == BUILD_CHUNK_SIZE) {
+				submit();
+			}
+		}
+
+		InvertedIndex finish() {
+			if (!chunk.isEmpty()) {
+				submit();
+			}
+			while (!pending.isEmpty()) {
+				built.addAll(pending.removeFirst().join());
+			}
+			return built;
+		}
+
+		private void submit() {
+			List<Car> cars = chunk;
+			chunk = new ArrayList<>(BUILD_CHUNK_SIZE);
+			pending.addLast(pool.submit(() -> {
+				InvertedIndex part = new InvertedIndex();
+				Map<String, List<String>> analyzed = new HashMap<>();
+				for (Car car : cars) {
+					part.add(car.getId(), InvertedIndex.termsOf(car, analyzed));
+				}
+				return part;
+			}));
+			while (pending.size() > 2 * pool.getParallelism()) {
+				built.addAll(pending.removeFirst().join());
+			}
+		}
+	}
+}
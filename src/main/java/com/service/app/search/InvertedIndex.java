@@ -0,0 +1,270 @@
+package com.service.app.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+import com.service.app.analytics.IdIndex;
+import com.service.app.entity.Car;
+
+/**
+ * Inverted index of the text properties of cars, ranked with BM25.
+ *
+ * <p>Each car is one document, numbered in the order it was added, and each term maps to
+ * the {@link Postings} of the documents holding it. A changed car is removed and added
+ * again under a new number, so every postings list stays sorted. Removed documents are
+ * only flagged; once they make up a quarter of the index, {@link #compact()} drops them
+ * from the postings and renumbers the rest. Until then searches skip them, and the
+ * document frequency of a term only counts its live documents: see
+ * {@link Postings#liveSize}.</p>
+ *
+ * <p>Not thread-safe; see {@link CarTextIndex}.</p>
+ *
+ * @author Wellington
+ * @version 1.0
+ */
+final class InvertedIndex {
+
+	/** Term frequency saturation of BM25. */
+	static final double K1 = 1.2;
+	/** Document length normalization of BM25. */
+	static final double B = 0.75;
+
+	private static final int MIN_COMPACTED_REMOVALS = 1024;
+
+	private final Map<String, Postings> terms = new HashMap<>();
+	private final IdIndex docsByCarId = new IdIndex(0);
+	private final BitSet removed = new BitSet();
+	private long[] carIds = new long[16];
+	private int[] lengths = new int[16];
+	private int docs;
+	private int liveDocs;
+	private long removals;
+	private long liveLength;
+
+	/**
+     * Ranked matches of a query.
+     */
+	static final class TopDocs {
+
+		final long total;
+		final long[] carIds;
+		final double[] scores;
+
+		TopDocs(long total, long[] carIds, double[] scores) {
+			this.total = total;
+			this.carIds = carIds;
+			this.scores = scores;
+		}
+	}
+
+	/**
+     * Returns the terms of the indexed properties of a car: brand, model, color, body
+     * type, fuel type and transmission.
+     *
+     * @param analyzed the terms of the property values analyzed so far, reused and filled
+     *        in, since few distinct values are shared by many cars
+     */
+	static List<String> termsOf(Car car, Map<String, List<String>> analyzed) {
+		List<String> carTerms = new ArrayList<>();
+		for (String value : new String[] { car.getBrand(), car.getModel(), car.getColor(), car.getBodyType(),
+				car.getFuelType(), car.getTransmission() }) {
+			if (value != null) {
+				carTerms.addAll(analyzed.computeIfAbsent(value, key -> TextAnalyzer.terms(key)));
+			}
+		}
+		return carTerms;
+	}
+
+	/**
+     * Adds a car, replacing its previous document if it is already present.
+     */
+	void add(Car car) {
+		add(car.getId(), termsOf(car, new HashMap<>()));
+	}
+
+	void add(long carId, List<String> carTerms) {
+		remove(carId);
+		if (docs == carIds.length) {
+			carIds = Arrays.copyOf(carIds, docs + (docs >> 1));
+			lengths = Arrays.copyOf(lengths, carIds.length);
+		}
+		int doc = docs++;
+		carIds[doc] = carId;
+		lengths[doc] = carTerms.size();
+		docsByCarId.put(carId, doc);
+		liveDocs++;
+		liveLength += carTerms.size();
+
+		Map<String, Integer> frequencies = new HashMap<>();
+		for (String term : carTerms) {
+			frequencies.merge(term, 1, Integer::sum);
+		}
+		frequencies.forEach((term, frequency) -> terms.computeIfAbsent(term, key -> new Postings()).add(doc, frequency));
+	}
+
+	/**
+     * Removes a car, if present.
+     */
+	void remove(long carId) {
+		int doc = docsByCarId.remove(carId);
+		if (doc == IdIndex.ABSENT) {
+			return;
+		}
+		removed.set(doc);
+		removals++;
+		liveDocs--;
+		liveLength -= lengths[doc];
+	}
+
+	/**
+     * Appends the documents of another index, which must not hold any car of this one
+     * nor removed documents. Used to merge indexes built in parallel.
+     */
+	void addAll(InvertedIndex other) {
+		int docBase = docs;
+		if (docs + other.docs > carIds.length) {
+			carIds = Arrays.copyOf(carIds, docs + other.docs);
+			lengths = Arrays.copyOf(lengths, carIds.length);
+		}
+		System.arraycopy(other.carIds, 0, carIds, docBase, other.docs);
+		System.arraycopy(other.lengths, 0, lengths, docBase, other.docs);
+		for (int doc = 0; doc < other.docs; doc++) {
+			docsByCarId.put(other.carIds[doc], docBase + doc);
+		}
+		docs += other.docs;
+		liveDocs += other.liveDocs;
+		liveLength += other.liveLength;
+		other.terms.forEach((term, postings) -> terms.computeIfAbsent(term, key -> new Postings()).addAll(postings, docBase));
+	}
+
+	/**
+     * Drops the removed documents once they make up a quarter of the index.
+     */
+	void compactIfNeeded() {
+		int removals = docs - liveDocs;
+		if (removals >= MIN_COMPACTED_REMOVALS && removals * 4L >= docs) {
+			compact();
+		}
+	}
+
+	void compact() {
+		int[] renumbered = new int[docs];
+		int kept = 0;
+		for (int doc = 0; doc < docs; doc++) {
+			if (removed.get(doc)) {
+				renumbered[doc] = -1;
+			} else {
+				carIds[kept] = carIds[doc];
+				lengths[kept] = lengths[doc];
+				docsByCarId.put(carIds[kept], kept);
+				renumbered[doc] = kept++;
+			}
+		}
+		for (Iterator<Postings> postings = terms.values().iterator(); postings.hasNext();) {
+			Postings list = postings.next();
+			list.renumber(renumbered);
+			if (list.size == 0) {
+				postings.remove();
+			}
+		}
+		docs = kept;
+		removed.clear();
+	}
+
+	int size() {
+		return liveDocs;
+	}
+
+	/**
+     * Ranks the cars holding any of the query terms by their BM25 score, summed over the
+     * distinct query terms.
+     *
+     * <p>The postings of the query terms are merged document by document, so the cost is
+     * linear in their length and only the best {@code limit} documents are kept. Ties go
+     * to the earlier document.</p>
+     *
+     * @param queryTerms the analyzed query
+     * @param limit the maximum number of cars to return
+     * @return the best matches, best first, and the number of matching cars
+     */
+	TopDocs search(List<String> queryTerms, int limit) {
+		List<Postings> matched = new ArrayList<>();
+		for (String term : new LinkedHashSet<>(queryTerms)) {
+			Postings postings = terms.get(term);
+			if (postings != null) {
+				matched.add(postings);
+			}
+		}
+		Postings[] lists = matched.toArray(new Postings[0]);
+		double[] weights = new double[lists.length];
+		for (int i = 0; i < lists.length; i++) {
+			int frequency = lists[i].liveSize(removed, removals);
+			weights[i] = Math.log(1 + (liveDocs - frequency + 0.5) / (frequency + 0.5));
+		}
+		double averageLength = liveDocs == 0 ? 1 : (double) liveLength / liveDocs;
+
+		int[] cursors = new int[lists.length];
+		PriorityQueue<ScoredDoc> top = new PriorityQueue<>(limit + 1);
+		long total = 0;
+		while (true) {
+			int doc = Integer.MAX_VALUE;
+			for (int i = 0; i < lists.length; i++) {
+				if (cursors[i] < lists[i].size) {
+					doc = Math.min(doc, lists[i].docs[cursors[i]]);
+				}
+			}
+			if (doc == Integer.MAX_VALUE) {
+				break;
+			}
+
+			double norm = K1 * (1 - B + B * lengths[doc] / averageLength);
+			double score = 0;
+			for (int i = 0; i < lists.length; i++) {
+				Postings postings = lists[i];
+				if (cursors[i] < postings.size && postings.docs[cursors[i]] == doc) {
+					int frequency = postings.frequencies[cursors[i]++];
+					score += weights[i] * frequency * (K1 + 1) / (frequency + norm);
+				}
+			}
+			if (removed.get(doc)) {
+				continue;
+			}
+
+			total++;
+			if (top.size() < limit) {
+				top.add(new ScoredDoc(doc, score));
+			} else if (score > top.peek().score()) {
+				top.poll();
+				top.add(new ScoredDoc(doc, score));
+			}
+		}
+
+		long[] ids = new long[top.size()];
+		double[] scores = new double[top.size()];
+		for (int i = top.size() - 1; i >= 0; i--) {
+			ScoredDoc scored = top.poll();
+			ids[i] = carIds[scored.doc()];
+			scores[i] = scored.score();
+		}
+		return new TopDocs(total, ids, scores);
+	}
+
+	/**
+     * A document and its score, ordered worst first: by score, then later documents first.
+     */
+	private record ScoredDoc(int doc, double score) implements Comparable<ScoredDoc> {
+
+		@Override
+		public int compareTo(ScoredDoc other) {
+			int byScore = Double.compare(score, other.score);
+			return byScore != 0 ? byScore : Integer.compare(other.doc, doc);
+		}
+	}
+}
@@ -0,0 +1,94 @@
+package com.service.app.search;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Documents containing one term, in increasing document order, with the number of
+ * occurrences of the term in each.
+ *
+ * @author Wellington
+ * @version 1.0
+ */
+final class Postings {
+
+	int[] docs = new int[4];
+	int[] frequencies = new int[4];
+	int size;
+
+	/** Documents not removed, as of {@link #countedRemovals} removals from the index. */
+	private int live;
+	private long countedRemovals;
+
+	/**
+     * Appends a document, numbered after every document already present.
+     */
+	void add(int doc, int frequency) {
+		if (size == docs.length) {
+			docs = Arrays.copyOf(docs, size << 1);
+			frequencies = Arrays.copyOf(frequencies, size << 1);
+		}
+		docs[size] = doc;
+		frequencies[size] = frequency;
+		size++;
+		live++;
+	}
+
+	/**
+     * Appends the documents of another list, shifted by {@code docBase}, which must be
+     * above every document already present.
+     */
+	void addAll(Postings other, int docBase) {
+		if (size + other.size > docs.length) {
+			docs = Arrays.copyOf(docs, size + other.size);
+			frequencies = Arrays.copyOf(frequencies, size + other.size);
+		}
+		for (int i = 0; i < other.size; i++) {
+			docs[size + i] = other.docs[i] + docBase;
+		}
+		System.arraycopy(other.frequencies, 0, frequencies, size, other.size);
+		size += other.size;
+		live += other.live;
+	}
+
+	/**
+     * Returns the number of documents not removed. The documents are only counted again
+     * when the index has had removals since the last count, so the cost is at most that of
+     * one pass over the postings, which a search makes anyway.
+     *
+     * @param removed the removed documents of the index
+     * @param removals the number of removals the index has had so far
+     */
+	int liveSize(BitSet removed, long removals) {
+		if (removals != countedRemovals) {
+			int count = 0;
+			for (int i = 0; i < size; i++) {
+				if (!removed.get(docs[i])) {
+					count++;
+				}
+			}
+			live = count;
+			countedRemovals = removals;
+		}
+		return live;
+	}
+
+	/**
+     * Drops the removed documents and renumbers the others.
+     *
+     * @param renumbered the new number of each document, negative for removed ones
+     */
+	void renumber(int[] renumbered) {
+		int kept = 0;
+		for (int i = 0; i < size; i++) {
+			int doc = renumbered[docs[i]];
+			if (doc >= 0) {
+				docs[kept] = doc;
+				frequencies[kept] = frequencies[i];
+				kept++;
+			}
+		}
+		size = kept;
+		live = kept;
+	}
+}
@@ -0,0 +1,48 @@
+package com.service.app.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Splits text into index terms: runs of letters and digits, lower-cased and without
+ * diacritics, so that {@code "Elétrico"} and {@code "eletrico"} give the same term and
+ * {@code "T-Cross"} gives {@code t} and {@code cross}.
+ *
+ * @author Wellington
+ * @version 1.0
+ */
+final class TextAnalyzer {
+
+	private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+	private TextAnalyzer() {}
+
+	/**
+     * Returns the terms of the given texts, in order and with repetitions. {@code null}
+     * texts are skipped.
+     */
+	static List<String> terms(String... texts) {
+		List<String> terms = new ArrayList<>();
+		for (String text : texts) {
+			if (text == null) {
+				continue;
+			}
+			String folded = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+					.toLowerCase(Locale.ROOT);
+			int start = -1;
+			for (int i = 0; i <= folded.length(); i++) {
+				boolean word = i < folded.length() && Character.isLetterOrDigit(folded.charAt(i));
+				if (word && start < 0) {
+					start = i;
+				} else if (!word && start >= 0) {
+					terms.add(folded.substring(start, i));
+					start = -1;
+				}
+			}
+		}
+		return terms;
+	}
+}
@@ -1,18 +1,68 @@
 package com.service.app.service;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.service.app.configuration.CacheConfiguration;
 import com.service.app.entity.Car;
+import com.service.app.entity.CarChange;
+import com.service.app.exceptions.PreconditionFailedException;
 import com.service.app.exceptions.ResourceNotFoundException;
+import com.service.app.exceptions.ValidationException;
+import com.service.app.model.CarBatchItemResult;
+import com.service.app.model.CarBatchResult;
+import com.service.app.model.CarBulkResult;
+import com.service.app.model.CarBulkUpdate;
+import com.service.app.model.CarCursor;
+import com.service.app.model.CarDelta;
+import com.service.app.model.CarDeltaPage;
+import com.service.app.model.CarEvent;
+import com.service.app.model.CarFieldSet;
+import com.service.app.model.CarLookupResult;
+import com.service.app.model.CarPage;
+import com.service.app.model.CarPageRequest;
+import com.service.app.model.CarPatch;
+import com.service.app.model.CarSearchCriteria;
+import com.service.app.model.CarSortKey;
+import com.service.app.model.CarSummary;
+import com.service.app.repository.CarChangeRepository;
 import com.service.app.repository.CarRepository;
+import com.service.app.repository.CarSpecifications;
 
 /**
  * Service for managing {@link Car} entities.
  * 
+ * <p>Read methods run in read-only transactions, which are served by a read replica
+ * when replicas are configured.</p>
+ * 
+ * <p>Every successful write publishes a {@link CarEvent}, delivered to listeners once
+ * the change is committed.</p>
+ * 
  * @author Wellington
  * @version 1.0
  */
@@ -22,67 +72,607 @@ public class CarService {
 	@Autowired
 	private CarRepository repository;	
 	
+	@Autowired
+	private CarChangeRepository changeRepository;
+	
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+	
+	@Autowired
+	private CacheManager cacheManager;
+	
+	@Value("${car-service.export.fetch-size:1000}")
+	private int exportFetchSize;
+	
+	@Value("${car-service.batch.size:500}")
+	private int batchSize;
+	
+	@Value("${car-service.batch.max-items:50000}")
+	private int batchMaxItems;
+	
+	@Value("${car-service.lookup.max-ids:1000}")
+	private int lookupMaxIds;
+	
+	@Value("${car-service.lookup.chunk-size:500}")
+	private int lookupChunkSize;
+	
+	@Value("${car-service.bulk.chunk-size:1000}")
+	private int bulkChunkSize;
+	
+	@Value("${car-service.changes.settle-time:3s}")
+	private Duration changeSettleTime;
+	
 	/**
      * Retrieves a {@link Car} entity by its ID.
      * 
+     * <p>Reads through the {@value CacheConfiguration#CAR_CACHE} cache. The transaction is
+     * not read-only, so a miss is loaded from the primary: a row from a lagging replica
+     * would otherwise be cached and served to everyone after the write that evicted it.</p>
+     * 
      * @param id the ID of the {@link Car} entity
      * @return an {@link Optional} containing the {@link Car} entity if found, otherwise an empty {@link Optional}
      */
+    @Cacheable(cacheNames = CacheConfiguration.CAR_CACHE, key = "#id")
+    @Transactional
     public Car getCarById(Long id) {
         return repository.findById(id)
         		.orElseThrow(() -> new ResourceNotFoundException("No records found for this ID!"));
     }
 
+    /**
+     * Retrieves many {@link Car} entities by ID at once.
+     * 
+     * <p>The distinct IDs are resolved with {@code IN} queries of at most
+     * {@code car-service.lookup.chunk-size} IDs each, instead of one query per car.</p>
+     * 
+     * @param ids the IDs to look up, possibly repeated
+     * @return the cars found, in the order their IDs were first requested, and the missing IDs
+     * @throws ValidationException if no ID, a {@code null} ID or more than {@code car-service.lookup.max-ids} IDs are given
+     */
+    @Transactional(readOnly = true)
+    public CarLookupResult getCarsByIds(List<Long> ids) {
+    	if (ids.isEmpty() || ids.size() > lookupMaxIds) {
+    		throw new ValidationException("Between 1 and " + lookupMaxIds + " IDs must be given");
+    	}
+    	if (ids.stream().anyMatch(Objects::isNull)) {
+    		throw new ValidationException("IDs must not be null");
+    	}
+    	
+    	List<Long> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+    	Map<Long, Car> found = new HashMap<>();
+    	for (int from = 0; from < distinct.size(); from += lookupChunkSize) {
+    		for (Car car : repository.findAllById(distinct.subList(from, Math.min(from + lookupChunkSize, distinct.size())))) {
+    			found.put(car.getId(), car);
+    		}
+    	}
+    	
+    	List<Car> cars = new ArrayList<>(found.size());
+    	List<Long> missing = new ArrayList<>();
+    	for (Long id : distinct) {
+    		Car car = found.get(id);
+    		if (car != null) {
+    			cars.add(car);
+    		} else {
+    			missing.add(id);
+    		}
+    	}
+    	return new CarLookupResult(cars, missing);
+    }
+
     /**
      * Creates a {@link Car} entity.
      * 
+     * <p>Issues a single {@code INSERT}; a taken ID is rejected by the primary key rather
+     * than by a prior lookup.</p>
+     * 
      * @param car the {@link Car} entity to create
      * @return the saved {@link Car} entity
      */
+    @CachePut(cacheNames = CacheConfiguration.CAR_CACHE, key = "#result.id")
     public Car createCar(Car car) {
-    	    	
-    	Optional<Car> savedCar = repository.findById(car.getId());
-		
-    	if(savedCar.isPresent()) {
-		    throw new ResourceNotFoundException(
-	            "Car already exist with given ID: " + car.getId());
-		}
     	
-        return repository.save(car);
+    	Car created;
+    	try {
+    		created = repository.insert(car);
+    	} catch (DuplicateKeyException e) {
+    		// Only the failure path pays for a lookup, to tell a taken ID from a taken license plate.
+    		if (car.getId() != null && repository.existsById(car.getId())) {
+    			throw new ResourceNotFoundException(
+    					"Car already exist with given ID: " + car.getId());
+    		}
+    		throw e;
+    	}
+    	eventPublisher.publishEvent(CarEvent.created(created.getId(), created.getVersion()));
+    	return created;
+    }
+    
+    /**
+     * Creates many {@link Car} entities at once.
+     * 
+     * <p>Items are validated first, including one bulk lookup of already registered license
+     * plates per chunk, and the valid ones are then inserted with JDBC batches of
+     * {@code car-service.batch.size} rows, each batch in its own transaction. If a batch is
+     * rejected by the database, for instance because a concurrent request registered one of
+     * its license plates, its rows are retried one by one so that only the offending item
+     * is reported.</p>
+     * 
+     * @param cars the cars to create, without IDs
+     * @return one result per submitted item, in request order
+     * @throws ValidationException if the request holds more than {@code car-service.batch.max-items} cars
+     */
+    public CarBatchResult createCars(List<Car> cars) {
+    	if (cars.size() > batchMaxItems) {
+    		throw new ValidationException("A batch accepts at most " + batchMaxItems + " cars");
+    	}
+    	
+    	CarBatchItemResult[] results = new CarBatchItemResult[cars.size()];
+    	List<Integer> accepted = validateBatch(cars, results);
+    	
+    	for (int from = 0; from < accepted.size(); from += batchSize) {
+    		insertBatch(cars, accepted.subList(from, Math.min(from + batchSize, accepted.size())), results);
+    	}
+    	
+    	for (CarBatchItemResult result : results) {
+    		if (result.getStatus() == CarBatchItemResult.Status.CREATED) {
+    			eventPublisher.publishEvent(CarEvent.created(result.getId(), 0L));
+    		}
+    	}
+    	return new CarBatchResult(Arrays.asList(results));
     }
     
     /**
      * Updates a {@link Car} entity.
      * 
+     * <p>Issues a single {@code UPDATE ... WHERE id = ?} and reports a missing car from its
+     * row count. When the car carries a version, the update only applies to that version.</p>
+     * 
      * @param car the {@link Car} entity to update
      * @return the updated {@link Car} entity
      */
     public Car updateCar(Car car) {
+    	return updateCar(car, car.getVersion());
+    }
+    
+    /**
+     * Updates a {@link Car} entity only if it still has the expected version.
+     * 
+     * <p>The version check is part of the {@code UPDATE} statement, so a concurrent change
+     * is never overwritten. The row is only looked up again when the update matched nothing,
+     * to tell a missing car from a stale version.</p>
+     * 
+     * @param car the {@link Car} entity to update
+     * @param expectedVersion the version the client last read, or {@code null} to update unconditionally
+     * @return the updated {@link Car} entity, with its new version when {@code expectedVersion} was given
+     * @throws ResourceNotFoundException if no car has the given ID
+     * @throws PreconditionFailedException if the car was changed since {@code expectedVersion}
+     */
+    public Car updateCar(Car car, Long expectedVersion) {
     	
-    	repository.findById(car.getId())
-    			.orElseThrow(() -> new ResourceNotFoundException("No records found for this ID!"));
+    	car.setVersion(expectedVersion);
+    	if (repository.update(car) == 0) {
+    		if (expectedVersion != null && repository.existsById(car.getId())) {
+    			throw new PreconditionFailedException(
+    					"Car " + car.getId() + " was modified after version " + expectedVersion);
+    		}
+    		throw new ResourceNotFoundException("No records found for this ID!");
+    	}
     	
-        return repository.save(car);
+    	car.setVersion(expectedVersion == null ? null : expectedVersion + 1);
+    	evict(car.getId());
+    	eventPublisher.publishEvent(CarEvent.updated(car.getId(), car.getVersion()));
+        return car;
+    }
+
+    /**
+     * Applies a partial update to a {@link Car} entity.
+     * 
+     * <p>Only the patched columns are written, with a single {@code UPDATE} statement. As with
+     * {@link #updateCar(Car, Long)}, the row is only looked up again when the update matched
+     * nothing.</p>
+     * 
+     * @param id the ID of the {@link Car} entity
+     * @param patch the changed properties
+     * @param expectedVersion the version the client last read, or {@code null} to update unconditionally
+     * @return the new version when {@code expectedVersion} was given, otherwise {@code null}
+     * @throws ValidationException if a new value breaks a column constraint
+     * @throws ResourceNotFoundException if no car has the given ID
+     * @throws PreconditionFailedException if the car was changed since {@code expectedVersion}
+     */
+    public Long patchCar(Long id, CarPatch patch, Long expectedVersion) {
+    	
+    	patch.getChanges().forEach((property, value) -> {
+    		String error = CarValidator.validateProperty(property, value);
+    		if (error != null) {
+    			throw new ValidationException(error);
+    		}
+    	});
+    	
+    	if (repository.patch(id, patch.getChanges(), expectedVersion) == 0) {
+    		if (expectedVersion != null && repository.existsById(id)) {
+    			throw new PreconditionFailedException(
+    					"Car " + id + " was modified after version " + expectedVersion);
+    		}
+    		throw new ResourceNotFoundException("No records found for this ID!");
+    	}
+    	
+    	Long version = expectedVersion == null ? null : expectedVersion + 1;
+    	evict(id);
+    	eventPublisher.publishEvent(CarEvent.updated(id, version));
+    	return version;
+    }
+
+    private List<Integer> validateBatch(List<Car> cars, CarBatchItemResult[] results) {
+    	List<Integer> candidates = new ArrayList<>(cars.size());
+    	Set<String> licensePlates = new HashSet<>();
+    	
+    	for (int i = 0; i < cars.size(); i++) {
+    		Car car = cars.get(i);
+    		String error = CarValidator.validateNew(car);
+    		if (error != null) {
+    			results[i] = CarBatchItemResult.rejected(i, error);
+    		} else if (car.getLicensePlate() != null && !licensePlates.add(car.getLicensePlate())) {
+    			results[i] = CarBatchItemResult.rejected(i, "licensePlate is repeated in this batch");
+    		} else {
+    			candidates.add(i);
+    		}
+    	}
+    	
+    	Set<String> registered = new HashSet<>();
+    	List<String> lookup = new ArrayList<>(licensePlates);
+    	for (int from = 0; from < lookup.size(); from += batchSize) {
+    		registered.addAll(repository.findExistingLicensePlates(lookup.subList(from, Math.min(from + batchSize, lookup.size()))));
+    	}
+    	
+    	List<Integer> accepted = new ArrayList<>(candidates.size());
+    	for (int i : candidates) {
+    		if (registered.contains(cars.get(i).getLicensePlate())) {
+    			results[i] = CarBatchItemResult.rejected(i, "licensePlate is already registered");
+    		} else {
+    			accepted.add(i);
+    		}
+    	}
+    	return accepted;
+    }
+    
+    private void insertBatch(List<Car> cars, List<Integer> indexes, CarBatchItemResult[] results) {
+    	List<Car> batch = indexes.stream().map(cars::get).toList();
+    	try {
+    		repository.insertAll(batch);
+    		for (int i : indexes) {
+    			results[i] = CarBatchItemResult.created(i, cars.get(i).getId());
+    		}
+    	} catch (DataIntegrityViolationException e) {
+    		for (int i : indexes) {
+    			try {
+    				results[i] = CarBatchItemResult.created(i, repository.insert(cars.get(i)).getId());
+    			} catch (DuplicateKeyException ex) {
+    				results[i] = CarBatchItemResult.rejected(i, "licensePlate is already registered");
+    			} catch (DataIntegrityViolationException ex) {
+    				results[i] = CarBatchItemResult.rejected(i, "car violates a database constraint");
+    			}
+    		}
+    	}
+    }
+
+    /**
+     * Returns the version of a {@link Car} entity without loading the entity.
+     * 
+     * <p>Read from the primary, like {@link #getCarById(Long)}, so a conditional request
+     * compares its ETag with the version the cached car is loaded at.</p>
+     * 
+     * @param id the ID of the {@link Car} entity
+     * @return the current version
+     * @throws ResourceNotFoundException if no car has the given ID
+     */
+    @Transactional
+    public long getCarVersion(Long id) {
+    	return repository.findVersionById(id)
+    			.orElseThrow(() -> new ResourceNotFoundException("No records found for this ID!"));
     }
 
     /**
      * Deletes a {@link Car} entity by its ID.
      * 
+     * <p>Issues a single {@code DELETE ... WHERE id = ?} without loading the entity.</p>
+     * 
      * @param id the ID of the {@link Car} entity to delete
      */
     public void deleteCarById(Long id) {
-    	var entity = repository.findById(id)
-    			     .orElseThrow(() -> new ResourceNotFoundException("No records found for this ID!"));
-    			     repository.delete(entity);
+    	if (repository.removeById(id) == 0) {
+    		throw new ResourceNotFoundException("No records found for this ID!");
+    	}
+    	evict(id);
+    	eventPublisher.publishEvent(CarEvent.deleted(id));
+    }
+
+    /**
+     * Updates every {@link Car} entity matching a filter.
+     * 
+     * <p>Matching rows are updated in ID order, {@code car-service.bulk.chunk-size} at a
+     * time, each chunk with one set-based {@code UPDATE} in its own short transaction, so
+     * rows are never locked for the length of the whole operation. A failure stops the
+     * operation, leaving the chunks already committed in place. The cached entries of the
+     * cars of each chunk are evicted once it is committed.</p>
+     * 
+     * @param update the filter and the changes to apply
+     * @return the number of updated cars
+     * @throws ValidationException if the filter is missing, empty or malformed, or the changes are invalid
+     */
+    public CarBulkResult bulkUpdateCars(CarBulkUpdate update) {
+    	update.validate();
+    	String error = CarValidator.validateProperty("owner", update.getOwner());
+    	if (error != null) {
+    		throw new ValidationException(error);
+    	}
+    	
+    	Specification<Car> filter = CarSpecifications.matching(update.getFilter());
+    	return inChunks(afterId -> repository.updateMatching(filter, afterId, bulkChunkSize, update),
+    			id -> CarEvent.updated(id, null));
+    }
+
+    /**
+     * Deletes every {@link Car} entity matching a filter.
+     * 
+     * <p>Chunked in the same way as {@link #bulkUpdateCars(CarBulkUpdate)}, with one
+     * set-based {@code DELETE} per chunk.</p>
+     * 
+     * @param criteria the filter
+     * @return the number of deleted cars
+     * @throws ValidationException if the filter is empty or malformed
+     */
+    public CarBulkResult bulkDeleteCars(CarSearchCriteria criteria) {
+    	if (criteria == null || criteria.isEmpty()) {
+    		throw new ValidationException("A bulk delete needs at least one filter");
+    	}
+    	criteria.validate();
+    	
+    	Specification<Car> filter = CarSpecifications.matching(criteria);
+    	return inChunks(afterId -> repository.deleteMatching(filter, afterId, bulkChunkSize), CarEvent::deleted);
+    }
+
+    /**
+     * Runs a chunked bulk write until a chunk comes back short, then evicts and announces
+     * the cars of each chunk.
+     * 
+     * @param chunk writes the chunk following the given ID and returns the IDs it changed, in order
+     */
+    private CarBulkResult inChunks(Function<Long, List<Long>> chunk, Function<Long, CarEvent> event) {
+    	long affected = 0;
+    	int chunks = 0;
+    	Long afterId = null;
+    	List<Long> ids;
+    	do {
+    		ids = chunk.apply(afterId);
+    		if (ids.isEmpty()) {
+    			break;
+    		}
+    		chunks++;
+    		affected += ids.size();
+    		afterId = ids.get(ids.size() - 1);
+    		ids.forEach(this::evict);
+    		for (Long id : ids) {
+    			eventPublisher.publishEvent(event.apply(id));
+    		}
+    	} while (ids.size() == bulkChunkSize);
+    	return new CarBulkResult(affected, chunks);
+    }
+
+    /**
+     * Drops a changed car from the {@value CacheConfiguration#CAR_CACHE} and
+     * {@value CacheConfiguration#CAR_RESPONSE_CACHE} caches.
+     * 
+     * <p>Called once the write is committed and before its {@link CarEvent} is published,
+     * rather than through {@code @CacheEvict}, which would only evict after the method
+     * returns: event listeners run right away outside a transaction, and a client
+     * re-fetching the car on the event would get the cached old one.</p>
+     */
+    private void evict(Long id) {
+    	cacheManager.getCache(CacheConfiguration.CAR_CACHE).evict(id);
+    	cacheManager.getCache(CacheConfiguration.CAR_RESPONSE_CACHE).evict(id);
     }
 
     /**
      * Retrieves all visible {@link Car} entities.
      * 
+     * <p>Loads the whole table at once; listings exposed to clients should use
+     * {@link #findCars(CarPageRequest)} instead.</p>
+     * 
      * @return a list of all {@link Car} entities
      */
+    @Transactional(readOnly = true)
     public List<Car> findAllCars() {
         return repository.findAll();
     }
 
+    /**
+     * Retrieves one keyset page of {@link Car} entities.
+     * 
+     * @param request the page request
+     * @return the page, with the cursor of the following page if there is one
+     */
+    @Transactional(readOnly = true)
+    public CarPage<Car> findCars(CarPageRequest request) {
+    	return toPage(repository.findPage(null, request, request.getLimit() + 1), request,
+    			car -> CarCursor.after(car, request.getSortKey(), request.getDirection()));
+    }
+
+    /**
+     * Retrieves one keyset page of {@link Car} entities reduced to the requested fields.
+     * 
+     * <p>Only the requested columns are selected, plus the ID and the sort key, which are
+     * needed for the cursor and dropped from the rows unless they were requested.</p>
+     * 
+     * @param fields the requested fields
+     * @param request the page request
+     * @return the page, with the cursor of the following page if there is one
+     */
+    @Transactional(readOnly = true)
+    public CarPage<Map<String, Object>> findCarFields(CarFieldSet fields, CarPageRequest request) {
+    	CarSortKey sortKey = request.getSortKey();
+    	Set<String> selected = fields.with(CarSortKey.ID.getProperty(), sortKey.getProperty());
+    	
+    	CarPage<Map<String, Object>> page = toPage(repository.findFieldPage(selected, request, request.getLimit() + 1), request,
+    			row -> new CarCursor(sortKey, request.getDirection(),
+    					(Comparable<?>) row.get(sortKey.getProperty()), (Long) row.get(CarSortKey.ID.getProperty())));
+    	
+    	page.getContent().forEach(row -> row.keySet().retainAll(fields.getProperties()));
+    	return page;
+    }
+
+    /**
+     * Retrieves the given properties of a {@link Car} entity, bypassing the cache.
+     * 
+     * @param id the ID of the {@link Car} entity
+     * @param properties the properties to select
+     * @return a mutable map from property name to value
+     * @throws ResourceNotFoundException if no car has the given ID
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getCarFields(Long id, Set<String> properties) {
+    	return repository.findFieldsById(id, properties)
+    			.orElseThrow(() -> new ResourceNotFoundException("No records found for this ID!"));
+    }
+
+    /**
+     * Retrieves one keyset page of {@link CarSummary} projections, for listing grids.
+     * 
+     * @param request the page request
+     * @return the page, with the cursor of the following page if there is one
+     * @throws ValidationException if the request is sorted by a property the summary lacks
+     */
+    @Transactional(readOnly = true)
+    public CarPage<CarSummary> findCarSummaries(CarPageRequest request) {
+    	if (request.getSortKey() == CarSortKey.HORSE_POWER) {
+    		throw new ValidationException("Car summaries cannot be sorted by " + request.getSortKey().getProperty());
+    	}
+    	return toPage(repository.findSummaryPage(request, request.getLimit() + 1), request,
+    			summary -> CarCursor.after(summary, request.getSortKey(), request.getDirection()));
+    }
+
+    /**
+     * Retrieves one keyset page of the {@link Car} entities matching the given criteria.
+     * 
+     * @param criteria the search filters
+     * @param request the page request
+     * @return the page, with the cursor of the following page if there is one
+     * @throws ValidationException if the criteria hold an inverted range
+     */
+    @Transactional(readOnly = true)
+    public CarPage<Car> searchCars(CarSearchCriteria criteria, CarPageRequest request) {
+    	criteria.validate();
+    	return toPage(repository.findPage(CarSpecifications.matching(criteria), request, request.getLimit() + 1), request,
+    			car -> CarCursor.after(car, request.getSortKey(), request.getDirection()));
+    }
+
+    /**
+     * Retrieves the changes made to the inventory after a sync token.
+     * 
+     * <p>Without a token, returns no change and the token of the latest one, to be taken
+     * before a full download of the inventory. With a token, reads at most {@code limit}
+     * entries of the change log by primary key range and loads the cars still present
+     * with one lookup by ID, so the cost grows with the number of changes only. A car
+     * changed several times within the page is returned once, with its current state or
+     * as a tombstone.</p>
+     * 
+     * <p>Read from the primary: a replica applies changes in commit order, not in change
+     * log order, so it may already hold a change while an earlier one is still missing,
+     * and the token would move past it for good.</p>
+     * 
+     * @param since the token returned by the previous sync, or {@code null} to start one
+     * @param limit the maximum number of change log entries to read
+     * @return the page of changes, with the token of the following one
+     * @throws ValidationException if the token or the limit is invalid
+     */
+    @Transactional
+    public CarDeltaPage findChanges(String since, int limit) {
+    	if (limit < 1 || limit > CarPageRequest.MAX_LIMIT) {
+    		throw new ValidationException("Limit must be between 1 and " + CarPageRequest.MAX_LIMIT);
+    	}
+    	long settleMicros = changeSettleTime.toNanos() / 1000;
+    	if (since == null) {
+    		long latest = changeRepository.findLatestSettledId(settleMicros).orElse(0L);
+    		return new CarDeltaPage(List.of(), Long.toString(latest), false);
+    	}
+    	
+    	long token = parseChangeToken(since);
+    	List<CarChange> changes = changeRepository.findChangesAfter(token, settleMicros, limit + 1);
+    	boolean hasMore = changes.size() > limit;
+    	if (hasMore) {
+    		changes = changes.subList(0, limit);
+    	}
+    	if (changes.isEmpty()) {
+    		return new CarDeltaPage(List.of(), Long.toString(token), false);
+    	}
+    	
+    	Map<Long, CarChange> latestChanges = new LinkedHashMap<>();
+    	for (CarChange change : changes) {
+    		latestChanges.remove(change.getCarId());
+    		latestChanges.put(change.getCarId(), change);
+    	}
+    	List<Long> present = latestChanges.values().stream()
+    			.filter(change -> change.getType() != CarEvent.Type.DELETED)
+    			.map(CarChange::getCarId)
+    			.toList();
+    	Map<Long, Car> cars = new HashMap<>();
+    	for (Car car : repository.findAllById(present)) {
+    		cars.put(car.getId(), car);
+    	}
+    	
+    	List<CarDelta> deltas = latestChanges.values().stream()
+    			.map(change -> {
+    				// A car deleted after this page is already reported as deleted.
+    				Car car = cars.get(change.getCarId());
+    				return car == null ? CarDelta.deleted(change.getCarId()) : CarDelta.upserted(change.getType(), car);
+    			})
+    			.toList();
+    	return new CarDeltaPage(deltas, Long.toString(changes.get(changes.size() - 1).getId()), hasMore);
+    }
+    
+    private static long parseChangeToken(String since) {
+    	try {
+    		long token = Long.parseLong(since);
+    		if (token >= 0) {
+    			return token;
+    		}
+    	} catch (NumberFormatException e) {
+    		// Reported below.
+    	}
+    	throw new ValidationException("Invalid change token: " + since);
+    }
+
+    /**
+     * Turns a result fetched with one extra row into a page, using the extra row only
+     * to know whether a following page exists.
+     */
+    private static <T> CarPage<T> toPage(List<T> rows, CarPageRequest request, Function<T, CarCursor> cursorAfter) {
+    	if (rows.size() <= request.getLimit()) {
+    		return new CarPage<>(rows, null);
+    	}
+    	
+    	List<T> content = rows.subList(0, request.getLimit());
+    	return new CarPage<>(content, cursorAfter.apply(content.get(content.size() - 1)).encode());
+    }
+
+    /**
+     * Streams every {@link Car} entity to the given sink.
+     * 
+     * <p>Rows are read through a server-side cursor and each entity is detached right after
+     * the sink has consumed it, so memory use does not grow with the size of the table.</p>
+     * 
+     * @param sink the consumer receiving each {@link Car} entity in ID order
+     * @return the number of exported entities
+     */
+    @Transactional(readOnly = true)
+    public long exportCars(Consumer<Car> sink) {
+    	long exported = 0;
+    	try (Stream<Car> cars = repository.streamAll(exportFetchSize)) {
+    		for (Car car : (Iterable<Car>) cars::iterator) {
+    			sink.accept(car);
+    			repository.detach(car);
+    			exported++;
+    		}
+    	}
+    	return exported;
+    }
+
 }
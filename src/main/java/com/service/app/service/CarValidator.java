@@ -0,0 +1,98 @@
+package com.service.app.service;
+
+import java.math.BigDecimal;
+
+import com.service.app.entity.Car;
+
+/**
+ * Checks a {@link Car} against the constraints of the "cars" table before it is written,
+ * so that a bad item can be reported on its own instead of failing a whole JDBC batch.
+ * 
+ * @author Wellington
+ * @version 1.0
+ */
+final class CarValidator {
+
+	private static final int MIN_MODEL_YEAR = 1886;
+	private static final int MAX_MODEL_YEAR = 9999;
+	private static final BigDecimal MAX_ENGINE_CAPACITY = new BigDecimal("10");
+	private static final BigDecimal MAX_PRICE = new BigDecimal("10000000000");
+
+	private CarValidator() {}
+
+	/**
+     * Validates a new {@link Car} entity.
+     * 
+     * @param car the car to validate
+     * @return a description of the first violation found, or {@code null} if the car is valid
+     */
+	static String validateNew(Car car) {
+		if (car == null) {
+			return "car must not be null";
+		}
+		if (car.getId() != null) {
+			return "id is assigned by the server and must not be set";
+		}
+		return firstViolation(
+				validateProperty("brand", car.getBrand()),
+				validateProperty("model", car.getModel()),
+				validateProperty("modelYear", car.getModelYear()),
+				validateProperty("engineCapacity", car.getEngineCapacity()),
+				validateProperty("price", car.getPrice()),
+				validateProperty("color", car.getColor()),
+				validateProperty("licensePlate", car.getLicensePlate()),
+				validateProperty("fuelType", car.getFuelType()),
+				validateProperty("transmission", car.getTransmission()),
+				validateProperty("bodyType", car.getBodyType()),
+				validateProperty("owner", car.getOwner()));
+	}
+
+	/**
+     * Validates the new value of a single {@link Car} property, as written by a partial update.
+     * 
+     * @param property the property name
+     * @param value the new value, already converted to the property type
+     * @return a description of the violation, or {@code null} if the value is valid
+     */
+	static String validateProperty(String property, Object value) {
+		return switch (property) {
+			case "brand", "model" -> isBlank((String) value) ? property + " is required" : maxLength(property, value, 100);
+			case "modelYear" -> (int) value < MIN_MODEL_YEAR || (int) value > MAX_MODEL_YEAR
+					? "modelYear must be between " + MIN_MODEL_YEAR + " and " + MAX_MODEL_YEAR
+					: null;
+			case "engineCapacity" -> maxMagnitude(property, value, MAX_ENGINE_CAPACITY);
+			case "price" -> maxMagnitude(property, value, MAX_PRICE);
+			case "licensePlate" -> maxLength(property, value, 15);
+			case "color", "fuelType", "transmission", "bodyType" -> maxLength(property, value, 50);
+			case "owner" -> maxLength(property, value, 100);
+			default -> null;
+		};
+	}
+
+	private static String firstViolation(String... violations) {
+		for (String violation : violations) {
+			if (violation != null) {
+				return violation;
+			}
+		}
+		return null;
+	}
+
+	private static String maxLength(String property, Object value, int maxLength) {
+		return tooLong((String) value, maxLength) ? property + " must be at most " + maxLength + " characters" : null;
+	}
+
+	private static String maxMagnitude(String property, Object value, BigDecimal max) {
+		return value != null && ((BigDecimal) value).abs().compareTo(max) >= 0
+				? property + " must be lower than " + max
+				: null;
+	}
+
+	private static boolean tooLong(String value, int maxLength) {
+		return value != null && value.length() > maxLength;
+	}
+
+	private static boolean isBlank(String value) {
+		return value == null || value.isBlank();
+	}
+}
@@ -0,0 +1,48 @@
+package com.service.app.analytics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the IdIndex class, checked against a {@link HashMap} under random
+ * inserts, overwrites and removals.
+ *
+ * @author Wellington
+ * @version 1.0
+ *
+ */
+class IdIndexTest {
+
+	@DisplayName("Test for Given Random Operations when Get then Match HashMap")
+	@Test
+	void testGivenRandomOperations_WhenGet_thenMatchHashMap() {
+
+		// Given / Arrange
+		IdIndex index = new IdIndex(0);
+		Map<Long, Integer> expected = new HashMap<>();
+		Random random = new Random(7);
+
+		// When / Act
+		for (int i = 0; i < 200_000; i++) {
+			long id = random.nextInt(20_000) - 100;
+			if (random.nextInt(3) == 0) {
+				Integer removed = expected.remove(id);
+				assertEquals(removed == null ? IdIndex.ABSENT : removed, index.remove(id));
+			} else {
+				expected.put(id, i);
+				index.put(id, i);
+			}
+		}
+
+		// Then / Assert
+		for (long id = -100; id < 19_900; id++) {
+			assertEquals(expected.getOrDefault(id, IdIndex.ABSENT), index.get(id));
+		}
+	}
+}
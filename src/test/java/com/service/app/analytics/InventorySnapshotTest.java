@@ -0,0 +1,308 @@
+package com.service.app.analytics;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.service.app.entity.Car;
+import com.service.app.exceptions.ValidationException;
+import com.service.app.model.CarDimension;
+import com.service.app.model.CarEvent;
+import com.service.app.model.CarFacets;
+import com.service.app.model.CarGroupStats;
+import com.service.app.model.CarSearchCriteria;
+import com.service.app.repository.CarRepository;
+import com.service.app.service.CarService;
+
+/**
+ * Unit tests for the InventorySnapshot class.
+ *
+ * The initial load and the reloads of changed cars go through mocked CarService and
+ * CarRepository instances, so the snapshot is exercised without a database.
+ *
+ * @author Wellington
+ * @version 1.0
+ *
+ */
+@ExtendWith(MockitoExtension.class)
+class InventorySnapshotTest {
+
+	@Mock
+	private CarService service;
+
+	@Mock
+	private CarRepository repository;
+
+	private InventorySnapshot snapshot;
+	private Car polo;
+	private Car argo;
+	private Car golf;
+
+	@BeforeEach
+	void setUp() {
+
+		// Given / Arrange
+		snapshot = new InventorySnapshot(service, repository, 2, 2);
+		polo = new Car(1L, "Volkswagen", "Polo MPI", 2024, "Vermelha", "BGA7230", 0, "Total Flex", "Automática de 6 velocidades", 116, new BigDecimal("1.0"), 4,
+				"Hatchback", new BigDecimal("93500.00"), LocalDate.of(2024, 9, 20), "Volkswagen do Brasil");
+		argo = new Car(2L, "Fiat", "Argo", 2023, "Branca", "FTA1A23", 12000, "Total Flex", "Manual de 5 velocidades", 75, new BigDecimal("1.0"), 4,
+				"Hatchback", new BigDecimal("78900.00"), LocalDate.of(2023, 3, 10), "Fiat Automóveis");
+		golf = new Car(3L, "Volkswagen", "Golf GTI", 2022, "Preta", "GTI2022", 30000, "Gasolina", "Automática de 7 velocidades", 230, new BigDecimal("2.0"), 4,
+				"Hatchback", new BigDecimal("180000.00"), LocalDate.of(2022, 1, 15), null);
+	}
+
+	@AfterEach
+	void tearDown() {
+		snapshot.destroy();
+	}
+
+	@DisplayName("Test for Given Loaded Snapshot when Analyze by Brand then Return Stats per Brand")
+	@Test
+	void testGivenLoadedSnapshot_WhenAnalyzeByBrand_thenReturnStatsPerBrand() {
+
+		// Given / Arrange
+		givenExportedCars(List.of(polo, argo, golf));
+
+		// When / Act
+		List<CarGroupStats> stats = snapshot.analyze(CarDimension.BRAND, 10_000, List.of(50.0, 100.0)).getGroups();
+
+		// Then / Assert
+		assertEquals(2, stats.size());
+		CarGroupStats volkswagen = stats.get(0);
+		assertEquals("Volkswagen", volkswagen.getGroup());
+		assertEquals(2, volkswagen.getCount());
+		assertEquals(new BigDecimal("136750.00"), volkswagen.getAveragePrice());
+		assertEquals(new BigDecimal("93500.00"), volkswagen.getMinPrice());
+		assertEquals(new BigDecimal("180000.00"), volkswagen.getMaxPrice());
+		assertEquals(15000.0, volkswagen.getAverageOdometer());
+		assertEquals(173.0, volkswagen.getAverageHorsePower());
+		assertEquals(new BigDecimal("93500.00"), volkswagen.getPricePercentiles().get("p50"));
+		assertEquals(new BigDecimal("180000.00"), volkswagen.getPricePercentiles().get("p100"));
+		assertArrayEquals(new long[] { 1, 0, 0, 1 }, volkswagen.getOdometerHistogram());
+		assertEquals("Fiat", stats.get(1).getGroup());
+	}
+
+	@DisplayName("Test for Given Changed and Deleted Cars when Analyze then Reload Only Those Cars")
+	@Test
+	void testGivenChangedAndDeletedCars_WhenAnalyze_thenReloadOnlyThoseCars() {
+
+		// Given / Arrange
+		givenExportedCars(List.of(polo, argo, golf));
+		snapshot.load();
+		Car cheaperPolo = new Car(1L, "Volkswagen", "Polo MPI", 2024, "Vermelha", "BGA7230", 0, "Total Flex", "Automática de 6 velocidades", 116, new BigDecimal("1.0"), 4,
+				"Hatchback", new BigDecimal("89900.00"), LocalDate.of(2024, 9, 20), "Volkswagen do Brasil");
+		given(repository.findAllById(List.of(1L, 3L))).willReturn(List.of(cheaperPolo));
+		snapshot.onCarEvent(CarEvent.updated(1L, 1L));
+		snapshot.onCarEvent(CarEvent.deleted(3L));
+
+		// When / Act
+		List<CarGroupStats> stats = snapshot.analyze(CarDimension.BRAND, 10_000, List.of()).getGroups();
+
+		// Then / Assert
+		assertEquals(2, snapshot.size());
+		assertEquals(new BigDecimal("89900.00"), stats.stream()
+				.filter(group -> "Volkswagen".equals(group.getGroup()))
+				.findFirst().orElseThrow().getAveragePrice());
+		verify(service, times(1)).exportCars(any());
+	}
+
+	@DisplayName("Test for Given Cars without Value when Analyze then Group Them Under Null")
+	@Test
+	void testGivenCarsWithoutValue_WhenAnalyze_thenGroupThemUnderNull() {
+
+		// Given / Arrange
+		givenExportedCars(List.of(polo, argo, golf));
+		polo.setBodyType(null);
+
+		// When / Act
+		List<CarGroupStats> stats = snapshot.analyze(CarDimension.BODY_TYPE, 10_000, List.of()).getGroups();
+
+		// Then / Assert
+		assertEquals(2, stats.size());
+		assertEquals("Hatchback", stats.get(0).getGroup());
+		assertNull(stats.get(1).getGroup());
+		assertEquals(1, stats.get(1).getCount());
+	}
+
+	@DisplayName("Test for Given Many Cars when Analyze in Parallel then Estimate Percentiles within One Percent")
+	@Test
+	void testGivenManyCars_WhenAnalyzeInParallel_thenEstimatePercentilesWithinOnePercent() {
+
+		// Given / Arrange
+		Random random = new Random(42);
+		List<Car> cars = new ArrayList<>();
+		for (long id = 1; id <= 200_000; id++) {
+			cars.add(new Car(id, "Fiat", "Argo", 2023, "Branca", null, random.nextInt(250_000), "Total Flex", null, 75,
+					null, 4, "Hatchback", BigDecimal.valueOf(3_000_000L + random.nextInt(60_000_000), 2), null, null));
+		}
+		givenExportedCars(cars);
+		List<Long> sortedPrices = cars.stream().map(car -> car.getPrice().movePointRight(2).longValue()).sorted().toList();
+
+		// When / Act
+		CarGroupStats fiat = snapshot.analyze(CarDimension.BRAND, 10_000, List.of(50.0, 99.0)).getGroups().get(0);
+
+		// Then / Assert
+		assertEquals(200_000, fiat.getCount());
+		assertEquals(200_000, Arrays.stream(fiat.getOdometerHistogram()).sum());
+		assertWithinOnePercent(sortedPrices.get(99_999), fiat.getPricePercentiles().get("p50"));
+		assertWithinOnePercent(sortedPrices.get(197_999), fiat.getPricePercentiles().get("p99"));
+	}
+
+	@DisplayName("Test for Given Many Models when Analyze by Model then Aggregate Every Model")
+	@Test
+	void testGivenManyModels_WhenAnalyzeByModel_thenAggregateEveryModel() {
+
+		// Given / Arrange
+		// 4,000 models of 10 cars, priced from a thousand to ten million each
+		Random random = new Random(7);
+		List<Car> cars = new ArrayList<>();
+		for (long id = 1; id <= 40_000; id++) {
+			cars.add(new Car(id, "Fiat", "M" + id % 4_000, 2023, "Branca", null, 1_000, "Total Flex", null, 75,
+					null, 4, "Hatchback", BigDecimal.valueOf(100_000L + random.nextLong(1_000_000_000L), 2), null, null));
+		}
+		givenExportedCars(cars);
+		List<Long> sortedPrices = cars.stream()
+				.filter(car -> "M42".equals(car.getModel()))
+				.map(car -> car.getPrice().movePointRight(2).longValue())
+				.sorted()
+				.toList();
+
+		// When / Act
+		List<CarGroupStats> stats = snapshot.analyze(CarDimension.MODEL, 10_000, List.of(50.0, 100.0)).getGroups();
+
+		// Then / Assert
+		assertEquals(4_000, stats.size());
+		assertTrue(stats.stream().allMatch(group -> group.getCount() == 10));
+		CarGroupStats m42 = stats.stream().filter(group -> "M42".equals(group.getGroup())).findFirst().orElseThrow();
+		assertEquals(BigDecimal.valueOf(sortedPrices.get(0), 2), m42.getMinPrice());
+		assertEquals(BigDecimal.valueOf(sortedPrices.get(9), 2), m42.getMaxPrice());
+		assertWithinOnePercent(sortedPrices.get(4), m42.getPricePercentiles().get("p50"));
+		assertWithinOnePercent(sortedPrices.get(9), m42.getPricePercentiles().get("p100"));
+	}
+
+	@DisplayName("Test for Given Brand and Fuel Type Filters when Facets then Count Each Facet without Its Own Filter")
+	@Test
+	void testGivenBrandAndFuelTypeFilters_WhenFacets_thenCountEachFacetWithoutItsOwnFilter() {
+
+		// Given / Arrange
+		givenExportedCars(List.of(polo, argo, golf));
+		CarSearchCriteria criteria = new CarSearchCriteria();
+		criteria.setBrand("Volkswagen");
+		criteria.setFuelType("Gasolina");
+
+		// When / Act
+		CarFacets facets = snapshot.facets(criteria);
+
+		// Then / Assert
+		assertEquals(1, facets.getTotal());
+		assertEquals(List.of("Volkswagen=1"), counts(facets, "brand"));
+		assertEquals(List.of("Total Flex=1", "Gasolina=1"), counts(facets, "fuelType"));
+		assertEquals(List.of("Hatchback=1"), counts(facets, "bodyType"));
+		assertEquals(List.of("2020-2024=1"), counts(facets, "modelYear"));
+	}
+
+	@DisplayName("Test for Given Filters in Other Case and Accents when Facets then Match Like MySQL Collation")
+	@Test
+	void testGivenFiltersInOtherCaseAndAccents_WhenFacets_thenMatchLikeMySqlCollation() {
+
+		// Given / Arrange
+		argo.setBrand("VOLKSWAGEN");
+		givenExportedCars(List.of(polo, argo, golf));
+		CarSearchCriteria criteria = new CarSearchCriteria();
+		criteria.setBrand("volkswagen");
+		criteria.setFuelType("Gasolína");
+
+		// When / Act
+		CarFacets facets = snapshot.facets(criteria);
+
+		// Then / Assert
+		assertEquals(1, facets.getTotal());
+		assertEquals(List.of("Volkswagen=1"), counts(facets, "brand"));
+		assertEquals(List.of("Total Flex=2", "Gasolina=1"), counts(facets, "fuelType"));
+	}
+
+	@DisplayName("Test for Given Price Filter when Facets then Exclude Cars without Price")
+	@Test
+	void testGivenPriceFilter_WhenFacets_thenExcludeCarsWithoutPrice() {
+
+		// Given / Arrange
+		argo.setPrice(null);
+		givenExportedCars(List.of(polo, argo, golf));
+		CarSearchCriteria criteria = new CarSearchCriteria();
+		criteria.setMaxPrice(new BigDecimal("100000"));
+
+		// When / Act
+		CarFacets facets = snapshot.facets(criteria);
+
+		// Then / Assert
+		assertEquals(1, facets.getTotal());
+		assertEquals(List.of("Volkswagen=1"), counts(facets, "brand"));
+	}
+
+	@DisplayName("Test for Given Unknown Brand when Facets then Count Other Brands Only")
+	@Test
+	void testGivenUnknownBrand_WhenFacets_thenCountOtherBrandsOnly() {
+
+		// Given / Arrange
+		givenExportedCars(List.of(polo, argo, golf));
+		CarSearchCriteria criteria = new CarSearchCriteria();
+		criteria.setBrand("Lada");
+
+		// When / Act
+		CarFacets facets = snapshot.facets(criteria);
+
+		// Then / Assert
+		assertEquals(0, facets.getTotal());
+		assertEquals(List.of("Volkswagen=2", "Fiat=1"), counts(facets, "brand"));
+		assertEquals(List.of(), counts(facets, "fuelType"));
+	}
+
+	@DisplayName("Test for Given Percentile Out of Range when Analyze then Throw ValidationException")
+	@Test
+	void testGivenPercentileOutOfRange_WhenAnalyze_thenThrowValidationException() {
+
+		// When / Act / Then / Assert
+		assertThrows(ValidationException.class, () -> snapshot.analyze(CarDimension.BRAND, 10_000, List.of(0.0)));
+		assertThrows(ValidationException.class, () -> snapshot.analyze(CarDimension.BRAND, 0, List.of(50.0)));
+	}
+
+	private void givenExportedCars(List<Car> cars) {
+		willAnswer(invocation -> {
+			Consumer<Car> sink = invocation.getArgument(0);
+			cars.forEach(sink);
+			return (long) cars.size();
+		}).given(service).exportCars(any());
+	}
+
+	private static List<String> counts(CarFacets facets, String facet) {
+		return facets.getCounts().get(facet).stream().map(count -> count.getValue() + "=" + count.getCount()).toList();
+	}
+
+	private static void assertWithinOnePercent(long expectedCents, BigDecimal actual) {
+		double error = Math.abs(actual.movePointRight(2).doubleValue() - expectedCents) / expectedCents;
+		assertTrue(error <= PriceBuckets.RELATIVE_ACCURACY, "relative error " + error);
+	}
+}
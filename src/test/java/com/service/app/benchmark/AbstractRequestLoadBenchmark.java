@@ -0,0 +1,105 @@
+package com.service.app.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import com.service.app.integration.tests.testcontainers.AbstractIntegrationTest;
+import com.service.app.repository.CarRepository;
+
+/**
+ * Drives the running application with many concurrent clients calling a database-bound
+ * endpoint, and reports throughput and latency percentiles.
+ *
+ * Subclasses pick the request execution mode through their Spring profile. The load can
+ * be tuned with {@code -Dbenchmark.concurrency} and {@code -Dbenchmark.requests}.
+ *
+ * @author Wellington
+ * @version 1.0
+ *
+ */
+abstract class AbstractRequestLoadBenchmark extends AbstractIntegrationTest {
+
+	private static final Logger logger = LoggerFactory.getLogger(AbstractRequestLoadBenchmark.class);
+
+	private static final int ROWS = Integer.getInteger("benchmark.rows", 10_000);
+	private static final int CONCURRENCY = Integer.getInteger("benchmark.concurrency", 400);
+	private static final int REQUESTS = Integer.getInteger("benchmark.requests", 20_000);
+	private static final String PATH = "/car-service/search?brand=Toyota&limit=20";
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private CarRepository repository;
+
+	@BeforeEach
+	void populate() {
+		if (repository.count() != ROWS) {
+			repository.deleteAllInBatch();
+			repository.insertAll(SyntheticCars.generate(ROWS, "L", 1L));
+		}
+	}
+
+	/**
+	 * Names the execution mode in the benchmark output.
+	 */
+	abstract String mode();
+
+	@Test
+	@DisplayName("Benchmark throughput and latency of concurrent search requests")
+	void benchmarkConcurrentRequests() throws Exception {
+
+		// Given / Arrange
+		HttpClient client = HttpClient.newHttpClient();
+		HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + PATH)).GET().build();
+		LatencyRecorder recorder = new LatencyRecorder(REQUESTS);
+		AtomicInteger failures = new AtomicInteger();
+		int perClient = REQUESTS / CONCURRENCY;
+
+		// When / Act
+		ExecutorService clients = Executors.newFixedThreadPool(CONCURRENCY);
+		long start = System.nanoTime();
+		List<Future<?>> running = new ArrayList<>(CONCURRENCY);
+		for (int c = 0; c < CONCURRENCY; c++) {
+			running.add(clients.submit(() -> {
+				for (int i = 0; i < perClient; i++) {
+					long sent = System.nanoTime();
+					HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+					recorder.add(System.nanoTime() - sent);
+					if (response.statusCode() != 200) {
+						failures.incrementAndGet();
+					}
+				}
+				return null;
+			}));
+		}
+		for (Future<?> worker : running) {
+			worker.get();
+		}
+		long elapsed = System.nanoTime() - start;
+		clients.shutdown();
+
+		// Then / Assert
+		logger.info("{}: {} requests from {} clients, {} req/s, {}", mode(), perClient * CONCURRENCY, CONCURRENCY,
+				Math.round(perClient * CONCURRENCY * 1_000_000_000d / elapsed), recorder);
+		assertEquals(0, failures.get());
+	}
+}
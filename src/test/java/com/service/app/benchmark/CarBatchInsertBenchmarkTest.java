@@ -0,0 +1,79 @@
+package com.service.app.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.service.app.entity.Car;
+import com.service.app.integration.tests.testcontainers.AbstractIntegrationTest;
+import com.service.app.model.CarBatchResult;
+import com.service.app.repository.CarRepository;
+import com.service.app.service.CarService;
+
+/**
+ * Compares the throughput of creating cars one at a time with the batch create path.
+ *
+ * Run with {@code mvn test -Pbenchmark -Dbenchmark.rows=50000}.
+ *
+ * @author Wellington
+ * @version 1.0
+ *
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class CarBatchInsertBenchmarkTest extends AbstractIntegrationTest {
+
+	private static final Logger logger = LoggerFactory.getLogger(CarBatchInsertBenchmarkTest.class);
+
+	private static final int ROWS = Integer.getInteger("benchmark.rows", 5_000);
+
+	@Autowired
+	private CarService service;
+
+	@Autowired
+	private CarRepository repository;
+
+	@BeforeEach
+	void setUp() {
+		repository.deleteAllInBatch();
+	}
+
+	@Test
+	@DisplayName("Benchmark one-at-a-time create against batch create")
+	void benchmarkSingleCreateAgainstBatchCreate() {
+
+		// Given / Arrange
+		List<Car> singles = SyntheticCars.generate(ROWS, "S", 1L);
+		List<Car> batch = SyntheticCars.generate(ROWS, "B", 1L);
+
+		// When / Act
+		long start = System.nanoTime();
+		for (Car car : singles) {
+			service.createCar(car);
+		}
+		double singleRate = rowsPerSecond(ROWS, System.nanoTime() - start);
+
+		start = System.nanoTime();
+		CarBatchResult result = service.createCars(batch);
+		double batchRate = rowsPerSecond(ROWS, System.nanoTime() - start);
+
+		// Then / Assert
+		logger.info("Created {} cars: one at a time {} rows/s, batch {} rows/s ({}x)",
+				ROWS, Math.round(singleRate), Math.round(batchRate), Math.round(batchRate / singleRate));
+		assertEquals(ROWS, result.getCreated());
+		assertEquals(2L * ROWS, repository.count());
+	}
+
+	private static double rowsPerSecond(int rows, long nanos) {
+		return rows * 1_000_000_000d / nanos;
+	}
+}
@@ -0,0 +1,99 @@
+package com.service.app.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+
+import com.service.app.configuration.CacheConfiguration;
+import com.service.app.entity.Car;
+import com.service.app.integration.tests.testcontainers.AbstractIntegrationTest;
+import com.service.app.repository.CarRepository;
+import com.service.app.service.CarService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Compares resolving a list of car IDs with one bulk lookup against one lookup per ID,
+ * as a comparison page firing a request per car does.
+ *
+ * Every cache is cleared before each round, so both paths read from MySQL.
+ *
+ * Run with {@code mvn test -Pbenchmark -Dtest=CarBulkLookupBenchmarkTest}.
+ *
+ * @author Wellington
+ * @version 1.0
+ *
+ */
+@Tag("benchmark")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class CarBulkLookupBenchmarkTest extends AbstractIntegrationTest {
+
+	private static final Logger logger = LoggerFactory.getLogger(CarBulkLookupBenchmarkTest.class);
+
+	private static final int ROWS = 50_000;
+	private static final int ITERATIONS = 200;
+
+	@Autowired
+	private CarService service;
+
+	@Autowired
+	private CarRepository repository;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private List<Long> carIds;
+
+	@BeforeAll
+	void populate() {
+		repository.deleteAllInBatch();
+		List<Car> cars = SyntheticCars.generate(ROWS, "L", 7L);
+		for (int from = 0; from < ROWS; from += 5_000) {
+			repository.insertAll(cars.subList(from, Math.min(from + 5_000, ROWS)));
+		}
+		carIds = cars.stream().map(Car::getId).toList();
+	}
+
+	@Test
+	@DisplayName("Benchmark bulk lookup against single lookups")
+	void benchmarkBulkLookupAgainstSingleLookups() {
+		for (int size : new int[] { 10, 50, 200 }) {
+			LatencyRecorder single = new LatencyRecorder(ITERATIONS);
+			LatencyRecorder bulk = new LatencyRecorder(ITERATIONS);
+			Random random = new Random(size);
+
+			for (int i = 0; i < ITERATIONS; i++) {
+				List<Long> ids = random.ints(size, 0, ROWS).mapToObj(carIds::get).toList();
+
+				clearCaches();
+				single.record(() -> ids.forEach(service::getCarById));
+
+				clearCaches();
+				bulk.record(() -> assertEquals(ids.stream().distinct().count(), service.getCarsByIds(ids).getCars().size()));
+			}
+			logger.info("{} IDs, one lookup per ID: {}", size, single);
+			logger.info("{} IDs, bulk lookup: {}", size, bulk);
+		}
+	}
+
+	private void clearCaches() {
+		cacheManager.getCache(CacheConfiguration.CAR_CACHE).clear();
+		entityManagerFactory.getCache().evictAll();
+	}
+}
@@ -0,0 +1,104 @@
+package com.service.app.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.service.app.entity.Car;
+
+/**
+ * Compares JSON, CBOR and Smile encodings of a car listing by payload size, raw and
+ * gzip-compressed, and by encode and decode latency.
+ *
+ * No database is needed: the payload is a page of synthetic cars, encoded with the same
+ * mappers the content negotiation uses.
+ *
+ * Run with {@code mvn test -Pbenchmark -Dtest=CarEncodingBenchmarkTest}.
+ *
+ * @author Wellington
+ * @version 1.0
+ *
+ */
+@Tag("benchmark")
+class CarEncodingBenchmarkTest {
+
+	private static final Logger logger = LoggerFactory.getLogger(CarEncodingBenchmarkTest.class);
+
+	private static final int ROWS = Integer.getInteger("benchmark.rows", 500);
+	private static final int ITERATIONS = 2_000;
+
+	private static final TypeReference<List<Car>> CAR_LIST = new TypeReference<>() {};
+
+	@Test
+	@DisplayName("Benchmark JSON, CBOR and Smile encodings of a car page")
+	void benchmarkEncodings() throws IOException {
+
+		// Given / Arrange
+		ObjectMapper json = new ObjectMapper()
+				.findAndRegisterModules()
+				.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+		List<Car> cars = SyntheticCars.generate(ROWS, "E", 1L);
+
+		// When / Act
+		int jsonBytes = measure("json", json, cars);
+		int cborBytes = measure("cbor", json.copyWith(new CBORFactory()), cars);
+		int smileBytes = measure("smile", json.copyWith(new SmileFactory()), cars);
+
+		// Then / Assert
+		assertTrue(cborBytes < jsonBytes, "CBOR should be smaller than JSON");
+		assertTrue(smileBytes < jsonBytes, "Smile should be smaller than JSON");
+	}
+
+	/**
+	 * Encodes and decodes the page repeatedly and logs its figures.
+	 *
+	 * @return the raw encoded size
+	 */
+	private int measure(String name, ObjectMapper mapper, List<Car> cars) throws IOException {
+		byte[] encoded = mapper.writeValueAsBytes(cars);
+		for (int i = 0; i < ITERATIONS / 10; i++) {
+			mapper.readValue(mapper.writeValueAsBytes(cars), CAR_LIST);
+		}
+
+		LatencyRecorder encodeLatency = new LatencyRecorder(ITERATIONS);
+		LatencyRecorder decodeLatency = new LatencyRecorder(ITERATIONS);
+		List<Car> decoded = null;
+		for (int i = 0; i < ITERATIONS; i++) {
+			long start = System.nanoTime();
+			encoded = mapper.writeValueAsBytes(cars);
+			encodeLatency.add(System.nanoTime() - start);
+
+			start = System.nanoTime();
+			decoded = mapper.readValue(encoded, CAR_LIST);
+			decodeLatency.add(System.nanoTime() - start);
+		}
+		assertEquals(cars.size(), decoded.size());
+
+		logger.info("{}: {} bytes, {} bytes gzipped, encode {}, decode {}", name, encoded.length, gzip(encoded),
+				encodeLatency, decodeLatency);
+		return encoded.length;
+	}
+
+	private static int gzip(byte[] payload) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+			gzip.write(payload);
+		}
+		return out.size();
+	}
+}
@@ -0,0 +1,119 @@
+package com.service.app.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.service.app.entity.Car;
+import com.service.app.integration.tests.testcontainers.AbstractIntegrationTest;
+import com.service.app.model.CarPatch;
+import com.service.app.repository.CarRepository;
+import com.service.app.service.CarService;
+
+/**
+ * Compares a price change written as a full update (PUT) with the same change written as a
+ * merge patch, by latency, bytes sent to MySQL and, when readable, binary log growth.
+ *
+ * The binary log only shrinks with the patch when the server runs with
+ * {@code binlog_row_image=MINIMAL}; the image in use is logged with the results.
+ *
+ * Run with {@code mvn test -Pbenchmark -Dtest=CarPatchBenchmarkTest -Dbenchmark.rows=5000}.
+ *
+ * @author Wellington
+ * @version 1.0
+ *
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class CarPatchBenchmarkTest extends AbstractIntegrationTest {
+
+	private static final Logger logger = LoggerFactory.getLogger(CarPatchBenchmarkTest.class);
+
+	private static final int ROWS = Integer.getInteger("benchmark.rows", 2_000);
+
+	@Autowired
+	private CarService service;
+
+	@Autowired
+	private CarRepository repository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private ObjectMapper mapper;
+
+	private List<Car> cars;
+
+	@BeforeEach
+	void setUp() {
+		repository.deleteAllInBatch();
+		cars = SyntheticCars.generate(ROWS, "U", 1L);
+		repository.insertAll(cars);
+	}
+
+	@Test
+	@DisplayName("Benchmark full update against merge patch of a single column")
+	void benchmarkFullUpdateAgainstPatch() {
+
+		// Given / Arrange
+		logger.info("binlog_row_image={}", jdbcTemplate.queryForObject("select @@binlog_row_image", String.class));
+
+		// When / Act
+		measure("PUT", car -> {
+			car.setPrice(car.getPrice().add(BigDecimal.ONE));
+			service.updateCar(car, null);
+		});
+		measure("PATCH", car -> {
+			CarPatch patch = CarPatch.from(mapper.createObjectNode().put("price", car.getPrice().add(BigDecimal.TEN)), mapper);
+			service.patchCar(car.getId(), patch, null);
+		});
+
+		// Then / Assert
+		assertEquals(2L, jdbcTemplate.queryForObject("select min(version) from cars", Long.class));
+	}
+
+	private void measure(String name, Consumer<Car> update) {
+		LatencyRecorder recorder = new LatencyRecorder(ROWS);
+		long bytesBefore = bytesReceived();
+		Long binlogBefore = binlogPosition();
+
+		for (Car car : cars) {
+			recorder.record(() -> update.accept(car));
+		}
+
+		long bytes = bytesReceived() - bytesBefore;
+		Long binlogAfter = binlogPosition();
+		logger.info("{} of {} cars: {}, {} bytes/update sent, {} binlog bytes/update", name, ROWS, recorder,
+				bytes / ROWS, binlogBefore == null || binlogAfter == null ? "n/a" : (binlogAfter - binlogBefore) / ROWS);
+	}
+
+	private long bytesReceived() {
+		return Long.parseLong(jdbcTemplate.queryForMap("show global status like 'Bytes_received'").get("Value").toString());
+	}
+
+	/**
+	 * Reads the current binary log position, which needs the REPLICATION CLIENT privilege.
+	 */
+	private Long binlogPosition() {
+		try {
+			return ((Number) jdbcTemplate.queryForMap("show master status").get("Position")).longValue();
+		} catch (DataAccessException e) {
+			return null;
+		}
+	}
+}
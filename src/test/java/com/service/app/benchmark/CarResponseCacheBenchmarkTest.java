@@ -0,0 +1,118 @@
+package com.service.app.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.ByteArrayHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.service.app.configuration.CacheConfiguration;
+import com.service.app.controller.CarResponseCache;
+import com.service.app.entity.Car;
+
+/**
+ * Compares writing a car through the JSON message converter, as a plain
+ * {@code ResponseEntity<Car>} does, with writing its cached encoding through the byte
+ * array converter, by heap allocated and throughput per response.
+ *
+ * Both paths start from an entity already in memory, as on an entity cache hit, and
+ * write to an in-memory response body, so only the serialization cost is compared.
+ *
+ * Run with {@code mvn test -Pbenchmark -Dtest=CarResponseCacheBenchmarkTest}.
+ *
+ * @author Wellington
+ * @version 1.0
+ *
+ */
+@Tag("benchmark")
+class CarResponseCacheBenchmarkTest {
+
+	private static final Logger logger = LoggerFactory.getLogger(CarResponseCacheBenchmarkTest.class);
+
+	private static final int CARS = 1_000;
+	private static final int ITERATIONS = 200_000;
+
+	private static final com.sun.management.ThreadMXBean THREADS =
+			(com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+	@FunctionalInterface
+	private interface ResponseWriter {
+		MockHttpOutputMessage write(Car car) throws IOException;
+	}
+
+	@Test
+	@DisplayName("Benchmark serialized responses against cached response bytes")
+	void benchmarkSerializedAgainstCachedResponses() throws IOException {
+
+		// Given / Arrange
+		ObjectMapper mapper = new ObjectMapper()
+				.findAndRegisterModules()
+				.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+		MappingJackson2HttpMessageConverter jsonConverter = new MappingJackson2HttpMessageConverter(mapper);
+		ByteArrayHttpMessageConverter bytesConverter = new ByteArrayHttpMessageConverter();
+		CarResponseCache responseCache = new CarResponseCache(
+				new ConcurrentMapCacheManager(CacheConfiguration.CAR_RESPONSE_CACHE), mapper);
+		List<Car> cars = SyntheticCars.generate(CARS, "R", 1L);
+		for (int i = 0; i < cars.size(); i++) {
+			cars.get(i).setId((long) i + 1);
+			cars.get(i).setVersion(0L);
+		}
+
+		ResponseWriter serialized = car -> {
+			MockHttpOutputMessage message = new MockHttpOutputMessage();
+			jsonConverter.write(car, MediaType.APPLICATION_JSON, message);
+			return message;
+		};
+		ResponseWriter cached = car -> {
+			MockHttpOutputMessage message = new MockHttpOutputMessage();
+			bytesConverter.write(responseCache.toJson(car), MediaType.APPLICATION_JSON, message);
+			return message;
+		};
+		assertArrayEquals(serialized.write(cars.get(0)).getBodyAsBytes(), cached.write(cars.get(0)).getBodyAsBytes());
+
+		// When / Act
+		long serializedBytes = measure("ResponseEntity<Car>", serialized, cars);
+		long cachedBytes = measure("cached bytes", cached, cars);
+
+		// Then / Assert
+		assertTrue(cachedBytes < serializedBytes, "Cached responses should allocate less than serialized ones");
+	}
+
+	/**
+	 * Writes responses for every car in turn and logs the figures.
+	 *
+	 * @return the heap allocated per response
+	 */
+	private long measure(String name, ResponseWriter writer, List<Car> cars) throws IOException {
+		for (int i = 0; i < ITERATIONS / 10; i++) {
+			writer.write(cars.get(i % cars.size()));
+		}
+
+		long before = THREADS.getCurrentThreadAllocatedBytes();
+		long start = System.nanoTime();
+		long written = 0;
+		for (int i = 0; i < ITERATIONS; i++) {
+			written += writer.write(cars.get(i % cars.size())).getBodyAsBytes().length;
+		}
+		long elapsed = System.nanoTime() - start;
+		long allocated = (THREADS.getCurrentThreadAllocatedBytes() - before) / ITERATIONS;
+
+		logger.info("{}: {} responses/s, {} bytes allocated/response, {} body bytes/response", name,
+				ITERATIONS * 1_000_000_000L / elapsed, allocated, written / ITERATIONS);
+		return allocated;
+	}
+}
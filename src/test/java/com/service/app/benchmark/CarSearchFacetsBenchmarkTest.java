@@ -0,0 +1,113 @@
+package com.service.app.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.service.app.analytics.InventorySnapshot;
+import com.service.app.entity.Car;
+import com.service.app.model.CarFacetCount;
+import com.service.app.model.CarFacets;
+import com.service.app.model.CarSearchCriteria;
+import com.service.app.repository.CarRepository;
+import com.service.app.service.CarService;
+
+/**
+ * Measures the latency of the search facet counts over a million cars, for an
+ * unfiltered search, a brand filter and a combination of text and range filters, against
+ * the 20 ms p95 budget of the search UI.
+ *
+ * No database is needed: the snapshot is loaded from a mocked export streaming synthetic
+ * cars.
+ *
+ * Run with {@code mvn test -Pbenchmark -Dtest=CarSearchFacetsBenchmarkTest}.
+ *
+ * @author Wellington
+ * @version 1.0
+ *
+ */
+@Tag("benchmark")
+class CarSearchFacetsBenchmarkTest {
+
+	private static final Logger logger = LoggerFactory.getLogger(CarSearchFacetsBenchmarkTest.class);
+
+	private static final int ROWS = Integer.getInteger("benchmark.rows", 1_000_000);
+	private static final int ITERATIONS = 200;
+	private static final long P95_BUDGET_MICROS = 20_000;
+
+	@Test
+	@DisplayName("Benchmark facet counts of searches over a million cars")
+	void benchmarkFacetCounts() {
+
+		// Given / Arrange
+		// Stub-only, so that the recorded invocations do not keep the snapshot reachable
+		CarService service = mock(CarService.class, withSettings().stubOnly());
+		willAnswer(invocation -> {
+			Consumer<Car> sink = invocation.getArgument(0);
+			Random random = new Random(1L);
+			for (int i = 0; i < ROWS; i++) {
+				Car car = SyntheticCars.next(random, "F" + i);
+				car.setId(i + 1L);
+				sink.accept(car);
+			}
+			return (long) ROWS;
+		}).given(service).exportCars(any());
+		InventorySnapshot snapshot = new InventorySnapshot(service, mock(CarRepository.class), 500, 0);
+
+		CarSearchCriteria brand = new CarSearchCriteria();
+		brand.setBrand("Fiat");
+		CarSearchCriteria combined = new CarSearchCriteria();
+		combined.setBrand("Toyota");
+		combined.setFuelType("Diesel");
+		combined.setMinModelYear(2015);
+		combined.setMaxPrice(new BigDecimal("400000.00"));
+		combined.setMaxOdometer(100_000);
+
+		try {
+			snapshot.load();
+
+			// When / Act
+			LatencyRecorder unfilteredLatency = measure(snapshot, new CarSearchCriteria());
+			LatencyRecorder brandLatency = measure(snapshot, brand);
+			LatencyRecorder combinedLatency = measure(snapshot, combined);
+
+			// Then / Assert
+			logger.info("Facets of {} cars: unfiltered {}, brand {}, combined {}", ROWS, unfilteredLatency, brandLatency,
+					combinedLatency);
+			CarFacets all = snapshot.facets(new CarSearchCriteria());
+			assertEquals(ROWS, all.getTotal());
+			assertEquals(ROWS, all.getCounts().get("brand").stream().mapToLong(CarFacetCount::getCount).sum());
+			assertEquals(SyntheticCars.MODELS.length, snapshot.facets(brand).getCounts().get("brand").size());
+			for (LatencyRecorder latency : List.of(unfilteredLatency, brandLatency, combinedLatency)) {
+				assertTrue(latency.percentileMicros(95) < P95_BUDGET_MICROS, "p95 over budget: " + latency);
+			}
+		} finally {
+			snapshot.destroy();
+		}
+	}
+
+	private static LatencyRecorder measure(InventorySnapshot snapshot, CarSearchCriteria criteria) {
+		for (int i = 0; i < ITERATIONS / 4; i++) {
+			snapshot.facets(criteria);
+		}
+		LatencyRecorder latency = new LatencyRecorder(ITERATIONS);
+		for (int i = 0; i < ITERATIONS; i++) {
+			latency.record(() -> snapshot.facets(criteria));
+		}
+		return latency;
+	}
+}
@@ -0,0 +1,119 @@
+package com.service.app.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.service.app.entity.Car;
+import com.service.app.integration.tests.testcontainers.AbstractIntegrationTest;
+import com.service.app.model.CarPageRequest;
+import com.service.app.model.CarSearchCriteria;
+import com.service.app.repository.CarRepository;
+import com.service.app.service.CarService;
+
+/**
+ * Measures search latency on a large synthetic inventory and checks that the typical
+ * filter combinations are resolved through an index.
+ *
+ * Run with {@code mvn test -Pbenchmark -Dtest=CarSearchLatencyBenchmarkTest}; the table size
+ * defaults to one million rows and can be changed with {@code -Dbenchmark.rows}.
+ *
+ * @author Wellington
+ * @version 1.0
+ *
+ */
+@Tag("benchmark")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class CarSearchLatencyBenchmarkTest extends AbstractIntegrationTest {
+
+	private static final Logger logger = LoggerFactory.getLogger(CarSearchLatencyBenchmarkTest.class);
+
+	private static final int ROWS = Integer.getInteger("benchmark.rows", 1_000_000);
+	private static final int ITERATIONS = 200;
+	private static final int INSERT_CHUNK = 5_000;
+
+	@Autowired
+	private CarService service;
+
+	@Autowired
+	private CarRepository repository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@BeforeAll
+	void populate() {
+		repository.deleteAllInBatch();
+		for (int from = 0; from < ROWS; from += INSERT_CHUNK) {
+			List<Car> chunk = SyntheticCars.generate(Math.min(INSERT_CHUNK, ROWS - from), "P" + from + "-", from);
+			repository.insertAll(chunk);
+		}
+		jdbcTemplate.execute("analyze table cars");
+	}
+
+	@Test
+	@DisplayName("Benchmark search latency for common filter combinations")
+	void benchmarkSearchLatency() {
+		measure("brand + model + year range", criteria -> {
+			criteria.setBrand("Toyota");
+			criteria.setModel("Corolla");
+			criteria.setMinModelYear(2015);
+			criteria.setMaxModelYear(2020);
+		});
+		measure("body type + fuel type + price range", criteria -> {
+			criteria.setBodyType("SUV");
+			criteria.setFuelType("Diesel");
+			criteria.setMinPrice(new BigDecimal("100000"));
+			criteria.setMaxPrice(new BigDecimal("250000"));
+		});
+		measure("fuel type + transmission + max odometer", criteria -> {
+			criteria.setFuelType("Elétrico");
+			criteria.setTransmission("CVT");
+			criteria.setMaxOdometer(50_000);
+		});
+		measure("price range", criteria -> {
+			criteria.setMinPrice(new BigDecimal("300000"));
+			criteria.setMaxPrice(new BigDecimal("310000"));
+		});
+	}
+
+	@Test
+	@DisplayName("Check that common filter combinations use an index")
+	void checkSearchesAreIndexBacked() {
+		assertIndexed("select id from cars where brand = 'Toyota' and model = 'Corolla' and model_year between 2015 and 2020 order by id limit 51");
+		assertIndexed("select id from cars where body_type = 'SUV' and fuel_type = 'Diesel' and price between 100000 and 250000 order by id limit 51");
+		assertIndexed("select id from cars where fuel_type = 'Diesel' and transmission = 'CVT' order by id limit 51");
+		assertIndexed("select id from cars where price between 300000 and 310000 order by id limit 51");
+	}
+
+	private void measure(String name, Consumer<CarSearchCriteria> filters) {
+		CarSearchCriteria criteria = new CarSearchCriteria();
+		filters.accept(criteria);
+		LatencyRecorder recorder = new LatencyRecorder(ITERATIONS);
+		for (int i = 0; i < ITERATIONS; i++) {
+			recorder.record(() -> service.searchCars(criteria, CarPageRequest.firstPage()));
+		}
+		logger.info("Search on {} rows by {}: {}", ROWS, name, recorder);
+	}
+
+	private void assertIndexed(String sql) {
+		Map<String, Object> plan = jdbcTemplate.queryForList("explain " + sql).get(0);
+		logger.info("{} -> key={} rows={}", sql, plan.get("key"), plan.get("rows"));
+		assertNotNull(plan.get("key"), "No index used by: " + sql);
+	}
+}
@@ -0,0 +1,122 @@
+package com.service.app.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.service.app.integration.tests.testcontainers.AbstractIntegrationTest;
+import com.service.app.model.CarPage;
+import com.service.app.model.CarPageRequest;
+import com.service.app.repository.CarRepository;
+import com.service.app.service.CarService;
+
+/**
+ * Compares full {@link com.service.app.entity.Car} pages with {@link com.service.app.model.CarSummary}
+ * pages by fetch latency, heap allocated per row, serialization time and JSON size.
+ *
+ * Pages are fetched inside a read-write transaction, as a request would, so the entity
+ * figures include the snapshots Hibernate keeps for dirty checking.
+ *
+ * Run with {@code mvn test -Pbenchmark -Dtest=CarSummaryBenchmarkTest}.
+ *
+ * @author Wellington
+ * @version 1.0
+ *
+ */
+@Tag("benchmark")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class CarSummaryBenchmarkTest extends AbstractIntegrationTest {
+
+	private static final Logger logger = LoggerFactory.getLogger(CarSummaryBenchmarkTest.class);
+
+	private static final int ROWS = Integer.getInteger("benchmark.rows", 20_000);
+	private static final int ITERATIONS = 200;
+
+	private static final com.sun.management.ThreadMXBean THREADS =
+			(com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+	@Autowired
+	private CarService service;
+
+	@Autowired
+	private CarRepository repository;
+
+	@Autowired
+	private ObjectMapper mapper;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@BeforeAll
+	void populate() {
+		repository.deleteAllInBatch();
+		repository.insertAll(SyntheticCars.generate(ROWS, "V", 1L));
+	}
+
+	@Test
+	@DisplayName("Benchmark entity pages against summary projection pages")
+	void benchmarkEntitiesAgainstSummaries() throws JsonProcessingException {
+
+		// Given / Arrange
+		TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+		CarPageRequest request = CarPageRequest.of("id", "asc", null, CarPageRequest.MAX_LIMIT);
+
+		// When / Act
+		long entityBytes = measure("entities", () -> transaction.execute(status -> service.findCars(request)));
+		long summaryBytes = measure("summaries", () -> transaction.execute(status -> service.findCarSummaries(request)));
+
+		// Then / Assert
+		assertTrue(summaryBytes < entityBytes, "Summary pages should allocate less than entity pages");
+	}
+
+	/**
+	 * Runs the fetch repeatedly and logs its figures.
+	 *
+	 * @return the heap allocated per row while fetching
+	 */
+	private long measure(String name, Supplier<CarPage<?>> fetch) throws JsonProcessingException {
+		for (int i = 0; i < ITERATIONS / 10; i++) {
+			mapper.writeValueAsBytes(fetch.get());
+		}
+
+		LatencyRecorder fetchLatency = new LatencyRecorder(ITERATIONS);
+		LatencyRecorder writeLatency = new LatencyRecorder(ITERATIONS);
+		long allocated = 0;
+		int rows = 0;
+		int jsonBytes = 0;
+		for (int i = 0; i < ITERATIONS; i++) {
+			long before = THREADS.getCurrentThreadAllocatedBytes();
+			long start = System.nanoTime();
+			CarPage<?> page = fetch.get();
+			fetchLatency.add(System.nanoTime() - start);
+			allocated += THREADS.getCurrentThreadAllocatedBytes() - before;
+			rows += page.getContent().size();
+
+			start = System.nanoTime();
+			jsonBytes = mapper.writeValueAsBytes(page).length;
+			writeLatency.add(System.nanoTime() - start);
+		}
+
+		List<?> last = fetch.get().getContent();
+		logger.info("{}: fetch {}, serialize {}, {} bytes allocated/row, {} JSON bytes/row", name, fetchLatency,
+				writeLatency, allocated / rows, jsonBytes / last.size());
+		return allocated / rows;
+	}
+}
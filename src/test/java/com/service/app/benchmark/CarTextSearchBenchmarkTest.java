@@ -0,0 +1,122 @@
+package com.service.app.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.service.app.entity.Car;
+import com.service.app.integration.tests.testcontainers.AbstractIntegrationTest;
+import com.service.app.repository.CarRepository;
+import com.service.app.search.CarTextIndex;
+import com.service.app.service.CarService;
+
+/**
+ * Compares free-text searches answered by the in-memory full-text index against the
+ * {@code LIKE '%word%'} query they replace, over a million cars, and times the parallel
+ * build of the index.
+ *
+ * The {@code LIKE} query requires every word in any of the six columns and stops at the
+ * first 20 matches, without ranking or counting them, so it does less work than the
+ * index; it still scans the table, since no B-tree index serves a leading wildcard.
+ *
+ * Run with {@code mvn test -Pbenchmark -Dtest=CarTextSearchBenchmarkTest}; the table size
+ * defaults to one million rows and can be changed with {@code -Dbenchmark.rows}.
+ *
+ * @author Wellington
+ * @version 1.0
+ *
+ */
+@Tag("benchmark")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class CarTextSearchBenchmarkTest extends AbstractIntegrationTest {
+
+	private static final Logger logger = LoggerFactory.getLogger(CarTextSearchBenchmarkTest.class);
+
+	private static final int ROWS = Integer.getInteger("benchmark.rows", 1_000_000);
+	private static final int INDEX_ITERATIONS = 200;
+	private static final int LIKE_ITERATIONS = 20;
+	private static final int INSERT_CHUNK = 5_000;
+	private static final int LIMIT = 20;
+	private static final String LIKE_TERM = "(brand like ? or model like ? or color like ? or body_type like ? "
+			+ "or fuel_type like ? or transmission like ?)";
+	private static final String[] QUERIES = { "vermelha bmw x5 suv", "toyota corolla", "diesel cvt", "automatica hibrido" };
+
+	@Autowired
+	private CarService service;
+
+	@Autowired
+	private CarRepository repository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@BeforeAll
+	void populate() {
+		repository.deleteAllInBatch();
+		for (int from = 0; from < ROWS; from += INSERT_CHUNK) {
+			List<Car> chunk = SyntheticCars.generate(Math.min(INSERT_CHUNK, ROWS - from), "T" + from + "-", from);
+			repository.insertAll(chunk);
+		}
+		jdbcTemplate.execute("analyze table cars");
+	}
+
+	@Test
+	@DisplayName("Benchmark full-text index searches against LIKE queries")
+	void benchmarkTextIndexAgainstLike() {
+		// A fresh index, as the one of the context was built before the table was populated
+		CarTextIndex index = new CarTextIndex(service, repository, 500, 0);
+		try {
+			long start = System.nanoTime();
+			index.load();
+			logger.info("Built the full-text index of {} cars in {} ms", index.size(), (System.nanoTime() - start) / 1_000_000);
+
+			for (String query : QUERIES) {
+				for (int i = 0; i < INDEX_ITERATIONS / 4; i++) {
+					index.search(query, LIMIT);
+				}
+				LatencyRecorder indexed = new LatencyRecorder(INDEX_ITERATIONS);
+				for (int i = 0; i < INDEX_ITERATIONS; i++) {
+					indexed.record(() -> assertTrue(index.search(query, LIMIT).getTotal() > 0));
+				}
+
+				String sql = likeQuery(query);
+				Object[] arguments = likeArguments(query);
+				LatencyRecorder like = new LatencyRecorder(LIKE_ITERATIONS);
+				for (int i = 0; i < LIKE_ITERATIONS; i++) {
+					like.record(() -> jdbcTemplate.queryForList(sql, Long.class, arguments));
+				}
+				logger.info("'{}' on {} rows, full-text index: {}", query, ROWS, indexed);
+				logger.info("'{}' on {} rows, LIKE: {}", query, ROWS, like);
+			}
+		} finally {
+			index.destroy();
+		}
+	}
+
+	private static String likeQuery(String query) {
+		int words = query.split(" ").length;
+		return "select id from cars where " + String.join(" and ", Collections.nCopies(words, LIKE_TERM)) + " limit " + LIMIT;
+	}
+
+	private static Object[] likeArguments(String query) {
+		List<Object> arguments = new ArrayList<>();
+		for (String word : query.split(" ")) {
+			arguments.addAll(Collections.nCopies(6, "%" + word + "%"));
+		}
+		return arguments.toArray();
+	}
+}
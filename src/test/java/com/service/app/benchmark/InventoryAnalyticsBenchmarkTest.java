@@ -0,0 +1,162 @@
+package com.service.app.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.service.app.analytics.InventorySnapshot;
+import com.service.app.entity.Car;
+import com.service.app.model.CarAnalyticsReport;
+import com.service.app.model.CarDimension;
+import com.service.app.model.CarGroupStats;
+import com.service.app.repository.CarRepository;
+import com.service.app.service.CarService;
+
+/**
+ * Compares the latency of the inventory analytics aggregated on one thread with the
+ * fork-join aggregation on every core, at one and ten million cars, and times a
+ * high-cardinality grouping by model.
+ *
+ * No database is needed: the snapshot is loaded from a mocked export streaming synthetic
+ * cars. Ten million cars take about 1 GB of heap.
+ *
+ * Run with {@code mvn test -Pbenchmark -Dtest=InventoryAnalyticsBenchmarkTest -Dbenchmark.rows=1000000,10000000}.
+ *
+ * @author Wellington
+ * @version 1.0
+ *
+ */
+@Tag("benchmark")
+class InventoryAnalyticsBenchmarkTest {
+
+	private static final Logger logger = LoggerFactory.getLogger(InventoryAnalyticsBenchmarkTest.class);
+
+	private static final String ROWS = System.getProperty("benchmark.rows", "1000000,10000000");
+	private static final int ITERATIONS = 20;
+	private static final List<Double> PERCENTILES = List.of(50.0, 90.0, 99.0);
+	private static final int MODELS = Integer.getInteger("benchmark.models", 50_000);
+
+	@Test
+	@DisplayName("Benchmark sequential against parallel analytics aggregation")
+	void benchmarkSequentialAgainstParallelAggregation() {
+		for (String rows : ROWS.split(",")) {
+			benchmark(Integer.parseInt(rows.trim()));
+		}
+	}
+
+	@Test
+	@DisplayName("Benchmark analytics grouped by tens of thousands of models")
+	void benchmarkHighCardinalityGrouping() {
+		int rows = Integer.parseInt(ROWS.split(",")[0].trim());
+
+		// Given / Arrange
+		CarService service = mock(CarService.class, withSettings().stubOnly());
+		willAnswer(invocation -> {
+			Consumer<Car> sink = invocation.getArgument(0);
+			Random random = new Random(1L);
+			for (int i = 0; i < rows; i++) {
+				Car car = SyntheticCars.next(random, "A" + i);
+				car.setId(i + 1L);
+				car.setModel("M" + random.nextInt(MODELS));
+				sink.accept(car);
+			}
+			return (long) rows;
+		}).given(service).exportCars(any());
+		InventorySnapshot snapshot = new InventorySnapshot(service, mock(CarRepository.class), 500, 0);
+		try {
+			snapshot.load();
+
+			// When / Act
+			for (int i = 0; i < ITERATIONS / 4; i++) {
+				snapshot.analyze(CarDimension.MODEL, 10_000, PERCENTILES);
+			}
+			LatencyRecorder latency = new LatencyRecorder(ITERATIONS);
+			for (int i = 0; i < ITERATIONS; i++) {
+				latency.record(() -> snapshot.analyze(CarDimension.MODEL, 10_000, PERCENTILES));
+			}
+			CarAnalyticsReport report = snapshot.analyze(CarDimension.MODEL, 10_000, PERCENTILES);
+
+			// Then / Assert
+			logger.info("{} cars, analytics by {} models: {}", rows, report.getGroups().size(), latency);
+			assertEquals(rows, report.getGroups().stream().mapToLong(CarGroupStats::getCount).sum());
+		} finally {
+			snapshot.destroy();
+		}
+	}
+
+	private void benchmark(int rows) {
+
+		// Given / Arrange
+		// Stub-only, so that the recorded invocations do not keep the snapshots reachable
+		CarService service = mock(CarService.class, withSettings().stubOnly());
+		willAnswer(invocation -> {
+			Consumer<Car> sink = invocation.getArgument(0);
+			Random random = new Random(1L);
+			for (int i = 0; i < rows; i++) {
+				Car car = SyntheticCars.next(random, "A" + i);
+				car.setId(i + 1L);
+				sink.accept(car);
+			}
+			return (long) rows;
+		}).given(service).exportCars(any());
+
+		// When / Act
+		CarAnalyticsReport sequential = measure(service, rows, 1);
+		CarAnalyticsReport parallel = measure(service, rows, 0);
+
+		// Then / Assert
+		assertEquals(rows, parallel.getCarCount());
+		assertEquals(counts(sequential), counts(parallel));
+	}
+
+	/**
+	 * Loads a snapshot aggregating with the given parallelism, times its analytics and
+	 * releases it, so that only one snapshot is held at a time.
+	 *
+	 * @return the last report
+	 */
+	private static CarAnalyticsReport measure(CarService service, int rows, int parallelism) {
+		InventorySnapshot snapshot = new InventorySnapshot(service, mock(CarRepository.class), 500, parallelism);
+		try {
+			long start = System.nanoTime();
+			snapshot.load();
+			long loadMillis = (System.nanoTime() - start) / 1_000_000;
+
+			for (int i = 0; i < ITERATIONS / 4; i++) {
+				analyze(snapshot);
+			}
+			LatencyRecorder latency = new LatencyRecorder(ITERATIONS);
+			for (int i = 0; i < ITERATIONS; i++) {
+				latency.record(() -> analyze(snapshot));
+			}
+			logger.info("{} cars loaded in {} ms, analytics by brand with parallelism {}: {}", rows, loadMillis,
+					parallelism == 0 ? Runtime.getRuntime().availableProcessors() : parallelism, latency);
+			return analyze(snapshot);
+		} finally {
+			snapshot.destroy();
+		}
+	}
+
+	private static CarAnalyticsReport analyze(InventorySnapshot snapshot) {
+		return snapshot.analyze(CarDimension.BRAND, 10_000, PERCENTILES);
+	}
+
+	private static List<String> counts(CarAnalyticsReport report) {
+		return report.getGroups().stream()
+				.map(group -> group.getGroup() + "=" + group.getCount() + Arrays.toString(group.getOdometerHistogram()))
+				.toList();
+	}
+}
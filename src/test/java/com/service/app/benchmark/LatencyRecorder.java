@@ -0,0 +1,58 @@
+package com.service.app.benchmark;
+
+import java.util.Arrays;
+
+/**
+ * Collects latency samples and reports percentiles, in microseconds.
+ *
+ * @author Wellington
+ * @version 1.0
+ *
+ */
+public final class LatencyRecorder {
+
+	private final long[] samples;
+	private int count;
+
+	public LatencyRecorder(int capacity) {
+		this.samples = new long[capacity];
+	}
+
+	/**
+	 * Times one execution of the given action.
+	 *
+	 * @param action the measured action
+	 */
+	public void record(Runnable action) {
+		long start = System.nanoTime();
+		action.run();
+		add(System.nanoTime() - start);
+	}
+
+	/**
+	 * Adds a latency measured elsewhere, possibly from another thread.
+	 *
+	 * @param nanos the latency in nanoseconds
+	 */
+	public synchronized void add(long nanos) {
+		samples[count++] = nanos;
+	}
+
+	/**
+	 * Returns the given percentile of the recorded samples.
+	 *
+	 * @param percentile a value between 0 and 100
+	 * @return the latency in microseconds
+	 */
+	public synchronized long percentileMicros(double percentile) {
+		long[] sorted = Arrays.copyOf(samples, count);
+		Arrays.sort(sorted);
+		int index = (int) Math.ceil(percentile / 100 * count) - 1;
+		return sorted[Math.max(0, Math.min(index, count - 1))] / 1_000;
+	}
+
+	@Override
+	public String toString() {
+		return "p50=" + percentileMicros(50) + "us p95=" + percentileMicros(95) + "us p99=" + percentileMicros(99) + "us";
+	}
+}
@@ -0,0 +1,24 @@
+package com.service.app.benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * Load benchmark of the default mode, where each request holds a Tomcat platform thread.
+ *
+ * Run with {@code mvn test -Pbenchmark -Dtest='*ThreadLoadBenchmarkTest'} to compare it with
+ * {@link VirtualThreadLoadBenchmarkTest}.
+ *
+ * @author Wellington
+ * @version 1.0
+ *
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class PlatformThreadLoadBenchmarkTest extends AbstractRequestLoadBenchmark {
+
+	@Override
+	String mode() {
+		return "platform threads";
+	}
+}
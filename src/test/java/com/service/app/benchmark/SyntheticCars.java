@@ -0,0 +1,74 @@
+package com.service.app.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import com.service.app.entity.Car;
+
+/**
+ * Generates reproducible synthetic {@link Car} entities for benchmarks.
+ *
+ * Values are drawn from small vocabularies so that filters, facets and group-by queries
+ * see realistic cardinalities, and license plates are unique within a prefix.
+ *
+ * @author Wellington
+ * @version 1.0
+ *
+ */
+public final class SyntheticCars {
+
+	static final String[][] MODELS = {
+			{ "Volkswagen", "Polo", "Virtus", "T-Cross", "Nivus", "Amarok" },
+			{ "Fiat", "Argo", "Cronos", "Pulse", "Toro", "Strada" },
+			{ "Chevrolet", "Onix", "Tracker", "S10", "Spin", "Montana" },
+			{ "Toyota", "Corolla", "Yaris", "Hilux", "SW4", "RAV4" },
+			{ "Hyundai", "HB20", "Creta", "Tucson", "Santa Fe", "Kona" },
+			{ "BMW", "320i", "X1", "X3", "X5", "M3" } };
+
+	static final String[] COLORS = { "Branca", "Preta", "Prata", "Cinza", "Vermelha", "Azul" };
+	static final String[] FUEL_TYPES = { "Total Flex", "Gasolina", "Diesel", "Elétrico", "Híbrido" };
+	static final String[] TRANSMISSIONS = { "Manual de 5 velocidades", "Manual de 6 velocidades",
+			"Automática de 6 velocidades", "Automática de 8 velocidades", "CVT" };
+	static final String[] BODY_TYPES = { "Hatchback", "Sedan", "SUV", "Picape", "Minivan" };
+
+	private SyntheticCars() {}
+
+	/**
+	 * Creates {@code count} cars without IDs.
+	 *
+	 * @param count the number of cars
+	 * @param platePrefix a prefix keeping license plates unique across calls
+	 * @param seed the random seed
+	 * @return the generated cars
+	 */
+	public static List<Car> generate(int count, String platePrefix, long seed) {
+		Random random = new Random(seed);
+		List<Car> cars = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			cars.add(next(random, platePrefix + i));
+		}
+		return cars;
+	}
+
+	/**
+	 * Creates one car with random attributes.
+	 *
+	 * @param random the random source
+	 * @param licensePlate the license plate, at most 15 characters
+	 * @return the generated car
+	 */
+	public static Car next(Random random, String licensePlate) {
+		String[] brand = MODELS[random.nextInt(MODELS.length)];
+		int modelYear = 2005 + random.nextInt(20);
+		int horsePower = 70 + random.nextInt(400);
+		return new Car(null, brand[0], brand[1 + random.nextInt(brand.length - 1)], modelYear,
+				COLORS[random.nextInt(COLORS.length)], licensePlate, random.nextInt(250_000),
+				FUEL_TYPES[random.nextInt(FUEL_TYPES.length)], TRANSMISSIONS[random.nextInt(TRANSMISSIONS.length)],
+				horsePower, BigDecimal.valueOf(10 + random.nextInt(50), 1), 2 + 2 * random.nextInt(2),
+				BODY_TYPES[random.nextInt(BODY_TYPES.length)], BigDecimal.valueOf(3_000_000L + random.nextInt(60_000_000), 2),
+				LocalDate.of(modelYear, 1 + random.nextInt(12), 1 + random.nextInt(28)), "Owner " + random.nextInt(10_000));
+	}
+}
@@ -0,0 +1,29 @@
+package com.service.app.benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Load benchmark of the {@code virtual-threads} profile, where each request runs on a
+ * virtual thread and the Hikari pool bounds database concurrency.
+ *
+ * Needs Java 21: {@code mvn test -Pjava21,benchmark -Dtest='*ThreadLoadBenchmarkTest'}.
+ *
+ * @author Wellington
+ * @version 1.0
+ *
+ */
+@Tag("benchmark")
+@EnabledForJreRange(min = JRE.JAVA_21)
+@ActiveProfiles("virtual-threads")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class VirtualThreadLoadBenchmarkTest extends AbstractRequestLoadBenchmark {
+
+	@Override
+	String mode() {
+		return "virtual threads";
+	}
+}
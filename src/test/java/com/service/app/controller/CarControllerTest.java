@@ -1,35 +1,83 @@
 package com.service.app.controller;
 
+import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.mockito.BDDMockito.*;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.service.app.analytics.InventorySnapshot;
+import com.service.app.configuration.CacheConfiguration;
+import com.service.app.configuration.ContentNegotiationConfiguration;
 import com.service.app.entity.Car;
+import com.service.app.events.CarEventBroadcaster;
+import com.service.app.exceptions.PreconditionFailedException;
 import com.service.app.exceptions.ResourceNotFoundException;
+import com.service.app.model.CarAnalyticsReport;
+import com.service.app.model.CarBatchItemResult;
+import com.service.app.model.CarBatchResult;
+import com.service.app.model.CarBulkResult;
+import com.service.app.model.CarBulkUpdate;
+import com.service.app.model.CarDelta;
+import com.service.app.model.CarDeltaPage;
+import com.service.app.model.CarDimension;
+import com.service.app.model.CarFacetCount;
+import com.service.app.model.CarFacets;
+import com.service.app.model.CarFieldSet;
+import com.service.app.model.CarGroupStats;
+import com.service.app.model.CarLookupResult;
+import com.service.app.model.CarPage;
+import com.service.app.model.CarPageRequest;
+import com.service.app.model.CarPatch;
+import com.service.app.model.CarSearchCriteria;
+import com.service.app.model.CarSummary;
+import com.service.app.model.CarTextHit;
+import com.service.app.model.CarTextSearchResult;
+import com.service.app.search.CarTextIndex;
 import com.service.app.service.CarService;
 
 /**
@@ -48,17 +96,36 @@ import com.service.app.service.CarService;
  * 
  */
 @WebMvcTest
+@Import({ ContentNegotiationConfiguration.class, CarResponseCache.class, CarEventBroadcaster.class })
 class CarControllerTest {
 	
+	@TestConfiguration
+	static class ResponseCacheConfiguration {
+		
+		@Bean
+		CacheManager cacheManager() {
+			return new ConcurrentMapCacheManager(CacheConfiguration.CAR_RESPONSE_CACHE);
+		}
+	}
+	
 	@Autowired
     private MockMvc mockMvc;
     
     @Autowired
     private ObjectMapper mapper;
     
+    @Autowired
+    private CarEventBroadcaster eventBroadcaster;
+    
     @MockBean
     private CarService service;
     
+    @MockBean
+    private InventorySnapshot inventorySnapshot;
+    
+    @MockBean
+    private CarTextIndex textIndex;
+    
     private Car car;
 
 	@BeforeEach
@@ -91,6 +158,29 @@ class CarControllerTest {
             .andExpect(jsonPath("$.fuelType", is(car.getFuelType())));
     }
 	    
+    @Test
+    @DisplayName("Test for Given Cars Batch when Create Batch then Return Item Report")
+    void testGivenCarsBatch_WhenCreateBatch_thenReturnItemReport() throws JsonProcessingException, Exception {
+        
+        // Given / Arrange
+        given(service.createCars(any())).willReturn(new CarBatchResult(List.of(
+        		CarBatchItemResult.created(0, 1L),
+        		CarBatchItemResult.rejected(1, "licensePlate is repeated in this batch"))));
+        
+        // When / Act
+        ResultActions response = mockMvc.perform(post("/car-service/batch")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(mapper.writeValueAsString(List.of(car, car))));
+        
+        // Then / Assert
+        response.andDo(print()).
+            andExpect(status().isOk())
+            .andExpect(jsonPath("$.created", is(1)))
+            .andExpect(jsonPath("$.rejected", is(1)))
+            .andExpect(jsonPath("$.items[1].status", is("REJECTED")))
+            .andExpect(jsonPath("$.items[1].message", is("licensePlate is repeated in this batch")));
+    }
+    
     @Test
     @DisplayName("Test for Given List of Cars when findAll Cars then Return Cars List")
     void testGivenListOfCars_WhenFindAllCars_thenReturnCarsList() throws JsonProcessingException, Exception {
@@ -102,7 +192,7 @@ class CarControllerTest {
     	cars.add(new Car(2L, "Volkswagen", "Amarok V6 Comfortline", 2024, "Azul Marinho", "CMB7761", 0, "Diesel", "Automática de 8 velocidades", 258, new BigDecimal(3.0), 4,
 				"Picape", new BigDecimal(280000.0), LocalDate.of(2024, 9, 24), "Volkswagen do Brasil"));    	   
         
-        given(service.findAllCars()).willReturn(cars);
+        given(service.findCars(any(CarPageRequest.class))).willReturn(new CarPage<>(cars, "bmV4dA"));
         
         // When / Act
         ResultActions response = mockMvc.perform(get("/car-service"));
@@ -111,7 +201,365 @@ class CarControllerTest {
         response.
             andExpect(status().isOk())
             .andDo(print())
-            .andExpect(jsonPath("$.size()", is(cars.size())));
+            .andExpect(jsonPath("$.content.size()", is(cars.size())))
+            .andExpect(jsonPath("$.nextCursor", is("bmV4dA")));
+    }
+    
+    @Test
+    @DisplayName("Test for Given Invalid Limit when findAll Cars then Return Bad Request")
+    void testGivenInvalidLimit_WhenFindAllCars_thenReturnBadRequest() throws JsonProcessingException, Exception {
+        
+        // When / Act
+        ResultActions response = mockMvc.perform(get("/car-service")
+        		.param("limit", String.valueOf(CarPageRequest.MAX_LIMIT + 1)));
+        
+        // Then / Assert
+        response.
+            andExpect(status().isBadRequest())
+            .andDo(print());
+    }
+    
+    @Test
+    @DisplayName("Test for Given Unsupported Sort when findAll Cars then Return Bad Request")
+    void testGivenUnsupportedSort_WhenFindAllCars_thenReturnBadRequest() throws JsonProcessingException, Exception {
+        
+        // When / Act
+        ResultActions response = mockMvc.perform(get("/car-service")
+        		.param("sort", "owner"));
+        
+        // Then / Assert
+        response.
+            andExpect(status().isBadRequest())
+            .andDo(print());
+    }
+    
+    @Test
+    @DisplayName("Test for Given Fields when findAll Cars then Return Only Requested Fields")
+    void testGivenFields_WhenFindAllCars_thenReturnOnlyRequestedFields() throws JsonProcessingException, Exception {
+        
+        // Given / Arrange
+        ArgumentCaptor<CarFieldSet> fields = ArgumentCaptor.forClass(CarFieldSet.class);
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", 1L);
+        row.put("price", new BigDecimal("93500.00"));
+        given(service.findCarFields(fields.capture(), any(CarPageRequest.class))).willReturn(new CarPage<>(List.of(row), null));
+        
+        // When / Act
+        ResultActions response = mockMvc.perform(get("/car-service").param("fields", "id, price"));
+        
+        // Then / Assert
+        response.andExpect(status().isOk())
+            .andExpect(jsonPath("$.content[0].id", is(1)))
+            .andExpect(jsonPath("$.content[0].price", is(93500.00)))
+            .andExpect(jsonPath("$.content[0].brand").doesNotExist());
+        assertEquals(Set.of("id", "price"), fields.getValue().getProperties());
+    }
+    
+    @Test
+    @DisplayName("Test for Given Unknown Field when findAll Cars then Return Bad Request")
+    void testGivenUnknownField_WhenFindAllCars_thenReturnBadRequest() throws JsonProcessingException, Exception {
+        
+        // When / Act
+        ResultActions response = mockMvc.perform(get("/car-service").param("fields", "id,secret"));
+        
+        // Then / Assert
+        response.andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message", is("Unknown field: secret")));
+    }
+    
+    @Test
+    @DisplayName("Test for Given Fields when findById then Return Only Requested Fields with Sparse ETag")
+    void testGivenFields_WhenFindById_thenReturnOnlyRequestedFieldsWithSparseETag() throws JsonProcessingException, Exception {
+        
+        // Given / Arrange
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("odometer", 1200);
+        row.put("version", 3L);
+        given(service.getCarFields(1L, Set.of("odometer", "version"))).willReturn(row);
+        
+        // When / Act
+        ResultActions response = mockMvc.perform(get("/car-service/{id}", 1L).param("fields", "odometer"));
+        
+        // Then / Assert
+        response.andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"3.odometer\""))
+            .andExpect(jsonPath("$.odometer", is(1200)))
+            .andExpect(jsonPath("$.version").doesNotExist());
+        verify(service, never()).getCarById(1L);
+    }
+    
+    @Test
+    @DisplayName("Test for Given Summary Page when findSummaries then Return Summaries and Next Cursor")
+    void testGivenSummaryPage_WhenFindSummaries_thenReturnSummariesAndNextCursor() throws JsonProcessingException, Exception {
+        
+        // Given / Arrange
+        CarSummary summary = new CarSummary(1L, "Volkswagen", "Polo MPI", 2024, new BigDecimal("93500.00"), 0);
+        given(service.findCarSummaries(any(CarPageRequest.class))).willReturn(new CarPage<>(List.of(summary), "next"));
+        
+        // When / Act
+        ResultActions response = mockMvc.perform(get("/car-service/summaries").param("sort", "modelYear"));
+        
+        // Then / Assert
+        response.andExpect(status().isOk())
+            .andExpect(jsonPath("$.content[0].model", is("Polo MPI")))
+            .andExpect(jsonPath("$.content[0].owner").doesNotExist())
+            .andExpect(jsonPath("$.nextCursor", is("next")));
+    }
+    
+    @Test
+    @DisplayName("Test for Given Search Filters when Search then Return Matching Cars Page")
+    void testGivenSearchFilters_WhenSearch_thenReturnMatchingCarsPage() throws JsonProcessingException, Exception {
+        
+        // Given / Arrange
+        ArgumentCaptor<CarSearchCriteria> criteria = ArgumentCaptor.forClass(CarSearchCriteria.class);
+        given(service.searchCars(criteria.capture(), any(CarPageRequest.class))).willReturn(new CarPage<>(List.of(car), null));
+        
+        // When / Act
+        ResultActions response = mockMvc.perform(get("/car-service/search")
+        		.param("brand", "Volkswagen")
+        		.param("minModelYear", "2020")
+        		.param("maxPrice", "100000.00")
+        		.param("maxOdometer", "50000"));
+        
+        // Then / Assert
+        response.
+            andExpect(status().isOk())
+            .andDo(print())
+            .andExpect(jsonPath("$.content.size()", is(1)))
+            .andExpect(jsonPath("$.content[0].licensePlate", is(car.getLicensePlate())))
+            .andExpect(jsonPath("$.nextCursor").doesNotExist())
+            .andExpect(jsonPath("$.facets").doesNotExist());
+        
+        assertEquals("Volkswagen", criteria.getValue().getBrand());
+        assertEquals(2020, criteria.getValue().getMinModelYear());
+        assertEquals(new BigDecimal("100000.00"), criteria.getValue().getMaxPrice());
+        assertEquals(50000, criteria.getValue().getMaxOdometer());
+    }
+    
+    @Test
+    @DisplayName("Test for Given Facets Requested when Search then Return Page with Facet Counts")
+    void testGivenFacetsRequested_WhenSearch_thenReturnPageWithFacetCounts() throws JsonProcessingException, Exception {
+        
+        // Given / Arrange
+        given(service.searchCars(any(CarSearchCriteria.class), any(CarPageRequest.class))).willReturn(new CarPage<>(List.of(car), null));
+        given(inventorySnapshot.facets(any(CarSearchCriteria.class))).willReturn(new CarFacets(1, Map.of(
+        		"brand", List.of(new CarFacetCount("Volkswagen", 1), new CarFacetCount("Fiat", 3)))));
+        
+        // When / Act
+        ResultActions response = mockMvc.perform(get("/car-service/search")
+        		.param("brand", "Volkswagen")
+        		.param("facets", "true"));
+        
+        // Then / Assert
+        response.andExpect(status().isOk())
+        		.andExpect(jsonPath("$.content.size()", is(1)))
+        		.andExpect(jsonPath("$.facets.total", is(1)))
+        		.andExpect(jsonPath("$.facets.counts.brand[1].value", is("Fiat")))
+        		.andExpect(jsonPath("$.facets.counts.brand[1].count", is(3)));
+    }
+    
+    @Test
+    @DisplayName("Test for Given Text Query when Search Text then Return Ranked Hits")
+    void testGivenTextQuery_WhenSearchText_thenReturnRankedHits() throws JsonProcessingException, Exception {
+        
+        // Given / Arrange
+        given(textIndex.search("polo vermelha", 20)).willReturn(new CarTextSearchResult(7, List.of(new CarTextHit(car, 3.5))));
+        
+        // When / Act
+        ResultActions response = mockMvc.perform(get("/car-service/search/text").param("q", "polo vermelha"));
+        
+        // Then / Assert
+        response.andExpect(status().isOk())
+        		.andDo(print())
+        		.andExpect(jsonPath("$.total", is(7)))
+        		.andExpect(jsonPath("$.hits.size()", is(1)))
+        		.andExpect(jsonPath("$.hits[0].car.licensePlate", is(car.getLicensePlate())))
+        		.andExpect(jsonPath("$.hits[0].score", is(3.5)));
+    }
+    
+    @Test
+    @DisplayName("Test for Given Cars when Export as CSV then Stream One Row per Car")
+    void testGivenCars_WhenExportAsCsv_thenStreamOneRowPerCar() throws JsonProcessingException, Exception {
+        
+        // Given / Arrange
+        given(service.exportCars(any())).willAnswer((invocation) -> {
+        	Consumer<Car> sink = invocation.getArgument(0);
+        	sink.accept(car);
+        	return 1L;
+        });
+        
+        // When / Act
+        ResultActions response = mockMvc.perform(get("/car-service/export").param("format", "csv"));
+        
+        // Then / Assert
+        response.
+            andExpect(status().isOk())
+            .andDo(print())
+            .andExpect(header().string("Content-Disposition", "attachment; filename=\"cars.csv\""))
+            .andExpect(content().string(startsWith("id,brand,model,")))
+            .andExpect(content().string(containsString("1,Volkswagen,Polo MPI,2024,Vermelha,BGA7230,0,")));
+    }
+    
+    @Test
+    @DisplayName("Test for Given Cars when Export as NDJSON then Stream One Line per Car")
+    void testGivenCars_WhenExportAsNdjson_thenStreamOneLinePerCar() throws JsonProcessingException, Exception {
+        
+        // Given / Arrange
+        given(service.exportCars(any())).willAnswer((invocation) -> {
+        	Consumer<Car> sink = invocation.getArgument(0);
+        	sink.accept(car);
+        	sink.accept(car);
+        	return 2L;
+        });
+        
+        // When / Act
+        String body = mockMvc.perform(get("/car-service/export"))
+        		.andExpect(status().isOk())
+        		.andExpect(header().string("Content-Type", startsWith("application/x-ndjson")))
+        		.andReturn().getResponse().getContentAsString();
+        
+        // Then / Assert
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(car.getLicensePlate(), mapper.readValue(lines[1], Car.class).getLicensePlate());
+    }
+    
+    @Test
+    @DisplayName("Test for Given Cars when Export as CBOR then Stream One CBOR Item per Car")
+    void testGivenCars_WhenExportAsCbor_thenStreamOneCborItemPerCar() throws JsonProcessingException, Exception {
+        
+        // Given / Arrange
+        given(service.exportCars(any())).willAnswer((invocation) -> {
+        	Consumer<Car> sink = invocation.getArgument(0);
+        	sink.accept(car);
+        	sink.accept(car);
+        	return 2L;
+        });
+        
+        // When / Act
+        byte[] body = mockMvc.perform(get("/car-service/export").param("format", "cbor"))
+        		.andExpect(status().isOk())
+        		.andExpect(header().string("Content-Type", "application/cbor-seq"))
+        		.andExpect(header().string("Content-Disposition", "attachment; filename=\"cars.cbor\""))
+        		.andReturn().getResponse().getContentAsByteArray();
+        
+        // Then / Assert
+        ObjectMapper cborMapper = mapper.copyWith(new CBORFactory());
+        List<Car> cars = cborMapper.readerFor(Car.class).<Car>readValues(body).readAll();
+        assertEquals(2, cars.size());
+        assertEquals(car.getLicensePlate(), cars.get(1).getLicensePlate());
+    }
+    
+    @Test
+    @DisplayName("Test for Given IDs when Find by IDs then Return Cars and Missing IDs")
+    void testGivenIDs_WhenFindByIds_thenReturnCarsAndMissingIds() throws Exception {
+        
+        // Given / Arrange
+        given(service.getCarsByIds(List.of(1L, 9L))).willReturn(new CarLookupResult(List.of(car), List.of(9L)));
+        
+        // When / Act
+        ResultActions response = mockMvc.perform(get("/car-service/batch").param("ids", "1,9"));
+        
+        // Then / Assert
+        response.andExpect(status().isOk())
+        		.andExpect(jsonPath("$.cars[0].licensePlate", is(car.getLicensePlate())))
+        		.andExpect(jsonPath("$.missingIds[0]", is(9)));
+    }
+    
+    @Test
+    @DisplayName("Test for Given ID List when Lookup by IDs then Return Cars and Missing IDs")
+    void testGivenIDList_WhenLookupByIds_thenReturnCarsAndMissingIds() throws Exception {
+        
+        // Given / Arrange
+        given(service.getCarsByIds(List.of(1L, 9L))).willReturn(new CarLookupResult(List.of(car), List.of(9L)));
+        
+        // When / Act
+        ResultActions response = mockMvc.perform(post("/car-service/batch/lookup")
+        		.contentType(MediaType.APPLICATION_JSON)
+        		.content("[1, 9]"));
+        
+        // Then / Assert
+        response.andExpect(status().isOk())
+        		.andExpect(jsonPath("$.cars[0].licensePlate", is(car.getLicensePlate())))
+        		.andExpect(jsonPath("$.missingIds[0]", is(9)));
+    }
+    
+    @Test
+    @DisplayName("Test for Given Filter and Price Change when Bulk Update then Return Affected Count")
+    void testGivenFilterAndPriceChange_WhenBulkUpdate_thenReturnAffectedCount() throws Exception {
+        
+        // Given / Arrange
+        given(service.bulkUpdateCars(argThat((CarBulkUpdate update) -> "Hatchback".equals(update.getFilter().getBodyType())
+        		&& new BigDecimal("-5").compareTo(update.getPriceChangePercent()) == 0)))
+        		.willReturn(new CarBulkResult(120, 1));
+        
+        // When / Act
+        ResultActions response = mockMvc.perform(post("/car-service/bulk/update")
+        		.contentType(MediaType.APPLICATION_JSON)
+        		.content("{\"filter\": {\"bodyType\": \"Hatchback\"}, \"priceChangePercent\": -5}"));
+        
+        // Then / Assert
+        response.andExpect(status().isOk())
+        		.andExpect(jsonPath("$.affected", is(120)))
+        		.andExpect(jsonPath("$.chunks", is(1)));
+    }
+    
+    @Test
+    @DisplayName("Test for Given Group Property when Analytics then Return Report per Group")
+    void testGivenGroupProperty_WhenAnalytics_thenReturnReportPerGroup() throws Exception {
+        
+        // Given / Arrange
+        CarGroupStats flex = new CarGroupStats("Total Flex", 2, new BigDecimal("90000.00"), new BigDecimal("86500.00"),
+        		new BigDecimal("93500.00"), 1500.0, 110.0, Map.of("p90", new BigDecimal("93500.00")), new long[] { 2 });
+        given(inventorySnapshot.analyze(CarDimension.FUEL_TYPE, 5000, List.of(90.0)))
+        		.willReturn(new CarAnalyticsReport("fuelType", 2, 5000, 50, List.of(flex)));
+        
+        // When / Act
+        ResultActions response = mockMvc.perform(get("/car-service/analytics")
+        		.param("groupBy", "fuelType")
+        		.param("odometerBucketWidth", "5000")
+        		.param("percentiles", "90"));
+        
+        // Then / Assert
+        response.andExpect(status().isOk())
+        		.andExpect(jsonPath("$.carCount", is(2)))
+        		.andExpect(jsonPath("$.groups[0].group", is("Total Flex")))
+        		.andExpect(jsonPath("$.groups[0].pricePercentiles.p90", is(93500.0)))
+        		.andExpect(jsonPath("$.groups[0].odometerHistogram[0]", is(2)));
+    }
+    
+    @Test
+    @DisplayName("Test for Given Sync Token when Find Changes then Return Changes and Next Token")
+    void testGivenSyncToken_WhenFindChanges_thenReturnChangesAndNextToken() throws Exception {
+        
+        // Given / Arrange
+        given(service.findChanges("5", CarPageRequest.DEFAULT_LIMIT))
+        		.willReturn(new CarDeltaPage(List.of(CarDelta.deleted(3L)), "6", false));
+        
+        // When / Act
+        ResultActions response = mockMvc.perform(get("/car-service/changes").param("since", "5"));
+        
+        // Then / Assert
+        response.andExpect(status().isOk())
+        		.andExpect(jsonPath("$.nextToken", is("6")))
+        		.andExpect(jsonPath("$.hasMore", is(false)))
+        		.andExpect(jsonPath("$.changes[0].type", is("DELETED")))
+        		.andExpect(jsonPath("$.changes[0].id", is(3)));
+    }
+    
+    @Test
+    @DisplayName("Test for Given Event Stream Request when Subscribe then Start Server-Sent Events")
+    void testGivenEventStreamRequest_WhenSubscribe_thenStartServerSentEvents() throws Exception {
+        
+        // Given / Arrange
+        int subscribers = eventBroadcaster.getSubscriberCount();
+        
+        // When / Act
+        ResultActions response = mockMvc.perform(get("/car-service/events").accept(MediaType.TEXT_EVENT_STREAM));
+        
+        // Then / Assert
+        response.andExpect(request().asyncStarted());
+        assertEquals(subscribers + 1, eventBroadcaster.getSubscriberCount());
     }
     
     @Test
@@ -134,6 +582,76 @@ class CarControllerTest {
             .andExpect(jsonPath("$.fuelType", is(car.getFuelType())));
     }
     
+    @Test
+    @DisplayName("Test for Given Cached Response when findById after Update then Return New Version")
+    void testGivenCachedResponse_WhenFindByIdAfterUpdate_thenReturnNewVersion() throws JsonProcessingException, Exception {
+        
+        // Given / Arrange
+        long carId = 1L;
+        car.setVersion(1L);
+        given(service.getCarById(carId)).willReturn(car);
+        mockMvc.perform(get("/car-service/{id}", carId)).andExpect(status().isOk());
+        
+        Car updatedCar = mapper.readValue(mapper.writeValueAsBytes(car), Car.class);
+        updatedCar.setColor("Azul");
+        updatedCar.setVersion(2L);
+        given(service.getCarById(carId)).willReturn(updatedCar);
+        
+        // When / Act
+        ResultActions response = mockMvc.perform(get("/car-service/{id}", carId));
+        
+        // Then / Assert
+        response.
+            andExpect(status().isOk())
+            .andDo(print())
+            .andExpect(header().string("ETag", "\"2\""))
+            .andExpect(header().string("Content-Type", MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.color", is("Azul")))
+            .andExpect(jsonPath("$.version", is(2)));
+    }
+    
+    @Test
+    @DisplayName("Test for Given Accept CBOR when findById then Return CBOR Encoded Car")
+    void testGivenAcceptCbor_WhenFindById_thenReturnCborEncodedCar() throws JsonProcessingException, Exception {
+        
+        // Given / Arrange
+        long carId = 1L;
+        given(service.getCarById(carId)).willReturn(car);
+        
+        // When / Act
+        byte[] body = mockMvc.perform(get("/car-service/{id}", carId)
+        		.accept(ContentNegotiationConfiguration.APPLICATION_CBOR_VALUE))
+        		.andExpect(status().isOk())
+        		.andExpect(header().string("Content-Type", ContentNegotiationConfiguration.APPLICATION_CBOR_VALUE))
+        		.andReturn().getResponse().getContentAsByteArray();
+        
+        // Then / Assert
+        Car decoded = mapper.copyWith(new CBORFactory()).readValue(body, Car.class);
+        assertEquals(car.getLicensePlate(), decoded.getLicensePlate());
+        assertEquals(0, car.getPrice().compareTo(decoded.getPrice()));
+    }
+    
+    @Test
+    @DisplayName("Test for Given Accept Smile when findAll then Return Smile Encoded Cars")
+    void testGivenAcceptSmile_WhenFindAll_thenReturnSmileEncodedCars() throws JsonProcessingException, Exception {
+        
+        // Given / Arrange
+        given(service.findCars(any(CarPageRequest.class))).willReturn(new CarPage<>(List.of(car), null));
+        
+        // When / Act
+        byte[] body = mockMvc.perform(get("/car-service")
+        		.accept(ContentNegotiationConfiguration.APPLICATION_SMILE_VALUE))
+        		.andExpect(status().isOk())
+        		.andExpect(header().string("Content-Type", ContentNegotiationConfiguration.APPLICATION_SMILE_VALUE))
+        		.andReturn().getResponse().getContentAsByteArray();
+        
+        // Then / Assert
+        ObjectMapper smile = mapper.copyWith(new SmileFactory());
+        Car[] decoded = smile.treeToValue(smile.readTree(body).get("content"), Car[].class);
+        assertEquals(1, decoded.length);
+        assertEquals(car.getModel(), decoded[0].getModel());
+    }
+    
     @Test
     @DisplayName("Test for Given Invalid CarId when findById then Return Not Found")
     void testGivenInvalidCarId_WhenFindById_thenReturnNotFound() throws JsonProcessingException, Exception {
@@ -150,6 +668,78 @@ class CarControllerTest {
             .andDo(print());
     }
     
+    @Test
+    @DisplayName("Test for Given Matching If-None-Match when findById then Return Not Modified")
+    void testGivenMatchingIfNoneMatch_WhenFindById_thenReturnNotModified() throws JsonProcessingException, Exception {
+        
+        // Given / Arrange
+        long carId = 1L;
+        given(service.getCarVersion(carId)).willReturn(3L);
+        
+        // When / Act
+        ResultActions response = mockMvc.perform(get("/car-service/{id}", carId)
+        		.header(HttpHeaders.IF_NONE_MATCH, "\"3\""));
+        
+        // Then / Assert
+        response.andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+            .andExpect(content().string(""));
+        verify(service, never()).getCarById(carId);
+    }
+    
+    @Test
+    @DisplayName("Test for Given Stale If-None-Match when findById then Return Car Object with ETag")
+    void testGivenStaleIfNoneMatch_WhenFindById_thenReturnCarObjectWithETag() throws JsonProcessingException, Exception {
+        
+        // Given / Arrange
+        long carId = 1L;
+        car.setVersion(4L);
+        given(service.getCarVersion(carId)).willReturn(4L);
+        given(service.getCarById(carId)).willReturn(car);
+        
+        // When / Act
+        ResultActions response = mockMvc.perform(get("/car-service/{id}", carId)
+        		.header(HttpHeaders.IF_NONE_MATCH, "\"3\""));
+        
+        // Then / Assert
+        response.andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"4\""))
+            .andExpect(jsonPath("$.version", is(4)));
+    }
+    
+    @Test
+    @DisplayName("Test for Given Stale If-Match when Update then Return Precondition Failed")
+    void testGivenStaleIfMatch_WhenUpdate_thenReturnPreconditionFailed() throws JsonProcessingException, Exception {
+        
+        // Given / Arrange
+        given(service.updateCar(any(Car.class), eq(3L))).willThrow(new PreconditionFailedException("Car 1 was modified after version 3"));
+        
+        // When / Act
+        ResultActions response = mockMvc.perform(put("/car-service")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_MATCH, "\"3\"")
+                .content(mapper.writeValueAsString(car)));
+        
+        // Then / Assert
+        response.andExpect(status().isPreconditionFailed())
+            .andDo(print());
+    }
+    
+    @Test
+    @DisplayName("Test for Given Weak If-Match when Update then Return Precondition Failed")
+    void testGivenWeakIfMatch_WhenUpdate_thenReturnPreconditionFailed() throws JsonProcessingException, Exception {
+        
+        // When / Act
+        ResultActions response = mockMvc.perform(put("/car-service")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_MATCH, "W/\"3\"")
+                .content(mapper.writeValueAsString(car)));
+        
+        // Then / Assert
+        response.andExpect(status().isPreconditionFailed());
+        verify(service, never()).updateCar(any(Car.class), any());
+    }
+    
     @Test
     @DisplayName("Test for Given Updated Car when Update then Return Updated Car Object")
     void testGivenUpdatedCar_WhenUpdate_thenReturnUpdatedCarObject() throws JsonProcessingException, Exception {
@@ -198,6 +788,42 @@ class CarControllerTest {
             .andDo(print());
     }
     
+    @Test
+    @DisplayName("Test for Given Merge Patch when Patch then Return No Content with ETag")
+    void testGivenMergePatch_WhenPatch_thenReturnNoContentWithETag() throws JsonProcessingException, Exception {
+        
+        // Given / Arrange
+        ArgumentCaptor<CarPatch> patch = ArgumentCaptor.forClass(CarPatch.class);
+        given(service.patchCar(eq(1L), patch.capture(), eq(3L))).willReturn(4L);
+        
+        // When / Act
+        ResultActions response = mockMvc.perform(patch("/car-service/{id}", 1L)
+                .contentType(CarPatch.MEDIA_TYPE)
+                .header(HttpHeaders.IF_MATCH, "\"3\"")
+                .content("{\"price\": 89900.00, \"color\": null}"));
+        
+        // Then / Assert
+        response.andExpect(status().isNoContent())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"4\""));
+        assertEquals(0, new BigDecimal("89900.00").compareTo((BigDecimal) patch.getValue().getChanges().get("price")));
+        assertTrue(patch.getValue().getChanges().containsKey("color"));
+        assertEquals(2, patch.getValue().getChanges().size());
+    }
+    
+    @Test
+    @DisplayName("Test for Given Patch of Read-Only Property when Patch then Return Bad Request")
+    void testGivenPatchOfReadOnlyProperty_WhenPatch_thenReturnBadRequest() throws JsonProcessingException, Exception {
+        
+        // When / Act
+        ResultActions response = mockMvc.perform(patch("/car-service/{id}", 1L)
+                .contentType(CarPatch.MEDIA_TYPE)
+                .content("{\"id\": 2}"));
+        
+        // Then / Assert
+        response.andExpect(status().isBadRequest());
+        verify(service, never()).patchCar(any(), any(), any());
+    }
+    
     @Test
     @DisplayName("Test for Given carId when Delete then Return NotContent")
     void testGivenCarId_WhenDelete_thenReturnNotContent() throws JsonProcessingException, Exception {
@@ -0,0 +1,94 @@
+package com.service.app.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import jakarta.servlet.FilterChain;
+
+/**
+ * Unit tests for the ReadYourWritesFilter class.
+ *
+ * @author Wellington
+ * @version 1.0
+ *
+ */
+class ReadYourWritesFilterTest {
+
+	private final ReadYourWritesFilter filter = new ReadYourWritesFilter(Duration.ofSeconds(5));
+
+	@DisplayName("Test for Given Write Request when Filter then Return Last Write Header")
+	@Test
+	void testGivenWriteRequest_WhenFilter_thenReturnLastWriteHeader() throws Exception {
+
+		// Given / Arrange
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		// When / Act
+		filter.doFilter(new MockHttpServletRequest("PUT", "/car-service"), response, (req, res) -> {});
+
+		// Then / Assert
+		assertNotNull(response.getHeader(ReadYourWritesFilter.LAST_WRITE_HEADER));
+	}
+
+	@DisplayName("Test for Given Recent Last Write when Filter Read then Pin to Primary")
+	@Test
+	void testGivenRecentLastWrite_WhenFilterRead_thenPinToPrimary() throws Exception {
+
+		// Given / Arrange
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/car-service/1");
+		request.addHeader(ReadYourWritesFilter.LAST_WRITE_HEADER, Long.toString(System.currentTimeMillis()));
+		AtomicBoolean pinned = new AtomicBoolean();
+
+		// When / Act
+		filter.doFilter(request, new MockHttpServletResponse(), recordPin(pinned));
+
+		// Then / Assert
+		assertTrue(pinned.get());
+		assertFalse(ReplicaRoutingDataSource.isPinnedToPrimary());
+	}
+
+	@DisplayName("Test for Given Old Last Write when Filter Read then Leave Read on Replicas")
+	@Test
+	void testGivenOldLastWrite_WhenFilterRead_thenLeaveReadOnReplicas() throws Exception {
+
+		// Given / Arrange
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/car-service/1");
+		request.addHeader(ReadYourWritesFilter.LAST_WRITE_HEADER, Long.toString(System.currentTimeMillis() - 60_000));
+		AtomicBoolean pinned = new AtomicBoolean();
+
+		// When / Act
+		filter.doFilter(request, new MockHttpServletResponse(), recordPin(pinned));
+
+		// Then / Assert
+		assertFalse(pinned.get());
+	}
+
+	@DisplayName("Test for Given Future Last Write when Filter Read then Leave Read on Replicas")
+	@Test
+	void testGivenFutureLastWrite_WhenFilterRead_thenLeaveReadOnReplicas() throws Exception {
+
+		// Given / Arrange
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/car-service/1");
+		request.addHeader(ReadYourWritesFilter.LAST_WRITE_HEADER, "9999999999999");
+		AtomicBoolean pinned = new AtomicBoolean();
+
+		// When / Act
+		filter.doFilter(request, new MockHttpServletResponse(), recordPin(pinned));
+
+		// Then / Assert
+		assertFalse(pinned.get());
+	}
+
+	private static FilterChain recordPin(AtomicBoolean pinned) {
+		return (req, res) -> pinned.set(ReplicaRoutingDataSource.isPinnedToPrimary());
+	}
+}
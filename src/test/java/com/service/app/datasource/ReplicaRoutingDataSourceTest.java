@@ -0,0 +1,198 @@
+package com.service.app.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+/**
+ * Unit tests for the ReplicaRoutingDataSource class.
+ *
+ * The data sources are Mockito mocks, each handing out its own connection, so the
+ * connection returned tells which database a transaction was routed to. Read-only
+ * transactions are simulated by setting the flag Spring's transaction managers set.
+ *
+ * @author Wellington
+ * @version 1.0
+ *
+ */
+class ReplicaRoutingDataSourceTest {
+
+	private DataSource primary;
+	private DataSource firstReplica;
+	private DataSource secondReplica;
+
+	private Connection primaryConnection;
+	private Connection firstReplicaConnection;
+	private Connection secondReplicaConnection;
+
+	@BeforeEach
+	void setUp() throws SQLException {
+
+		// Given / Arrange
+		primary = mock(DataSource.class);
+		firstReplica = mock(DataSource.class);
+		secondReplica = mock(DataSource.class);
+		primaryConnection = mock(Connection.class);
+		firstReplicaConnection = mock(Connection.class);
+		secondReplicaConnection = mock(Connection.class);
+		given(primary.getConnection()).willReturn(primaryConnection);
+		given(firstReplica.getConnection()).willReturn(firstReplicaConnection);
+		given(secondReplica.getConnection()).willReturn(secondReplicaConnection);
+	}
+
+	@AfterEach
+	void tearDown() {
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+		ReplicaRoutingDataSource.clearPin();
+	}
+
+	@DisplayName("Test for Given Read-Write Transaction when Get Connection then Use Primary")
+	@Test
+	void testGivenReadWriteTransaction_WhenGetConnection_thenUsePrimary() throws SQLException {
+
+		// Given / Arrange
+		ReplicaRoutingDataSource dataSource = routing(ReplicaSelection.ROUND_ROBIN, firstReplica, secondReplica);
+
+		// When / Act
+		Connection connection = physicalConnection(dataSource);
+
+		// Then / Assert
+		assertSame(primaryConnection, connection);
+	}
+
+	@DisplayName("Test for Given Read-Only Transactions when Get Connection then Rotate Replicas")
+	@Test
+	void testGivenReadOnlyTransactions_WhenGetConnection_thenRotateReplicas() throws SQLException {
+
+		// Given / Arrange
+		ReplicaRoutingDataSource dataSource = routing(ReplicaSelection.ROUND_ROBIN, firstReplica, secondReplica);
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+		// When / Act / Then / Assert
+		assertSame(firstReplicaConnection, physicalConnection(dataSource));
+		assertSame(secondReplicaConnection, physicalConnection(dataSource));
+		assertSame(firstReplicaConnection, physicalConnection(dataSource));
+	}
+
+	@DisplayName("Test for Given Failing Replica when Get Connection then Fall Back to Primary")
+	@Test
+	void testGivenFailingReplica_WhenGetConnection_thenFallBackToPrimary() throws SQLException {
+
+		// Given / Arrange
+		ReplicaRoutingDataSource dataSource = routing(ReplicaSelection.ROUND_ROBIN, firstReplica);
+		given(firstReplica.getConnection()).willThrow(new SQLTransientConnectionException("Connection refused"));
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+		// When / Act
+		Connection connection = physicalConnection(dataSource);
+
+		// Then / Assert
+		assertSame(primaryConnection, connection);
+		assertFalse(dataSource.isReplicaHealthy(0));
+		assertSame(primaryConnection, physicalConnection(dataSource));
+	}
+
+	@DisplayName("Test for Given Recovered Replica when Check Replicas then Put It Back in Rotation")
+	@Test
+	void testGivenRecoveredReplica_WhenCheckReplicas_thenPutItBackInRotation() throws SQLException {
+
+		// Given / Arrange
+		ReplicaRoutingDataSource dataSource = routing(ReplicaSelection.ROUND_ROBIN, firstReplica);
+		given(firstReplica.getConnection())
+				.willThrow(new SQLTransientConnectionException("Connection refused"))
+				.willReturn(firstReplicaConnection);
+		given(firstReplicaConnection.isValid(2)).willReturn(true);
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+		physicalConnection(dataSource);
+
+		// When / Act
+		dataSource.checkReplicas();
+
+		// Then / Assert
+		assertTrue(dataSource.isReplicaHealthy(0));
+		assertSame(firstReplicaConnection, physicalConnection(dataSource));
+	}
+
+	@DisplayName("Test for Given Pinned Thread when Get Connection then Use Primary")
+	@Test
+	void testGivenPinnedThread_WhenGetConnection_thenUsePrimary() throws SQLException {
+
+		// Given / Arrange
+		ReplicaRoutingDataSource dataSource = routing(ReplicaSelection.ROUND_ROBIN, firstReplica);
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+		ReplicaRoutingDataSource.pinToPrimary();
+
+		// When / Act
+		Connection connection = physicalConnection(dataSource);
+
+		// Then / Assert
+		assertSame(primaryConnection, connection);
+	}
+
+	@DisplayName("Test for Given Unpinned and Pinned Threads when On Primary then Pin Only During the Read")
+	@Test
+	void testGivenUnpinnedAndPinnedThreads_WhenOnPrimary_thenPinOnlyDuringTheRead() {
+
+		// When / Act / Then / Assert
+		assertTrue(ReplicaRoutingDataSource.onPrimary(ReplicaRoutingDataSource::isPinnedToPrimary));
+		assertFalse(ReplicaRoutingDataSource.isPinnedToPrimary());
+
+		ReplicaRoutingDataSource.pinToPrimary();
+		assertTrue(ReplicaRoutingDataSource.onPrimary(ReplicaRoutingDataSource::isPinnedToPrimary));
+		assertTrue(ReplicaRoutingDataSource.isPinnedToPrimary());
+	}
+
+	@DisplayName("Test for Given Least Loaded Selection when Get Connection then Use Idlest Replica")
+	@Test
+	void testGivenLeastLoadedSelection_WhenGetConnection_thenUseIdlestReplica() throws SQLException {
+
+		// Given / Arrange
+		HikariDataSource busy = hikariReplica(8, firstReplicaConnection);
+		HikariDataSource idle = hikariReplica(1, secondReplicaConnection);
+		ReplicaRoutingDataSource dataSource = routing(ReplicaSelection.LEAST_LOADED, busy, idle);
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+		// When / Act / Then / Assert
+		assertSame(secondReplicaConnection, physicalConnection(dataSource));
+		assertSame(secondReplicaConnection, physicalConnection(dataSource));
+	}
+
+	private ReplicaRoutingDataSource routing(ReplicaSelection selection, DataSource... replicas) {
+		return new ReplicaRoutingDataSource(primary, List.of(replicas), selection, Duration.ZERO);
+	}
+
+	/**
+	 * Asks the router behind the lazy proxy for the connection a first statement would use.
+	 */
+	private static Connection physicalConnection(ReplicaRoutingDataSource dataSource) throws SQLException {
+		return dataSource.getTargetDataSource().getConnection();
+	}
+
+	private static HikariDataSource hikariReplica(int activeConnections, Connection connection) throws SQLException {
+		HikariPoolMXBean pool = mock(HikariPoolMXBean.class);
+		given(pool.getActiveConnections()).willReturn(activeConnections);
+		HikariDataSource replica = mock(HikariDataSource.class);
+		given(replica.getHikariPoolMXBean()).willReturn(pool);
+		given(replica.getConnection()).willReturn(connection);
+		return replica;
+	}
+}
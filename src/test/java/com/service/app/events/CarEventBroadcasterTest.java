@@ -0,0 +1,168 @@
+package com.service.app.events;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.service.app.model.CarEvent;
+
+/**
+ * Unit tests for the CarEventBroadcaster class.
+ *
+ * Subscriptions are opened through a minimal controller on a standalone MockMvc, so the
+ * events written to each stream can be read back from the response. Events are delivered
+ * on the publishing thread, unless a test holds the delivery tasks back.
+ *
+ * @author Wellington
+ * @version 1.0
+ *
+ */
+class CarEventBroadcasterTest {
+
+	private static final Pattern EVENT_ID = Pattern.compile("id:(\\d+)");
+
+	private CarEventBroadcaster broadcaster;
+	private MockMvc mockMvc;
+
+	@BeforeEach
+	void setUp() {
+
+		// Given / Arrange
+		broadcaster = new CarEventBroadcaster(new ObjectMapper(), 4, 2, Duration.ofMinutes(1), Runnable::run, Duration.ZERO);
+		mockMvc = MockMvcBuilders.standaloneSetup(new EventsController(broadcaster)).build();
+	}
+
+	@DisplayName("Test for Given Subscriber when Car Event then Stream Event")
+	@Test
+	void testGivenSubscriber_WhenCarEvent_thenStreamEvent() throws Exception {
+
+		// Given / Arrange
+		MockHttpServletResponse stream = subscribe(null);
+
+		// When / Act
+		broadcaster.onCarEvent(CarEvent.updated(1L, 2L));
+
+		// Then / Assert
+		String body = stream.getContentAsString();
+		assertTrue(body.contains("event:updated"), body);
+		assertTrue(body.contains("data:{\"type\":\"UPDATED\",\"id\":1,\"version\":2}"), body);
+	}
+
+	@DisplayName("Test for Given Last Event ID when Subscribe then Replay Missed Events")
+	@Test
+	void testGivenLastEventID_WhenSubscribe_thenReplayMissedEvents() throws Exception {
+
+		// Given / Arrange
+		MockHttpServletResponse stream = subscribe(null);
+		broadcaster.onCarEvent(CarEvent.created(1L, 0L));
+		long lastEventId = lastEventId(stream.getContentAsString());
+		broadcaster.onCarEvent(CarEvent.created(2L, 0L));
+		broadcaster.onCarEvent(CarEvent.deleted(1L));
+
+		// When / Act
+		String body = subscribe(Long.toString(lastEventId)).getContentAsString();
+
+		// Then / Assert
+		assertFalse(body.contains("\"id\":1,\"version\":0"), body);
+		assertTrue(body.contains("event:created"), body);
+		assertTrue(body.contains("event:deleted"), body);
+		assertEquals(lastEventId + 2, lastEventId(body));
+	}
+
+	@DisplayName("Test for Given Overwritten Events when Subscribe then Send Reset Event")
+	@Test
+	void testGivenOverwrittenEvents_WhenSubscribe_thenSendResetEvent() throws Exception {
+
+		// Given / Arrange
+		MockHttpServletResponse stream = subscribe(null);
+		broadcaster.onCarEvent(CarEvent.created(1L, 0L));
+		long lastEventId = lastEventId(stream.getContentAsString());
+		for (long id = 2; id <= 6; id++) {
+			broadcaster.onCarEvent(CarEvent.created(id, 0L));
+		}
+
+		// When / Act
+		String body = subscribe(Long.toString(lastEventId)).getContentAsString();
+
+		// Then / Assert
+		assertTrue(body.contains("event:" + CarEventBroadcaster.RESET_EVENT), body);
+		assertFalse(body.contains("event:created"), body);
+		assertEquals(lastEventId + 5, lastEventId(body));
+	}
+
+	@DisplayName("Test for Given Slow Subscriber when Queue Overflows then Drop Subscriber")
+	@Test
+	void testGivenSlowSubscriber_WhenQueueOverflows_thenDropSubscriber() {
+
+		// Given / Arrange
+		List<Runnable> deliveries = new ArrayList<>();
+		broadcaster = new CarEventBroadcaster(new ObjectMapper(), 4, 2, Duration.ofMinutes(1), deliveries::add, Duration.ZERO);
+		broadcaster.subscribe(null);
+
+		// When / Act
+		broadcaster.onCarEvent(CarEvent.created(1L, 0L));
+		broadcaster.onCarEvent(CarEvent.created(2L, 0L));
+		int subscribersWithinLimit = broadcaster.getSubscriberCount();
+		broadcaster.onCarEvent(CarEvent.created(3L, 0L));
+
+		// Then / Assert
+		assertEquals(1, subscribersWithinLimit);
+		assertEquals(0, broadcaster.getSubscriberCount());
+	}
+
+	/**
+	 * Opens a subscription; the events sent to it are appended to the returned response.
+	 */
+	private MockHttpServletResponse subscribe(String lastEventId) throws Exception {
+		MockHttpServletRequestBuilder events = get("/events");
+		if (lastEventId != null) {
+			events.header("Last-Event-ID", lastEventId);
+		}
+		return mockMvc.perform(events).andExpect(request().asyncStarted()).andReturn().getResponse();
+	}
+
+	private static long lastEventId(String body) {
+		Matcher matcher = EVENT_ID.matcher(body);
+		long id = -1;
+		while (matcher.find()) {
+			id = Long.parseLong(matcher.group(1));
+		}
+		return id;
+	}
+
+	@RestController
+	static class EventsController {
+
+		private final CarEventBroadcaster broadcaster;
+
+		EventsController(CarEventBroadcaster broadcaster) {
+			this.broadcaster = broadcaster;
+		}
+
+		@GetMapping("/events")
+		SseEmitter events(@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+			return broadcaster.subscribe(lastEventId);
+		}
+	}
+}
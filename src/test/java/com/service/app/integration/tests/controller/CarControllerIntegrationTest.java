@@ -210,7 +210,7 @@ public class CarControllerIntegrationTest extends AbstractIntegrationTest {
                     .body()
                         .asString();
         
-        Car[] myArray = objectMapper.readValue(content, Car[].class);
+        Car[] myArray = objectMapper.treeToValue(objectMapper.readTree(content).get("content"), Car[].class);
         List<Car> cars = Arrays.asList(myArray);
         
         Car foundCarOne = cars.get(0);
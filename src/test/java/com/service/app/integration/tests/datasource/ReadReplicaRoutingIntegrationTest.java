@@ -0,0 +1,184 @@
+package com.service.app.integration.tests.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ContextConfiguration;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.lifecycle.Startables;
+
+import com.service.app.datasource.ReplicaRoutingDataSource;
+import com.service.app.entity.Car;
+import com.service.app.model.CarDeltaPage;
+import com.service.app.service.CarService;
+
+/**
+ * Integration test for read-replica routing against two MySQL instances.
+ *
+ * The second instance stands in for a replica without actually replicating: it only gets
+ * the schema of the primary. A car written through the service is therefore visible on
+ * the primary only, which tells where each read was served from. Copying a row by hand
+ * to the replica and then changing it on the primary makes the replica lag. The change
+ * log table only exists on the primary, so delta sync fails if it ever reads from the
+ * replica.
+ *
+ * Annotations:
+ * - @TestMethodOrder: The tests build on each other and stop the replica last.
+ * - @SpringBootTest: Loads the full application context, with replicas configured.
+ *
+ * @author Wellington
+ * @version 1.0
+ *
+ */
+@TestMethodOrder(OrderAnnotation.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ContextConfiguration(initializers = ReadReplicaRoutingIntegrationTest.Initializer.class)
+class ReadReplicaRoutingIntegrationTest {
+
+	@Autowired
+	private CarService service;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private JdbcTemplate replica;
+	private Car car;
+
+	@BeforeAll
+	void copySchemaToReplica() {
+
+		// Given / Arrange
+		String createTable = jdbcTemplate.queryForObject("show create table cars", (rs, rowNum) -> rs.getString(2));
+		replica = new JdbcTemplate(new DriverManagerDataSource(Initializer.replica.getJdbcUrl(),
+				Initializer.replica.getUsername(), Initializer.replica.getPassword()));
+		replica.execute(createTable);
+
+		car = service.createCar(new Car(null, "Volkswagen", "Polo MPI", 2024, "Vermelha", "BGA7230", 0, "Total Flex",
+				"Automática de 6 velocidades", 116, new BigDecimal(1.0), 4, "Hatchback", new BigDecimal(93500.0),
+				LocalDate.of(2024, 9, 20), "Volkswagen do Brasil"));
+	}
+
+	@Test
+	@Order(1)
+	@DisplayName("Integration Test given Replica when Find All Cars should Read from Replica")
+	void integrationTestGivenReplica_when_FindAllCars_ShouldReadFromReplica() {
+
+		// When / Act / Then / Assert
+		assertTrue(service.findAllCars().isEmpty());
+	}
+
+	@Test
+	@Order(2)
+	@DisplayName("Integration Test given Pinned Thread when Find All Cars should Read from Primary")
+	void integrationTestGivenPinnedThread_when_FindAllCars_ShouldReadFromPrimary() {
+
+		// Given / Arrange
+		ReplicaRoutingDataSource.pinToPrimary();
+
+		// When / Act / Then / Assert
+		try {
+			assertEquals(1, service.findAllCars().size());
+		} finally {
+			ReplicaRoutingDataSource.clearPin();
+		}
+	}
+
+	@Test
+	@Order(3)
+	@DisplayName("Integration Test given Replica without Change Log when Find Changes should Read from Primary")
+	void integrationTestGivenReplicaWithoutChangeLog_when_FindChanges_ShouldReadFromPrimary() {
+
+		// When / Act
+		// The replica has no car_changes table, so any read routed there would fail
+		String token = service.findChanges(null, 10).getNextToken();
+		CarDeltaPage page = service.findChanges("0", 10);
+
+		// Then / Assert
+		assertEquals(page.getNextToken(), token);
+		assertEquals(1, page.getChanges().size());
+		assertEquals(car.getId(), page.getChanges().get(0).getCar().getId());
+	}
+
+	@Test
+	@Order(4)
+	@DisplayName("Integration Test given Lagging Replica when Get Car By ID after Update should Return New Version")
+	void integrationTestGivenLaggingReplica_when_GetCarByIdAfterUpdate_ShouldReturnNewVersion() {
+
+		// Given / Arrange
+		Map<String, Object> row = jdbcTemplate.queryForMap("select * from cars where id = ?", car.getId());
+		replica.update("insert into cars (" + String.join(", ", row.keySet()) + ") values ("
+				+ String.join(", ", row.keySet().stream().map(column -> "?").toList()) + ")", row.values().toArray());
+		service.getCarById(car.getId());
+
+		car.setColor("Azul");
+		service.updateCar(car, null);
+		long version = jdbcTemplate.queryForObject("select version from cars where id = ?", Long.class, car.getId());
+		// Loads the old row from the replica, which must not reach the second-level cache
+		assertEquals("Vermelha", service.getCarsByIds(List.of(car.getId())).getCars().get(0).getColor());
+
+		// When / Act
+		Car found = service.getCarById(car.getId());
+
+		// Then / Assert
+		assertEquals("Azul", found.getColor());
+		assertEquals(version, found.getVersion());
+		assertEquals(version, service.getCarVersion(car.getId()));
+		assertEquals("Azul", service.getCarById(car.getId()).getColor());
+	}
+
+	@Test
+	@Order(5)
+	@DisplayName("Integration Test given Stopped Replica when Find All Cars should Fall Back to Primary")
+	void integrationTestGivenStoppedReplica_when_FindAllCars_ShouldFallBackToPrimary() {
+
+		// Given / Arrange
+		Initializer.replica.stop();
+
+		// When / Act / Then / Assert
+		assertEquals(1, service.findAllCars().size());
+	}
+
+	/**
+	 * Starts both MySQL instances and points the primary data source and the replica list at them.
+	 */
+	static class Initializer implements ApplicationContextInitializer<ConfigurableApplicationContext> {
+
+		static MySQLContainer<?> primary = new MySQLContainer<>("mysql:8.0.30");
+		static MySQLContainer<?> replica = new MySQLContainer<>("mysql:8.0.30");
+
+		@Override
+		public void initialize(ConfigurableApplicationContext applicationContext) {
+			Startables.deepStart(Stream.of(primary, replica)).join();
+			applicationContext.getEnvironment().getPropertySources().addFirst(new MapPropertySource("testcontainers",
+					Map.of(
+						"spring.datasource.url", primary.getJdbcUrl(),
+						"spring.datasource.username", primary.getUsername(),
+						"spring.datasource.password", primary.getPassword(),
+						"spring.datasource.hikari.connection-timeout", "2000",
+						"car-service.replicas.urls", replica.getJdbcUrl(),
+						"car-service.replicas.health-check-interval", "0s",
+						"car-service.changes.settle-time", "0s")));
+		}
+	}
+}
@@ -0,0 +1,100 @@
+package com.service.app.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.BDDMockito.given;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import com.service.app.entity.Car;
+import com.service.app.exceptions.ResourceNotFoundException;
+import com.service.app.repository.CarRepository;
+import com.service.app.service.CarService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for the CarServiceMetricsAspect class.
+ *
+ * The aspect is applied to a {@link CarService} backed by a mocked repository, through
+ * the same AspectJ proxy support Spring uses at runtime, and recorded into a
+ * {@link SimpleMeterRegistry}.
+ *
+ * @author Wellington
+ * @version 1.0
+ *
+ */
+@ExtendWith(MockitoExtension.class)
+class CarServiceMetricsAspectTest {
+
+	@Mock
+	private CarRepository repository;
+
+	@InjectMocks
+	private CarService target;
+
+	private SimpleMeterRegistry registry;
+
+	private CarService services;
+
+	@BeforeEach
+	void setUp() {
+
+		// Given / Arrange
+		registry = new SimpleMeterRegistry();
+		AspectJProxyFactory factory = new AspectJProxyFactory(target);
+		factory.setProxyTargetClass(true);
+		factory.addAspect(new CarServiceMetricsAspect(registry));
+		services = factory.getProxy();
+	}
+
+	@DisplayName("Test for Given Existing Car when Get Car by Id then Time Successful Call")
+	@Test
+	void testGivenExistingCar_WhenGetCarById_thenTimeSuccessfulCall() {
+
+		// Given / Arrange
+		Car car = new Car(1L, "Volkswagen", "Polo MPI", 2024, "Vermelha", "BGA7230", 0, "Total Flex", "Automática de 6 velocidades", 116, new BigDecimal(1.0), 4,
+				"Hatchback", new BigDecimal(93500.0), LocalDate.of(2024, 9, 20), "Volkswagen do Brasil");
+		given(repository.findById(1L)).willReturn(Optional.of(car));
+
+		// When / Act
+		services.getCarById(1L);
+
+		// Then / Assert
+		assertEquals(1, registry.get(CarServiceMetricsAspect.INVOCATIONS_METRIC)
+				.tags("method", "getCarById", "outcome", "SUCCESS", "exception", "none")
+				.timer().count());
+		assertNull(registry.find(CarServiceMetricsAspect.NOT_FOUND_METRIC).counter());
+	}
+
+	@DisplayName("Test for Given Missing Car when Get Car by Id then Count Not Found")
+	@Test
+	void testGivenMissingCar_WhenGetCarById_thenCountNotFound() {
+
+		// Given / Arrange
+		given(repository.findById(1L)).willReturn(Optional.empty());
+
+		// When / Act
+		assertThrows(ResourceNotFoundException.class, () -> services.getCarById(1L));
+
+		// Then / Assert
+		assertEquals(1, registry.get(CarServiceMetricsAspect.INVOCATIONS_METRIC)
+				.tags("method", "getCarById", "outcome", "CLIENT_ERROR", "exception", "ResourceNotFoundException")
+				.timer().count());
+		assertEquals(1.0, registry.get(CarServiceMetricsAspect.NOT_FOUND_METRIC)
+				.tags("method", "getCarById")
+				.counter().count());
+	}
+}
@@ -0,0 +1,112 @@
+package com.service.app.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.StatementType;
+
+/**
+ * Unit tests for the QueryLoggingListener class.
+ *
+ * Statement executions are described with datasource-proxy's own {@link ExecutionInfo}
+ * and {@link QueryInfo}, and the log output is captured with a Logback list appender.
+ *
+ * @author Wellington
+ * @version 1.0
+ *
+ */
+class QueryLoggingListenerTest {
+
+	private static final String SELECT_BY_ID = "select c1_0.id,c1_0.brand from cars c1_0 where c1_0.id=?";
+
+	private final Logger sqlLogger = (Logger) LoggerFactory.getLogger(QueryLoggingListener.LOGGER_NAME);
+
+	private ListAppender<ILoggingEvent> appender;
+
+	private Counter repeatedSelects;
+
+	private QueryLoggingListener listener;
+
+	@BeforeEach
+	void setUp() {
+
+		// Given / Arrange
+		appender = new ListAppender<>();
+		appender.start();
+		sqlLogger.addAppender(appender);
+		repeatedSelects = new SimpleMeterRegistry().counter(QueryLoggingListener.REPEATED_SELECTS_METRIC);
+		listener = new QueryLoggingListener(100, 0, 3, () -> repeatedSelects);
+	}
+
+	@AfterEach
+	void tearDown() {
+		sqlLogger.detachAppender(appender);
+	}
+
+	@DisplayName("Test for Given Slow Statement when After Query then Log It as JSON")
+	@Test
+	void testGivenSlowStatement_WhenAfterQuery_thenLogItAsJson() {
+
+		// When / Act
+		listener.afterQuery(execution("1", 150), List.of(new QueryInfo("update cars set price=? where id=?")));
+		listener.afterQuery(execution("1", 5), List.of(new QueryInfo("update cars set odometer=? where id=?")));
+
+		// Then / Assert
+		assertEquals(1, appender.list.size());
+		String message = appender.list.get(0).getFormattedMessage();
+		assertTrue(message.startsWith("{\"event\":\"slow_query\",\"elapsed_ms\":150,"), message);
+		assertTrue(message.endsWith("\"sql\":\"update cars set price=? where id=?\"}"), message);
+	}
+
+	@DisplayName("Test for Given Same Select Repeated when After Query then Count One Suspected N+1")
+	@Test
+	void testGivenSameSelectRepeated_WhenAfterQuery_thenCountOneSuspectedNPlusOne() {
+
+		// When / Act
+		for (int i = 0; i < 5; i++) {
+			listener.afterQuery(execution("1", 1), List.of(new QueryInfo(SELECT_BY_ID)));
+		}
+
+		// Then / Assert
+		assertEquals(1.0, repeatedSelects.count());
+		assertTrue(appender.list.get(0).getFormattedMessage().startsWith("{\"event\":\"repeated_select\",\"count\":3,"));
+	}
+
+	@DisplayName("Test for Given Same Select on New Connections when After Query then Count Nothing")
+	@Test
+	void testGivenSameSelectOnNewConnections_WhenAfterQuery_thenCountNothing() {
+
+		// When / Act
+		for (int i = 0; i < 5; i++) {
+			listener.afterQuery(execution(String.valueOf(i), 1), List.of(new QueryInfo(SELECT_BY_ID)));
+		}
+
+		// Then / Assert
+		assertEquals(0.0, repeatedSelects.count());
+		assertTrue(appender.list.isEmpty());
+	}
+
+	private static ExecutionInfo execution(String connectionId, long elapsedMillis) {
+		ExecutionInfo info = new ExecutionInfo();
+		info.setConnectionId(connectionId);
+		info.setElapsedTime(elapsedMillis);
+		info.setSuccess(true);
+		info.setStatementType(StatementType.PREPARED);
+		return info;
+	}
+}
@@ -7,7 +7,10 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -15,8 +18,15 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
 
+import com.service.app.configuration.SecondLevelCacheConfiguration;
 import com.service.app.entity.Car;
+import com.service.app.model.CarCursor;
+import com.service.app.model.CarPageRequest;
+import com.service.app.model.CarSearchCriteria;
+import com.service.app.model.CarSortKey;
+import com.service.app.model.CarSummary;
 import com.service.app.integration.tests.testcontainers.AbstractIntegrationTest;
 
 /**
@@ -28,6 +38,9 @@ import com.service.app.integration.tests.testcontainers.AbstractIntegrationTest;
  * The @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE) annotation ensures that the
  * test uses the configured external database instead of replacing it with an in-memory database.
  *
+ * SecondLevelCacheConfiguration is imported because Hibernate is set up to fail on
+ * second-level cache regions it did not create, and @DataJpaTest does not load it.
+ *
  * This class extends AbstractIntegrationTest to inherit common test configurations and behaviors.
  * 
  * @author Wellington
@@ -37,6 +50,7 @@ import com.service.app.integration.tests.testcontainers.AbstractIntegrationTest;
 
 @DataJpaTest
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(SecondLevelCacheConfiguration.class)
 class CarRepositoryTest extends AbstractIntegrationTest {
 	
 	@Autowired
@@ -134,4 +148,133 @@ class CarRepositoryTest extends AbstractIntegrationTest {
         assertTrue(CarOptional.isEmpty());
     }
     
+    @DisplayName("Test for Given Car List when findPage after Cursor then Return Following Cars")
+    @Test  
+    void testGivenCarList_whenFindPageAfterCursor_thenReturnFollowingCars() {
+        
+        // Given / Arrange
+    	Car car1 = new Car(2L, "Volkswagen", "Amarok V6 Comfortline", 2024, "Azul Marinho", "CMB7761", 0, "Diesel", "Automática de 8 velocidades", 258, new BigDecimal(3.0), 4,
+				"Picape", new BigDecimal(280000.0), LocalDate.of(2024, 9, 24), "Volkswagen do Brasil");
+    	Car car2 = new Car(3L, "Volkswagen", "T-Cross", 2023, "Branca", "DKE4410", 15000, "Total Flex", "Automática de 6 velocidades", 116, new BigDecimal(1.0), 4,
+				"SUV", new BigDecimal(120000.0), LocalDate.of(2023, 3, 2), "Volkswagen do Brasil");
+    	
+    	Car savedCar = repository.save(car);
+        Car savedCar1 = repository.save(car1);
+        Car savedCar2 = repository.save(car2);
+        
+        CarPageRequest firstPage = CarPageRequest.of("horsePower", "asc", null, 2);
+        
+        // When / Act
+        List<Car> first = repository.findPage(null, firstPage, firstPage.getLimit());
+        
+        String cursor = CarCursor.after(first.get(first.size() - 1), CarSortKey.HORSE_POWER, firstPage.getDirection()).encode();
+        List<Car> second = repository.findPage(null, CarPageRequest.of("horsePower", "asc", cursor, 2), 2);
+        
+        // Then / Assert
+        assertEquals(List.of(savedCar.getId(), savedCar2.getId()), first.stream().map(Car::getId).toList());
+        assertEquals(List.of(savedCar1.getId()), second.stream().map(Car::getId).toList());
+    }
+    
+    @DisplayName("Test for Given Car List when findSummaryPage then Return Summaries in Order")
+    @Test  
+    void testGivenCarList_whenFindSummaryPage_thenReturnSummariesInOrder() {
+        
+        // Given / Arrange
+    	Car car1 = new Car(2L, "Volkswagen", "Amarok V6 Comfortline", 2024, "Azul Marinho", "CMB7761", 0, "Diesel", "Automática de 8 velocidades", 258, new BigDecimal(3.0), 4,
+				"Picape", new BigDecimal(280000.0), LocalDate.of(2024, 9, 24), "Volkswagen do Brasil");
+    	
+    	Car savedCar = repository.save(car);
+        Car savedCar1 = repository.save(car1);
+        
+        // When / Act
+        List<CarSummary> summaries = repository.findSummaryPage(CarPageRequest.of("modelYear", "desc", null, 10), 10);
+        
+        // Then / Assert
+        assertEquals(List.of(savedCar.getId(), savedCar1.getId()), summaries.stream().map(CarSummary::id).toList());
+        assertEquals("Amarok V6 Comfortline", summaries.get(1).model());
+        assertEquals(0, new BigDecimal("280000").compareTo(summaries.get(1).price()));
+    }
+    
+    @DisplayName("Test for Given Car when findFieldsById then Return Only Selected Properties")
+    @Test  
+    void testGivenCar_whenFindFieldsById_thenReturnOnlySelectedProperties() {
+        
+        // Given / Arrange
+    	Car savedCar = repository.save(car);
+        
+        // When / Act
+        Optional<Map<String, Object>> fields = repository.findFieldsById(savedCar.getId(), Set.of("licensePlate", "odometer"));
+        
+        // Then / Assert
+        assertTrue(fields.isPresent());
+        assertEquals(Map.of("licensePlate", "BGA7230", "odometer", 0), fields.get());
+    }
+    
+    @DisplayName("Test for Given Car List when streamAll then Return Cars in ID Order")
+    @Test  
+    void testGivenCarList_whenStreamAll_thenReturnCarsInIdOrder() {
+        
+        // Given / Arrange
+    	Car car1 = new Car(2L, "Volkswagen", "Amarok V6 Comfortline", 2024, "Azul Marinho", "CMB7761", 0, "Diesel", "Automática de 8 velocidades", 258, new BigDecimal(3.0), 4,
+				"Picape", new BigDecimal(280000.0), LocalDate.of(2024, 9, 24), "Volkswagen do Brasil");
+    	
+    	Car savedCar = repository.save(car);
+        Car savedCar1 = repository.save(car1);
+        
+        // When / Act
+        List<Long> ids;
+        try (Stream<Car> cars = repository.streamAll(1)) {
+        	ids = cars.map(Car::getId).toList();
+        }
+        
+        // Then / Assert
+        assertEquals(List.of(savedCar.getId(), savedCar1.getId()), ids);
+    }
+    
+    @DisplayName("Test for Given Car List when insertAll then Assign Generated IDs")
+    @Test  
+    void testGivenCarList_whenInsertAll_thenAssignGeneratedIds() {
+        
+        // Given / Arrange
+    	car.setId(null);
+    	Car car1 = new Car(null, "Volkswagen", "Amarok V6 Comfortline", 2024, "Azul Marinho", "CMB7761", 0, "Diesel", "Automática de 8 velocidades", 258, new BigDecimal(3.0), 4,
+				"Picape", new BigDecimal(280000.0), LocalDate.of(2024, 9, 24), "Volkswagen do Brasil");
+        
+        // When / Act
+        repository.insertAll(List.of(car, car1));
+        
+        // Then / Assert
+        assertNotNull(car.getId());
+        assertEquals(car1.getId().longValue(), car.getId() + 1);
+        assertEquals("CMB7761", repository.findById(car1.getId()).get().getLicensePlate());
+        assertEquals(List.of("BGA7230"), repository.findExistingLicensePlates(List.of("BGA7230", "XXX0000")));
+    }
+    
+    @DisplayName("Test for Given Search Criteria when findPage then Return Only Matching Cars")
+    @Test  
+    void testGivenSearchCriteria_whenFindPage_thenReturnOnlyMatchingCars() {
+        
+        // Given / Arrange
+    	Car car1 = new Car(2L, "Volkswagen", "Amarok V6 Comfortline", 2024, "Azul Marinho", "CMB7761", 0, "Diesel", "Automática de 8 velocidades", 258, new BigDecimal(3.0), 4,
+				"Picape", new BigDecimal(280000.0), LocalDate.of(2024, 9, 24), "Volkswagen do Brasil");
+    	Car car2 = new Car(3L, "Volkswagen", "T-Cross", 2023, "Branca", "DKE4410", 15000, "Total Flex", "Automática de 6 velocidades", 116, new BigDecimal(1.0), 4,
+				"SUV", new BigDecimal(120000.0), LocalDate.of(2023, 3, 2), "Volkswagen do Brasil");
+    	
+    	Car savedCar = repository.save(car);
+        repository.save(car1);
+        repository.save(car2);
+        
+        CarSearchCriteria criteria = new CarSearchCriteria();
+        criteria.setBrand("Volkswagen");
+        criteria.setFuelType("Total Flex");
+        criteria.setMaxPrice(new BigDecimal("100000"));
+        criteria.setMinModelYear(2024);
+        
+        // When / Act
+        List<Car> cars = repository.findPage(CarSpecifications.matching(criteria), CarPageRequest.firstPage(), 10);
+        
+        // Then / Assert
+        assertEquals(List.of(savedCar.getId()), cars.stream().map(Car::getId).toList());
+    }
+    
 }
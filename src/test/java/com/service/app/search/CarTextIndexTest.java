@@ -0,0 +1,175 @@
+package com.service.app.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.service.app.entity.Car;
+import com.service.app.exceptions.ValidationException;
+import com.service.app.model.CarEvent;
+import com.service.app.model.CarLookupResult;
+import com.service.app.model.CarTextSearchResult;
+import com.service.app.repository.CarRepository;
+import com.service.app.service.CarService;
+
+/**
+ * Unit tests for the CarTextIndex class.
+ *
+ * The index is built from a mocked CarService export and catches up with changes through
+ * a mocked CarRepository, so it is exercised without a database.
+ *
+ * @author Wellington
+ * @version 1.0
+ *
+ */
+@ExtendWith(MockitoExtension.class)
+class CarTextIndexTest {
+
+	@Mock
+	private CarService service;
+
+	@Mock
+	private CarRepository repository;
+
+	private CarTextIndex index;
+	private Car polo;
+	private Car argo;
+	private Car golf;
+
+	@BeforeEach
+	void setUp() {
+
+		// Given / Arrange
+		index = new CarTextIndex(service, repository, 2, 2);
+		polo = new Car(1L, "Volkswagen", "Polo MPI", 2024, "Vermelha", "BGA7230", 0, "Total Flex", "Automática de 6 velocidades", 116, new BigDecimal("1.0"), 4,
+				"Hatchback", new BigDecimal("93500.00"), LocalDate.of(2024, 9, 20), "Volkswagen do Brasil");
+		argo = new Car(2L, "Fiat", "Argo", 2023, "Branca", "FTA1A23", 12000, "Total Flex", "Manual de 5 velocidades", 75, new BigDecimal("1.0"), 4,
+				"Hatchback", new BigDecimal("78900.00"), LocalDate.of(2023, 3, 10), "Fiat Automóveis");
+		golf = new Car(3L, "Volkswagen", "Golf GTI", 2022, "Preta", "GTI2022", 30000, "Gasolina", "Automática de 7 velocidades", 230, new BigDecimal("2.0"), 4,
+				"Hatchback", new BigDecimal("180000.00"), LocalDate.of(2022, 1, 15), null);
+	}
+
+	@AfterEach
+	void tearDown() {
+		index.destroy();
+	}
+
+	@Test
+	@DisplayName("Test for Given Indexed Cars when Search then Rank Cars Matching More Words First")
+	void testGivenIndexedCars_WhenSearch_thenRankCarsMatchingMoreWordsFirst() {
+
+		// Given / Arrange
+		givenExportedCars(List.of(polo, argo, golf));
+		given(service.getCarsByIds(List.of(1L, 3L))).willReturn(new CarLookupResult(List.of(polo, golf), List.of()));
+
+		// When / Act
+		CarTextSearchResult result = index.search("Polo vermelha automática", 20);
+
+		// Then / Assert
+		assertEquals(2, result.getTotal());
+		assertEquals(2, result.getHits().size());
+		assertEquals(polo, result.getHits().get(0).getCar());
+		assertEquals(golf, result.getHits().get(1).getCar());
+		assertTrue(result.getHits().get(0).getScore() > result.getHits().get(1).getScore());
+	}
+
+	@Test
+	@DisplayName("Test for Given Query Without Accents when Search then Match Accented Words Ignoring Case")
+	void testGivenQueryWithoutAccents_WhenSearch_thenMatchAccentedWordsIgnoringCase() {
+
+		// Given / Arrange
+		givenExportedCars(List.of(polo, argo, golf));
+		// Golf has fewer words than Polo, so its single match weighs more
+		given(service.getCarsByIds(List.of(3L, 1L))).willReturn(new CarLookupResult(List.of(golf, polo), List.of()));
+
+		// When / Act
+		CarTextSearchResult result = index.search("AUTOMATICA", 20);
+
+		// Then / Assert
+		assertEquals(2, result.getTotal());
+		assertEquals(golf, result.getHits().get(0).getCar());
+		assertEquals(polo, result.getHits().get(1).getCar());
+	}
+
+	@Test
+	@DisplayName("Test for Given Updated and Deleted Cars when Search then Reflect Changes")
+	void testGivenUpdatedAndDeletedCars_WhenSearch_thenReflectChanges() {
+
+		// Given / Arrange
+		givenExportedCars(List.of(polo, argo, golf));
+		index.load();
+		Car redArgo = new Car(2L, "Fiat", "Argo", 2023, "Vermelha", "FTA1A23", 12000, "Total Flex", "Manual de 5 velocidades", 75, new BigDecimal("1.0"), 4,
+				"Hatchback", new BigDecimal("78900.00"), LocalDate.of(2023, 3, 10), "Fiat Automóveis");
+		given(repository.findAllById(List.of(1L, 2L))).willReturn(List.of(redArgo));
+		given(service.getCarsByIds(List.of(2L))).willReturn(new CarLookupResult(List.of(redArgo), List.of()));
+		index.onCarEvent(CarEvent.deleted(1L));
+		index.onCarEvent(CarEvent.updated(2L, 1L));
+
+		// When / Act
+		CarTextSearchResult result = index.search("vermelha", 20);
+
+		// Then / Assert
+		assertEquals(1, result.getTotal());
+		assertEquals(redArgo, result.getHits().get(0).getCar());
+		assertEquals(2, index.size());
+	}
+
+	@Test
+	@DisplayName("Test for Given Car Updated Many Times when Search then Score Only Its Live Document")
+	void testGivenCarUpdatedManyTimes_WhenSearch_thenScoreOnlyItsLiveDocument() {
+
+		// Given / Arrange
+		givenExportedCars(List.of(polo, argo, golf));
+		index.load();
+		given(repository.findAllById(List.of(2L))).willReturn(List.of(argo));
+		// Each update leaves a removed document in the postings of "fiat", which outnumber the live cars
+		for (long version = 1; version <= 3; version++) {
+			index.onCarEvent(CarEvent.updated(2L, version));
+			index.size();
+		}
+		given(service.getCarsByIds(List.of(2L))).willReturn(new CarLookupResult(List.of(argo), List.of()));
+
+		// When / Act
+		CarTextSearchResult result = index.search("fiat", 20);
+
+		// Then / Assert
+		assertEquals(1, result.getTotal());
+		assertEquals(argo, result.getHits().get(0).getCar());
+		assertTrue(result.getHits().get(0).getScore() > 0);
+	}
+
+	@Test
+	@DisplayName("Test for Given Query Without Words when Search then Throw ValidationException")
+	void testGivenQueryWithoutWords_WhenSearch_thenThrowValidationException() {
+
+		// When / Act
+		ValidationException exception = assertThrows(ValidationException.class, () -> index.search(" - / ", 20));
+
+		// Then / Assert
+		assertEquals("The query must contain a letter or a digit", exception.getMessage());
+	}
+
+	private void givenExportedCars(List<Car> cars) {
+		willAnswer(invocation -> {
+			Consumer<Car> sink = invocation.getArgument(0);
+			cars.forEach(sink);
+			return (long) cars.size();
+		}).given(service).exportCars(any());
+	}
+}
@@ -0,0 +1,179 @@
+package com.service.app.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.cache.CacheAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+
+import com.service.app.configuration.CacheConfiguration;
+import com.service.app.entity.Car;
+import com.service.app.model.CarEvent;
+import com.service.app.repository.CarChangeRepository;
+import com.service.app.repository.CarRepository;
+
+/**
+ * Tests for the read-through cache in front of CarService.
+ *
+ * Only the service, the cache configuration and Spring Boot's cache
+ * auto-configuration are loaded, with the repository mocked, so the
+ * test runs without a database. CachedAtEvent records what the cache held when each
+ * CarEvent was published.
+ * 
+ * @author Wellington
+ * @version 1.0 
+ * 
+ */
+@SpringBootTest(classes = { CarService.class, CacheConfiguration.class, CarServiceCacheTest.CachedAtEvent.class })
+@ImportAutoConfiguration(CacheAutoConfiguration.class)
+class CarServiceCacheTest {
+
+	@MockBean
+	private CarRepository repository;
+	
+	@MockBean
+	private CarChangeRepository changeRepository;
+	
+	@Autowired
+	private CarService services;
+	
+	@Autowired
+	private CacheManager cacheManager;
+	
+	@Autowired
+	private CachedAtEvent cachedAtEvent;
+	
+	private Car car;
+	
+	/**
+     * Remembers, for each published CarEvent, whether its car was still cached.
+     */
+	static class CachedAtEvent {
+		
+		final List<Boolean> cached = new ArrayList<>();
+		
+		@Autowired
+		private CacheManager cacheManager;
+		
+		@EventListener
+		void onCarEvent(CarEvent event) {
+			cached.add(cacheManager.getCache(CacheConfiguration.CAR_CACHE).get(event.getId()) != null
+					|| cacheManager.getCache(CacheConfiguration.CAR_RESPONSE_CACHE).get(event.getId()) != null);
+		}
+	}
+	
+	@BeforeEach
+	void setUp() {
+		
+		// Given / Arrange
+		cacheManager.getCache(CacheConfiguration.CAR_CACHE).clear();
+		cacheManager.getCache(CacheConfiguration.CAR_RESPONSE_CACHE).clear();
+		cachedAtEvent.cached.clear();
+		car = new Car(1L, "Volkswagen", "Polo MPI", 2024, "Vermelha", "BGA7230", 0, "Total Flex", "Automática de 6 velocidades", 116, new BigDecimal(1.0), 4,
+				"Hatchback", new BigDecimal(93500.0), LocalDate.of(2024, 9, 20), "Volkswagen do Brasil");
+	}
+	
+	@DisplayName("Test for Given Car Id when Find Car Twice then Hit Repository Once")
+	@Test
+	void testGivenCarId_WhenFindCarTwice_thenHitRepositoryOnce() {
+		
+		// Given / Arrange
+		given(repository.findById(1L)).willReturn(Optional.of(car));
+		
+		// When / Act
+		services.getCarById(1L);
+		Car cached = services.getCarById(1L);
+		
+		// Then / Assert
+		assertEquals("BGA7230", cached.getLicensePlate());
+		verify(repository, times(1)).findById(1L);
+	}
+	
+	@DisplayName("Test for Given Cached Car when Update Car then Evict Entries")
+	@Test
+	void testGivenCachedCar_WhenUpdateCar_thenEvictEntries() {
+		
+		// Given / Arrange
+		given(repository.findById(1L)).willReturn(Optional.of(car));
+		given(repository.update(car)).willReturn(1);
+		services.getCarById(1L);
+		cacheManager.getCache(CacheConfiguration.CAR_RESPONSE_CACHE).put(1L, new byte[0]);
+		
+		// When / Act
+		services.updateCar(car);
+		
+		// Then / Assert
+		assertNull(cacheManager.getCache(CacheConfiguration.CAR_CACHE).get(1L));
+		assertNull(cacheManager.getCache(CacheConfiguration.CAR_RESPONSE_CACHE).get(1L));
+	}
+	
+	@DisplayName("Test for Given Cached Car when Update and Delete Car then Evict Entries Before Publishing Events")
+	@Test
+	void testGivenCachedCar_WhenUpdateAndDeleteCar_thenEvictEntriesBeforePublishingEvents() {
+		
+		// Given / Arrange
+		given(repository.findById(1L)).willReturn(Optional.of(car));
+		given(repository.update(car)).willReturn(1);
+		given(repository.removeById(1L)).willReturn(1);
+		services.getCarById(1L);
+		cacheManager.getCache(CacheConfiguration.CAR_RESPONSE_CACHE).put(1L, new byte[0]);
+		
+		// When / Act
+		services.updateCar(car);
+		services.getCarById(1L);
+		services.deleteCarById(1L);
+		
+		// Then / Assert
+		assertEquals(List.of(false, false), cachedAtEvent.cached);
+	}
+	
+	@DisplayName("Test for Given Cached Car when Delete Car then Evict Entries")
+	@Test
+	void testGivenCachedCar_WhenDeleteCar_thenEvictEntries() {
+		
+		// Given / Arrange
+		given(repository.findById(1L)).willReturn(Optional.of(car));
+		given(repository.removeById(1L)).willReturn(1);
+		services.getCarById(1L);
+		cacheManager.getCache(CacheConfiguration.CAR_RESPONSE_CACHE).put(1L, new byte[0]);
+		
+		// When / Act
+		services.deleteCarById(1L);
+		
+		// Then / Assert
+		assertNull(cacheManager.getCache(CacheConfiguration.CAR_CACHE).get(1L));
+		assertNull(cacheManager.getCache(CacheConfiguration.CAR_RESPONSE_CACHE).get(1L));
+	}
+	
+	@DisplayName("Test for Given New Car when Create Car then Populate Cache")
+	@Test
+	void testGivenNewCar_WhenCreateCar_thenPopulateCache() {
+		
+		// Given / Arrange
+		given(repository.insert(car)).willReturn(car);
+		
+		// When / Act
+		services.createCar(car);
+		
+		// Then / Assert
+		assertNotNull(cacheManager.getCache(CacheConfiguration.CAR_CACHE).get(1L));
+	}
+}
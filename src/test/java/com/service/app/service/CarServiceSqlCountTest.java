@@ -0,0 +1,300 @@
+package com.service.app.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.service.app.configuration.CacheConfiguration;
+import com.service.app.entity.Car;
+import com.service.app.exceptions.ResourceNotFoundException;
+import com.service.app.model.CarBulkResult;
+import com.service.app.model.CarBulkUpdate;
+import com.service.app.model.CarDeltaPage;
+import com.service.app.model.CarEvent;
+import com.service.app.model.CarPatch;
+import com.service.app.model.CarSearchCriteria;
+import com.service.app.integration.tests.testcontainers.AbstractIntegrationTest;
+import com.service.app.repository.CarRepository;
+
+import net.ttddyy.dsproxy.QueryCount;
+import net.ttddyy.dsproxy.QueryCountHolder;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+
+/**
+ * Counts the SQL statements sent to MySQL by each CarService write, including its
+ * change log entry, by bulk writes, by reads served from Hibernate's second-level cache,
+ * also after other cars were patched or deleted, and by delta sync.
+ *
+ * The application DataSource is wrapped with datasource-proxy, so every
+ * statement executed through JPA or JDBC is recorded in {@link QueryCountHolder}.
+ * Spring's car caches are cleared before each read, so only the second-level cache
+ * stands between the service and the database.
+ * 
+ * @author Wellington
+ * @version 1.0 
+ * 
+ */
+@SpringBootTest(properties = "car-service.changes.settle-time=0s")
+class CarServiceSqlCountTest extends AbstractIntegrationTest {
+
+	@TestConfiguration
+	static class CountingDataSourceConfig {
+		
+		@Bean
+		static BeanPostProcessor countingDataSourcePostProcessor() {
+			return new BeanPostProcessor() {
+				@Override
+				public Object postProcessAfterInitialization(Object bean, String beanName) {
+					if (bean instanceof DataSource dataSource) {
+						return ProxyDataSourceBuilder.create(dataSource).countQuery().build();
+					}
+					return bean;
+				}
+			};
+		}
+	}
+	
+	@Autowired
+	private CarService services;
+	
+	@Autowired
+	private CarRepository repository;
+	
+	@Autowired
+	private CacheManager cacheManager;
+	
+	@Autowired
+	private ObjectMapper mapper;
+	
+	private Car car;
+	
+	@BeforeEach
+	void setUp() {
+		
+		// Given / Arrange
+		repository.deleteAllInBatch();
+		car = new Car(null, "Volkswagen", "Polo MPI", 2024, "Vermelha", "BGA7230", 0, "Total Flex", "Automática de 6 velocidades", 116, new BigDecimal(1.0), 4,
+				"Hatchback", new BigDecimal(93500.0), LocalDate.of(2024, 9, 20), "Volkswagen do Brasil");
+		QueryCountHolder.clear();
+	}
+	
+	@DisplayName("Test for Given New Car when Create Car then Issue One Insert and Log the Change")
+	@Test
+	void testGivenNewCar_WhenCreateCar_thenIssueOneInsertAndLogTheChange() {
+		
+		// When / Act
+		services.createCar(car);
+		
+		// Then / Assert
+		assertStatements(0, 2, 0, 0);
+	}
+	
+	@DisplayName("Test for Given Existing Car when Update Car then Issue One Update and Log the Change")
+	@Test
+	void testGivenExistingCar_WhenUpdateCar_thenIssueOneUpdateAndLogTheChange() {
+		
+		// Given / Arrange
+		services.createCar(car);
+		car.setPrice(new BigDecimal(89900.0));
+		QueryCountHolder.clear();
+		
+		// When / Act
+		services.updateCar(car);
+		
+		// Then / Assert
+		assertStatements(0, 1, 1, 0);
+	}
+	
+	@DisplayName("Test for Given Existing Car when Delete Car then Issue One Delete and Log the Change")
+	@Test
+	void testGivenExistingCar_WhenDeleteCar_thenIssueOneDeleteAndLogTheChange() {
+		
+		// Given / Arrange
+		services.createCar(car);
+		QueryCountHolder.clear();
+		
+		// When / Act
+		services.deleteCarById(car.getId());
+		
+		// Then / Assert
+		assertStatements(0, 1, 0, 1);
+	}
+	
+	@DisplayName("Test for Given Unknown CarID when Delete Car then Issue One Delete and Throw ResourceNotFoundException")
+	@Test
+	void testGivenUnknownCarID_WhenDeleteCar_thenIssueOneDeleteAndThrowResourceNotFoundException() {
+		
+		// When / Act
+		assertThrows(ResourceNotFoundException.class, () -> services.deleteCarById(Long.MAX_VALUE));
+		
+		// Then / Assert
+		assertStatements(0, 0, 0, 1);
+	}
+	
+	@DisplayName("Test for Given Car Loaded Once when Get Car by Id then Issue No Select")
+	@Test
+	void testGivenCarLoadedOnce_WhenGetCarById_thenIssueNoSelect() {
+		
+		// Given / Arrange
+		services.createCar(car);
+		clearServiceCaches();
+		services.getCarById(car.getId());
+		clearServiceCaches();
+		QueryCountHolder.clear();
+		
+		// When / Act
+		services.getCarById(car.getId());
+		services.getCarById(car.getId());
+		
+		// Then / Assert
+		assertStatements(0, 0, 0, 0);
+	}
+	
+	@DisplayName("Test for Given Updated Car when Get Car by Id then Issue One Select")
+	@Test
+	void testGivenUpdatedCar_WhenGetCarById_thenIssueOneSelect() {
+		
+		// Given / Arrange
+		services.createCar(car);
+		clearServiceCaches();
+		services.getCarById(car.getId());
+		car.setPrice(new BigDecimal(89900.0));
+		services.updateCar(car);
+		QueryCountHolder.clear();
+		
+		// When / Act
+		Car loaded = services.getCarById(car.getId());
+		
+		// Then / Assert
+		assertStatements(1, 0, 0, 0);
+		assertEquals(0, new BigDecimal(89900.0).compareTo(loaded.getPrice()));
+	}
+	
+	@DisplayName("Test for Given Two Cached Cars when Patch One then Reload Only the Patched Car")
+	@Test
+	void testGivenTwoCachedCars_WhenPatchOne_thenReloadOnlyThePatchedCar() {
+		
+		// Given / Arrange
+		Car other = givenSecondCarInSecondLevelCache();
+		services.patchCar(car.getId(), CarPatch.from(mapper.createObjectNode().put("color", "Azul"), mapper), null);
+		clearServiceCaches();
+		QueryCountHolder.clear();
+		
+		// When / Act
+		Car patched = services.getCarById(car.getId());
+		services.getCarById(other.getId());
+		
+		// Then / Assert
+		assertStatements(1, 0, 0, 0);
+		assertEquals("Azul", patched.getColor());
+	}
+	
+	@DisplayName("Test for Given Two Cached Cars when Delete One then Keep the Other Cached")
+	@Test
+	void testGivenTwoCachedCars_WhenDeleteOne_thenKeepTheOtherCached() {
+		
+		// Given / Arrange
+		Car other = givenSecondCarInSecondLevelCache();
+		services.deleteCarById(car.getId());
+		clearServiceCaches();
+		QueryCountHolder.clear();
+		
+		// When / Act
+		services.getCarById(other.getId());
+		
+		// Then / Assert
+		assertStatements(0, 0, 0, 0);
+		assertThrows(ResourceNotFoundException.class, () -> services.getCarById(car.getId()));
+	}
+	
+	@DisplayName("Test for Given Cached Car when Bulk Update Cars then Issue One Update per Chunk and Evict the Car")
+	@Test
+	void testGivenCachedCar_WhenBulkUpdateCars_thenIssueOneUpdatePerChunkAndEvictTheCar() {
+		
+		// Given / Arrange
+		services.createCar(car);
+		services.getCarById(car.getId());
+		CarSearchCriteria criteria = new CarSearchCriteria();
+		criteria.setBrand("Volkswagen");
+		CarBulkUpdate update = new CarBulkUpdate();
+		update.setFilter(criteria);
+		update.setPriceChangePercent(new BigDecimal("-10"));
+		QueryCountHolder.clear();
+		
+		// When / Act
+		CarBulkResult result = services.bulkUpdateCars(update);
+		
+		// Then / Assert
+		assertStatements(1, 1, 1, 0);
+		assertEquals(1, result.getAffected());
+		assertEquals(0, new BigDecimal("84150.00").compareTo(services.getCarById(car.getId()).getPrice()));
+	}
+	
+	@DisplayName("Test for Given Changes after Token when Find Changes then Issue Two Selects")
+	@Test
+	void testGivenChangesAfterToken_WhenFindChanges_thenIssueTwoSelects() {
+		
+		// Given / Arrange
+		String token = services.findChanges(null, 50).getNextToken();
+		services.createCar(car);
+		car.setPrice(new BigDecimal(89900.0));
+		services.updateCar(car);
+		QueryCountHolder.clear();
+		
+		// When / Act
+		CarDeltaPage page = services.findChanges(token, 50);
+		
+		// Then / Assert
+		assertStatements(2, 0, 0, 0);
+		assertEquals(1, page.getChanges().size());
+		assertEquals(CarEvent.Type.UPDATED, page.getChanges().get(0).getType());
+		assertEquals(0, new BigDecimal(89900.0).compareTo(page.getChanges().get(0).getCar().getPrice()));
+		assertTrue(services.findChanges(page.getNextToken(), 50).getChanges().isEmpty());
+	}
+	
+	/**
+     * Creates the car and a second one, and loads both into the second-level cache.
+     */
+	private Car givenSecondCarInSecondLevelCache() {
+		services.createCar(car);
+		Car other = services.createCar(new Car(null, "Fiat", "Argo", 2023, "Branca", "FTA1A23", 12000, "Total Flex",
+				"Manual de 5 velocidades", 75, new BigDecimal(1.0), 4, "Hatchback", new BigDecimal(78900.0),
+				LocalDate.of(2023, 3, 10), "Fiat Automóveis"));
+		services.getCarById(car.getId());
+		services.getCarById(other.getId());
+		clearServiceCaches();
+		return other;
+	}
+	
+	private void clearServiceCaches() {
+		cacheManager.getCache(CacheConfiguration.CAR_CACHE).clear();
+		cacheManager.getCache(CacheConfiguration.CAR_RESPONSE_CACHE).clear();
+	}
+	
+	/**
+     * Asserts that exactly the expected statements were sent.
+     */
+	private static void assertStatements(long selects, long inserts, long updates, long deletes) {
+		QueryCount count = QueryCountHolder.getGrandTotal();
+		String actual = count.getSelect() + " selects, " + count.getInsert() + " inserts, " + count.getUpdate()
+				+ " updates, " + count.getDelete() + " deletes, " + count.getOther() + " others";
+		assertEquals(selects + " selects, " + inserts + " inserts, " + updates + " updates, " + deletes
+				+ " deletes, 0 others", actual);
+	}
+}
@@ -2,18 +2,32 @@ package com.service.app.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.notNull;
 import static org.mockito.BDDMockito.given;
-import static org.mockito.BDDMockito.willDoNothing;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.LongStream;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -22,8 +36,34 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.service.app.entity.Car;
+import com.service.app.entity.CarChange;
+import com.service.app.exceptions.PreconditionFailedException;
+import com.service.app.exceptions.ResourceNotFoundException;
+import com.service.app.exceptions.ValidationException;
+import com.service.app.model.CarBatchItemResult;
+import com.service.app.model.CarBatchResult;
+import com.service.app.model.CarBulkResult;
+import com.service.app.model.CarBulkUpdate;
+import com.service.app.model.CarCursor;
+import com.service.app.model.CarDeltaPage;
+import com.service.app.model.CarEvent;
+import com.service.app.model.CarFieldSet;
+import com.service.app.model.CarLookupResult;
+import com.service.app.model.CarPage;
+import com.service.app.model.CarPageRequest;
+import com.service.app.model.CarPatch;
+import com.service.app.model.CarSearchCriteria;
+import com.service.app.model.CarSortKey;
+import com.service.app.model.CarSummary;
+import com.service.app.repository.CarChangeRepository;
 import com.service.app.repository.CarRepository;
 
 /**
@@ -44,6 +84,18 @@ class CarServiceTest {
 	
 	@Mock
     private CarRepository repository;
+	
+	@Mock
+	private CarChangeRepository changeRepository;
+	
+	@Mock
+	private ApplicationEventPublisher eventPublisher;
+	
+	@Mock
+	private CacheManager cacheManager;
+	
+	@Mock
+	private Cache cache;
 	    
 	@InjectMocks
 	private CarService services;
@@ -56,7 +108,13 @@ class CarServiceTest {
 		// Given / Arrange				
 		car = new Car(1L, "Volkswagen", "Polo MPI", 2024, "Vermelha", "BGA7230", 0, "Total Flex", "Automática de 6 velocidades", 116, new BigDecimal(1.0), 4,
 				"Hatchback", new BigDecimal(93500.0), LocalDate.of(2024, 9, 20), "Volkswagen do Brasil");
-
+		
+		ReflectionTestUtils.setField(services, "batchSize", 2);
+		ReflectionTestUtils.setField(services, "batchMaxItems", 10);
+		ReflectionTestUtils.setField(services, "lookupMaxIds", 10);
+		ReflectionTestUtils.setField(services, "lookupChunkSize", 2);
+		ReflectionTestUtils.setField(services, "bulkChunkSize", 2);
+		ReflectionTestUtils.setField(services, "changeSettleTime", Duration.ofSeconds(1));
 	}
 	
 	@DisplayName("Test for Given Car Object when Save Car then Return Car Object")
@@ -64,7 +122,7 @@ class CarServiceTest {
     void testGivenCarObject_WhenSaveCar_thenReturnCarObject() {
         
         // Given / Arrange    
-        given(repository.save(car)).willReturn(car);
+        given(repository.insert(car)).willReturn(car);
         
         // When / Act
         Car savedCar = services.createCar(car);
@@ -74,6 +132,51 @@ class CarServiceTest {
         assertEquals("BGA7230", savedCar.getLicensePlate());
     }   
            
+    @DisplayName("Test for Given Cars Batch when Create Cars then Insert Valid Cars and Report Rejected Ones")
+    @Test
+    void testGivenCarsBatch_WhenCreateCars_thenInsertValidCarsAndReportRejectedOnes() {
+        
+        // Given / Arrange
+    	car.setId(null);
+    	Car registered = new Car(null, "Volkswagen", "Amarok V6 Comfortline", 2024, "Azul Marinho", "CMB7761", 0, "Diesel", "Automática de 8 velocidades", 258, new BigDecimal(3.0), 4,
+				"Picape", new BigDecimal(280000.0), LocalDate.of(2024, 9, 24), "Volkswagen do Brasil");
+    	Car withoutBrand = new Car(null, null, "T-Cross", 2023, "Branca", "DKE4410", 15000, "Total Flex", "Automática de 6 velocidades", 116, new BigDecimal(1.0), 4,
+				"SUV", new BigDecimal(120000.0), LocalDate.of(2023, 3, 2), "Volkswagen do Brasil");
+    	Car repeated = new Car(null, "Volkswagen", "Polo Track", 2024, "Preta", "BGA7230", 0, "Total Flex", "Manual de 5 velocidades", 84, new BigDecimal(1.0), 4,
+				"Hatchback", new BigDecimal(84000.0), LocalDate.of(2024, 9, 20), "Volkswagen do Brasil");
+    	
+    	given(repository.findExistingLicensePlates(any())).willReturn(List.of("CMB7761"));
+    	willAnswer((invocation) -> {
+    		List<Car> batch = invocation.getArgument(0);
+    		batch.forEach(inserted -> inserted.setId(10L));
+    		return null;
+    	}).given(repository).insertAll(any());
+        
+        // When / Act
+        CarBatchResult result = services.createCars(List.of(car, registered, withoutBrand, repeated));
+        
+        // Then / Assert
+        assertEquals(1, result.getCreated());
+        assertEquals(3, result.getRejected());
+        assertEquals(CarBatchItemResult.Status.CREATED, result.getItems().get(0).getStatus());
+        assertEquals(10L, result.getItems().get(0).getId().longValue());
+        assertEquals("licensePlate is already registered", result.getItems().get(1).getMessage());
+        assertEquals("brand is required", result.getItems().get(2).getMessage());
+        assertEquals("licensePlate is repeated in this batch", result.getItems().get(3).getMessage());
+        verify(repository, times(1)).insertAll(List.of(car));
+    }
+    
+    @DisplayName("Test for Given Too Many Cars when Create Cars then Throw ValidationException")
+    @Test
+    void testGivenTooManyCars_WhenCreateCars_thenThrowValidationException() {
+        
+        // Given / Arrange
+    	List<Car> cars = Collections.nCopies(11, car);
+        
+        // When / Act / Then / Assert
+        assertThrows(ValidationException.class, () -> services.createCars(cars));
+    }
+    
     @DisplayName("Test for Given Cars List when findAll Cars then Return Cars List")
     @Test
     void testGivenCarsList_WhenFindAllCars_thenReturnCarsList() {
@@ -107,6 +210,131 @@ class CarServiceTest {
         assertEquals(0, personsList.size());
     }   
     
+    @DisplayName("Test for Given More Cars than Limit when findCars then Return Page with Next Cursor")
+    @Test
+    void testGivenMoreCarsThanLimit_WhenFindCars_thenReturnPageWithNextCursor() {
+        
+        // Given / Arrange
+    	Car car1 = new Car(2L, "Volkswagen", "Amarok V6 Comfortline", 2024, "Azul Marinho", "CMB7761", 0, "Diesel", "Automática de 8 velocidades", 258, new BigDecimal(3.0), 4,
+				"Picape", new BigDecimal(280000.0), LocalDate.of(2024, 9, 24), "Volkswagen do Brasil");
+    	CarPageRequest request = CarPageRequest.of("horsePower", "desc", null, 1);
+    	
+        given(repository.findPage(isNull(), any(CarPageRequest.class), eq(2))).willReturn(List.of(car1, car));
+        
+        // When / Act
+        CarPage<Car> page = services.findCars(request);
+        
+        // Then / Assert
+        assertEquals(List.of(car1), page.getContent());
+        
+        CarCursor next = CarCursor.decode(page.getNextCursor());
+        assertEquals(CarSortKey.HORSE_POWER, next.getSortKey());
+        assertEquals(258, next.getValue());
+        assertEquals(2L, next.getId().longValue());
+    }
+    
+    @DisplayName("Test for Given Last Page when findCars then Return Page without Next Cursor")
+    @Test
+    void testGivenLastPage_WhenFindCars_thenReturnPageWithoutNextCursor() {
+        
+        // Given / Arrange
+        given(repository.findPage(isNull(), any(CarPageRequest.class), anyInt())).willReturn(List.of(car));
+        
+        // When / Act
+        CarPage<Car> page = services.findCars(CarPageRequest.firstPage());
+        
+        // Then / Assert
+        assertEquals(1, page.getContent().size());
+        assertNull(page.getNextCursor());
+    }
+    
+    @DisplayName("Test for Given Fields when findCarFields then Select Cursor Columns and Return Only Requested Fields")
+    @Test
+    void testGivenFields_WhenFindCarFields_thenSelectCursorColumnsAndReturnOnlyRequestedFields() {
+        
+        // Given / Arrange
+    	CarPageRequest request = CarPageRequest.of("modelYear", "asc", null, 1);
+    	Map<String, Object> first = new LinkedHashMap<>(Map.of("price", new BigDecimal("93500.00"), "id", 1L, "modelYear", 2023));
+    	Map<String, Object> second = new LinkedHashMap<>(Map.of("price", new BigDecimal("120000.00"), "id", 3L, "modelYear", 2024));
+    	
+        given(repository.findFieldPage(eq(Set.of("price", "id", "modelYear")), any(CarPageRequest.class), eq(2)))
+        		.willReturn(List.of(first, second));
+        
+        // When / Act
+        CarPage<Map<String, Object>> page = services.findCarFields(CarFieldSet.of("price"), request);
+        
+        // Then / Assert
+        assertEquals(List.of(Map.of("price", new BigDecimal("93500.00"))), page.getContent());
+        
+        CarCursor next = CarCursor.decode(page.getNextCursor());
+        assertEquals(2023, next.getValue());
+        assertEquals(1L, next.getId().longValue());
+    }
+    
+    @DisplayName("Test for Given More Summaries than Limit when findCarSummaries then Return Page with Next Cursor")
+    @Test
+    void testGivenMoreSummariesThanLimit_WhenFindCarSummaries_thenReturnPageWithNextCursor() {
+        
+        // Given / Arrange
+    	CarSummary first = new CarSummary(1L, "Volkswagen", "Polo MPI", 2024, new BigDecimal("93500.00"), 0);
+    	CarSummary second = new CarSummary(3L, "Volkswagen", "T-Cross", 2023, new BigDecimal("120000.00"), 15000);
+    	CarPageRequest request = CarPageRequest.of("odometer", "asc", null, 1);
+    	
+        given(repository.findSummaryPage(any(CarPageRequest.class), eq(2))).willReturn(List.of(first, second));
+        
+        // When / Act
+        CarPage<CarSummary> page = services.findCarSummaries(request);
+        
+        // Then / Assert
+        assertEquals(List.of(first), page.getContent());
+        
+        CarCursor next = CarCursor.decode(page.getNextCursor());
+        assertEquals(CarSortKey.ODOMETER, next.getSortKey());
+        assertEquals(0, next.getValue());
+        assertEquals(1L, next.getId().longValue());
+    }
+    
+    @DisplayName("Test for Given Horse Power Sort when findCarSummaries then Throw ValidationException")
+    @Test
+    void testGivenHorsePowerSort_WhenFindCarSummaries_thenThrowValidationException() {
+        
+        // Given / Arrange
+    	CarPageRequest request = CarPageRequest.of("horsePower", "asc", null, 10);
+        
+        // When / Act / Then / Assert
+        assertThrows(ValidationException.class, () -> services.findCarSummaries(request));
+    }
+    
+    @DisplayName("Test for Given Search Criteria when searchCars then Return Filtered Page")
+    @Test
+    void testGivenSearchCriteria_WhenSearchCars_thenReturnFilteredPage() {
+        
+        // Given / Arrange
+    	CarSearchCriteria criteria = new CarSearchCriteria();
+    	criteria.setBrand("Volkswagen");
+        given(repository.findPage(any(), any(CarPageRequest.class), anyInt())).willReturn(List.of(car));
+        
+        // When / Act
+        CarPage<Car> page = services.searchCars(criteria, CarPageRequest.firstPage());
+        
+        // Then / Assert
+        assertEquals(List.of(car), page.getContent());
+        verify(repository).findPage(notNull(), any(CarPageRequest.class), eq(CarPageRequest.DEFAULT_LIMIT + 1));
+    }
+    
+    @DisplayName("Test for Given Inverted Price Range when searchCars then Throw ValidationException")
+    @Test
+    void testGivenInvertedPriceRange_WhenSearchCars_thenThrowValidationException() {
+        
+        // Given / Arrange
+    	CarSearchCriteria criteria = new CarSearchCriteria();
+    	criteria.setMinPrice(new BigDecimal("90000"));
+    	criteria.setMaxPrice(new BigDecimal("50000"));
+        
+        // When / Act / Then / Assert
+        assertThrows(ValidationException.class, () -> services.searchCars(criteria, CarPageRequest.firstPage()));
+    }
+    
     @DisplayName("Test for Given CarId when findById then Return Car Object")
     @Test
     void testGivenCarId_WhenFindById_thenReturnCarObject() {
@@ -127,13 +355,12 @@ class CarServiceTest {
     void testGivenCarObject_WhenUpdateCar_thenReturnUpdatedCarObject() {
         
         // Given / Arrange
+        given(cacheManager.getCache(any())).willReturn(cache);
         car.setId(1L);
-        given(repository.findById(anyLong())).willReturn(Optional.of(car));
-        
         car.setColor("Amarela");
         car.setHorsePower(187);
         
-        given(repository.save(car)).willReturn(car);
+        given(repository.update(car)).willReturn(1);
         
         // When / Act
         Car updatedCar = services.updateCar(car);
@@ -149,15 +376,236 @@ class CarServiceTest {
     void testGivenCarID_WhenDeleteCar_thenDoNothing() {
         
         // Given / Arrange
+        given(cacheManager.getCache(any())).willReturn(cache);
         car.setId(1L);
-        given(repository.findById(anyLong())).willReturn(Optional.of(car));
-        willDoNothing().given(repository).delete(car);
+        given(repository.removeById(1L)).willReturn(1);
         
         // When / Act
         services.deleteCarById(car.getId());
         
         // Then / Assert
-        verify(repository, times(1)).delete(car);
+        verify(repository, times(1)).removeById(1L);
     }  	
+    
+    @DisplayName("Test for Given CarID when Delete Car then Publish Deleted Event")
+    @Test
+    void testGivenCarID_WhenDeleteCar_thenPublishDeletedEvent() {
+        
+        // Given / Arrange
+        given(cacheManager.getCache(any())).willReturn(cache);
+        given(repository.removeById(1L)).willReturn(1);
+        
+        // When / Act
+        services.deleteCarById(1L);
+        
+        // Then / Assert
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof CarEvent carEvent
+        		&& carEvent.getType() == CarEvent.Type.DELETED && carEvent.getId() == 1L));
+    }
+    
+    @DisplayName("Test for Given Existing CarID when Create Car then Throw ResourceNotFoundException")
+    @Test
+    void testGivenExistingCarID_WhenCreateCar_thenThrowResourceNotFoundException() {
+        
+        // Given / Arrange
+        given(repository.insert(car)).willThrow(new DuplicateKeyException("Duplicate entry '1' for key 'cars.PRIMARY'"));
+        given(repository.existsById(1L)).willReturn(true);
+        
+        // When / Act / Then / Assert
+        assertThrows(ResourceNotFoundException.class, () -> services.createCar(car));
+    }
+    
+    @DisplayName("Test for Given Unknown CarID when Update Car then Throw ResourceNotFoundException")
+    @Test
+    void testGivenUnknownCarID_WhenUpdateCar_thenThrowResourceNotFoundException() {
+        
+        // Given / Arrange
+        given(repository.update(car)).willReturn(0);
+        
+        // When / Act / Then / Assert
+        assertThrows(ResourceNotFoundException.class, () -> services.updateCar(car));
+    }
+    
+    @DisplayName("Test for Given Unknown CarID when Delete Car then Throw ResourceNotFoundException")
+    @Test
+    void testGivenUnknownCarID_WhenDeleteCar_thenThrowResourceNotFoundException() {
+        
+        // Given / Arrange
+        given(repository.removeById(1L)).willReturn(0);
+        
+        // When / Act / Then / Assert
+        assertThrows(ResourceNotFoundException.class, () -> services.deleteCarById(1L));
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
 
+    
+    @DisplayName("Test for Given Stale Version when Update Car then Throw PreconditionFailedException")
+    @Test
+    void testGivenStaleVersion_WhenUpdateCar_thenThrowPreconditionFailedException() {
+        
+        // Given / Arrange
+        given(repository.update(car)).willReturn(0);
+        given(repository.existsById(1L)).willReturn(true);
+        
+        // When / Act / Then / Assert
+        assertThrows(PreconditionFailedException.class, () -> services.updateCar(car, 3L));
+    }
+    
+    @DisplayName("Test for Given Current Version when Update Car then Return Next Version")
+    @Test
+    void testGivenCurrentVersion_WhenUpdateCar_thenReturnNextVersion() {
+        
+        // Given / Arrange
+        given(cacheManager.getCache(any())).willReturn(cache);
+        given(repository.update(car)).willReturn(1);
+        
+        // When / Act
+        Car updatedCar = services.updateCar(car, 3L);
+        
+        // Then / Assert
+        assertEquals(4L, updatedCar.getVersion());
+    }
+    
+    @DisplayName("Test for Given Patch when Patch Car then Write Only Patched Properties")
+    @Test
+    void testGivenPatch_WhenPatchCar_thenWriteOnlyPatchedProperties() {
+        
+        // Given / Arrange
+        given(cacheManager.getCache(any())).willReturn(cache);
+        ObjectMapper mapper = new ObjectMapper();
+        CarPatch patch = CarPatch.from(mapper.createObjectNode().put("odometer", 1200), mapper);
+        given(repository.patch(1L, Map.of("odometer", 1200), 3L)).willReturn(1);
+        
+        // When / Act
+        Long version = services.patchCar(1L, patch, 3L);
+        
+        // Then / Assert
+        assertEquals(4L, version);
+    }
+    
+    @DisplayName("Test for Given Blank Brand Patch when Patch Car then Throw ValidationException")
+    @Test
+    void testGivenBlankBrandPatch_WhenPatchCar_thenThrowValidationException() {
+        
+        // Given / Arrange
+        ObjectMapper mapper = new ObjectMapper();
+        CarPatch patch = CarPatch.from(mapper.createObjectNode().putNull("brand"), mapper);
+        
+        // When / Act / Then / Assert
+        assertThrows(ValidationException.class, () -> services.patchCar(1L, patch, null));
+        verify(repository, never()).patch(any(), any(), any());
+    }
+    
+    @DisplayName("Test for Given Repeated and Unknown IDs when Get Cars by IDs then Return Cars in Request Order")
+    @Test
+    void testGivenRepeatedAndUnknownIDs_WhenGetCarsByIds_thenReturnCarsInRequestOrder() {
+        
+        // Given / Arrange
+        Car other = new Car(2L, "Fiat", "Argo", 2023, "Branca", "FTA1A23", 12000, "Total Flex", "Manual de 5 velocidades", 75, new BigDecimal(1.0), 4,
+        		"Hatchback", new BigDecimal(78900.0), LocalDate.of(2023, 3, 10), "Fiat Automóveis");
+        given(repository.findAllById(List.of(3L, 1L))).willReturn(List.of(car));
+        given(repository.findAllById(List.of(2L))).willReturn(List.of(other));
+        
+        // When / Act
+        CarLookupResult result = services.getCarsByIds(List.of(3L, 1L, 3L, 2L));
+        
+        // Then / Assert
+        assertEquals(List.of(car, other), result.getCars());
+        assertEquals(List.of(3L), result.getMissingIds());
+    }
+    
+    @DisplayName("Test for Given Too Many IDs when Get Cars by IDs then Throw ValidationException")
+    @Test
+    void testGivenTooManyIDs_WhenGetCarsByIds_thenThrowValidationException() {
+        
+        // Given / Arrange
+        List<Long> ids = LongStream.rangeClosed(1, 11).boxed().toList();
+        
+        // When / Act / Then / Assert
+        assertThrows(ValidationException.class, () -> services.getCarsByIds(ids));
+        verify(repository, never()).findAllById(any());
+    }
+    
+    @DisplayName("Test for Given Matching Cars when Bulk Update Cars then Update in Chunks and Evict Each Car")
+    @Test
+    void testGivenMatchingCars_WhenBulkUpdateCars_thenUpdateInChunksAndEvictEachCar() {
+        
+        // Given / Arrange
+        CarSearchCriteria criteria = new CarSearchCriteria();
+        criteria.setBrand("Volkswagen");
+        CarBulkUpdate update = new CarBulkUpdate();
+        update.setFilter(criteria);
+        update.setPriceChangePercent(new BigDecimal("-5"));
+        given(cacheManager.getCache(any())).willReturn(cache);
+        given(repository.updateMatching(notNull(), isNull(), eq(2), eq(update))).willReturn(List.of(1L, 4L));
+        given(repository.updateMatching(notNull(), eq(4L), eq(2), eq(update))).willReturn(List.of(7L));
+        
+        // When / Act
+        CarBulkResult result = services.bulkUpdateCars(update);
+        
+        // Then / Assert
+        assertEquals(3, result.getAffected());
+        assertEquals(2, result.getChunks());
+        verify(cache, times(2)).evict(7L);
+        verify(eventPublisher).publishEvent(argThat((CarEvent event) -> event.getId() == 7L && event.getType() == CarEvent.Type.UPDATED));
+    }
+    
+    @DisplayName("Test for Given Empty Filter when Bulk Delete Cars then Throw ValidationException")
+    @Test
+    void testGivenEmptyFilter_WhenBulkDeleteCars_thenThrowValidationException() {
+        
+        // When / Act / Then / Assert
+        assertThrows(ValidationException.class, () -> services.bulkDeleteCars(new CarSearchCriteria()));
+        verify(repository, never()).deleteMatching(any(), any(), anyInt());
+    }
+    
+    @DisplayName("Test for Given Changes when Find Changes then Return Latest Change per Car")
+    @Test
+    void testGivenChanges_WhenFindChanges_thenReturnLatestChangePerCar() {
+        
+        // Given / Arrange
+        given(changeRepository.findChangesAfter(10L, 1_000_000L, 4)).willReturn(List.of(
+        		new CarChange(11L, 1L, CarEvent.Type.CREATED, 0L, null),
+        		new CarChange(12L, 2L, CarEvent.Type.UPDATED, 5L, null),
+        		new CarChange(13L, 1L, CarEvent.Type.UPDATED, 1L, null),
+        		new CarChange(14L, 3L, CarEvent.Type.DELETED, null, null)));
+        given(repository.findAllById(List.of(2L, 1L))).willReturn(List.of(car));
+        
+        // When / Act
+        CarDeltaPage page = services.findChanges("10", 3);
+        
+        // Then / Assert
+        assertEquals("13", page.getNextToken());
+        assertTrue(page.isMore());
+        assertEquals(2, page.getChanges().size());
+        assertEquals(CarEvent.Type.DELETED, page.getChanges().get(0).getType());
+        assertEquals(2L, page.getChanges().get(0).getId());
+        assertEquals(CarEvent.Type.UPDATED, page.getChanges().get(1).getType());
+        assertEquals(car, page.getChanges().get(1).getCar());
+    }
+    
+    @DisplayName("Test for Given No Token when Find Changes then Return Latest Token")
+    @Test
+    void testGivenNoToken_WhenFindChanges_thenReturnLatestToken() {
+        
+        // Given / Arrange
+        given(changeRepository.findLatestSettledId(1_000_000L)).willReturn(Optional.of(42L));
+        
+        // When / Act
+        CarDeltaPage page = services.findChanges(null, 50);
+        
+        // Then / Assert
+        assertTrue(page.getChanges().isEmpty());
+        assertEquals("42", page.getNextToken());
+        verify(changeRepository, never()).findChangesAfter(anyLong(), anyLong(), anyInt());
+    }
+    
+    @DisplayName("Test for Given Invalid Token when Find Changes then Throw ValidationException")
+    @Test
+    void testGivenInvalidToken_WhenFindChanges_thenThrowValidationException() {
+        
+        // When / Act / Then / Assert
+        assertThrows(ValidationException.class, () -> services.findChanges("-1", 50));
+        assertThrows(ValidationException.class, () -> services.findChanges("abc", 50));
+    }
 }